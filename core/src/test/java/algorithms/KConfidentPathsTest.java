@@ -0,0 +1,127 @@
+package algorithms;
+
+import graph.CSRGraph;
+import graph.Protein;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import support.TestGraphs;
+import utils.PPIGraphLoader;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Yen's top-k search must return the k highest-confidence simple paths that exhaustive enumeration finds.
+ */
+class KConfidentPathsTest {
+
+    private static final int K = 8;
+    private static final double EPS = 1e-9;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void topKMatchesBruteForceEnumeration() throws Exception {
+        TestGraphs.Files files = TestGraphs.write(dir, "paths", 25, 80, 0.5, 5L, false);
+        CSRGraph graph = PPIGraphLoader.loadCSRGraph(files.info.toString(), files.links.toString(), 0.0);
+        KConfidentPaths search = new KConfidentPaths(graph);
+
+        int checked = 0;
+        for (int source = 0; source < graph.getVertexCount(); source += 3) {
+            for (int target = 1; target < graph.getVertexCount(); target += 4) {
+                if (source == target) continue;
+                for (int maxHops : new int[]{0, 3}) {
+                    List<Double> expected = enumerate(graph, source, target, maxHops);
+                    List<PathResult> found = search.findPaths(source, target, K, maxHops);
+
+                    assertEquals(Math.min(K, expected.size()), found.size(),
+                            "path count " + source + "->" + target + " maxHops " + maxHops);
+                    for (int i = 0; i < found.size(); i++) {
+                        PathResult path = found.get(i);
+                        assertEquals(expected.get(i), path.getConfidence(), EPS,
+                                "confidence #" + i + " " + source + "->" + target + " maxHops " + maxHops);
+                        assertValidPath(graph, path, source, target, maxHops);
+                    }
+                    if (!expected.isEmpty()) checked++;
+                }
+            }
+        }
+        assertTrue(checked > 10, "too few connected pairs to be meaningful: " + checked);
+    }
+
+    @Test
+    void hopLimitIsCappedAndClampedToTheGraph() throws Exception {
+        TestGraphs.Files files = TestGraphs.write(dir, "hops", 25, 80, 0.5, 5L, false);
+        CSRGraph graph = PPIGraphLoader.loadCSRGraph(files.info.toString(), files.links.toString(), 0.0);
+        KConfidentPaths search = new KConfidentPaths(graph);
+
+        assertThrows(IllegalArgumentException.class, () -> search.findPaths(0, 1, K, KConfidentPaths.MAX_HOPS + 1));
+        assertThrows(IllegalArgumentException.class, () -> search.findPaths(0, 1, K, 200_000));
+
+        // No simple path is longer than vertexCount - 1 hops, so such a limit gives the unlimited result
+        for (int target = 1; target < graph.getVertexCount(); target += 5) {
+            List<PathResult> unlimited = search.findPaths(0, target, K, 0);
+            List<PathResult> clamped = search.findPaths(0, target, K, graph.getVertexCount() - 1);
+            assertEquals(unlimited.size(), clamped.size(), "path count 0->" + target);
+            for (int i = 0; i < unlimited.size(); i++) {
+                assertEquals(unlimited.get(i).getPath(), clamped.get(i).getPath(), "path #" + i + " 0->" + target);
+            }
+        }
+    }
+
+    // Path is simple, runs source -> target over existing edges, and its confidence is the product of its hops
+    private static void assertValidPath(CSRGraph graph, PathResult path, int source, int target, int maxHops) {
+        List<Protein> proteins = path.getPath();
+        assertEquals(graph.getProtein(source), proteins.get(0), "path start");
+        assertEquals(graph.getProtein(target), proteins.get(proteins.size() - 1), "path end");
+        assertEquals(new HashSet<>(proteins).size(), proteins.size(), "path repeats a protein: " + path);
+        assertEquals(proteins.size() - 1, path.getHopCount(), "hop count");
+        if (maxHops > 0) assertTrue(path.getHopCount() <= maxHops, "path exceeds maxHops: " + path);
+
+        double[] hopScores = path.getHopScores();
+        double product = 1.0;
+        for (int i = 0; i < hopScores.length; i++) {
+            int u = graph.indexOf(proteins.get(i));
+            int v = graph.indexOf(proteins.get(i + 1));
+            assertTrue(graph.hasEdge(u, v), "missing edge in path: " + path);
+            product *= hopScores[i];
+        }
+        assertEquals(product, path.getConfidence(), EPS, "confidence is not the product of hop scores");
+    }
+
+    /** Confidences of every simple source -> target path, best first. */
+    private static List<Double> enumerate(CSRGraph graph, int source, int target, int maxHops) {
+        List<Double> confidences = new ArrayList<>();
+        boolean[] onPath = new boolean[graph.getVertexCount()];
+        onPath[source] = true;
+        dfs(graph, source, target, maxHops, 0, 1.0, onPath, confidences);
+        confidences.sort(Collections.reverseOrder());
+        return confidences;
+    }
+
+    private static void dfs(CSRGraph graph, int u, int target, int maxHops, int hops, double confidence,
+                            boolean[] onPath, List<Double> out) {
+        if (u == target) {
+            out.add(confidence);
+            return;
+        }
+        if (maxHops > 0 && hops == maxHops) return;
+        int[] targets = graph.targets();
+        float[] scores = graph.scores();
+        for (int i = graph.offsets()[u]; i < graph.rowEnds()[u]; i++) {
+            int v = targets[i];
+            if (onPath[v]) continue;
+            onPath[v] = true;
+            dfs(graph, v, target, maxHops, hops + 1, confidence * scores[i], onPath, out);
+            onPath[v] = false;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package graph;
+
+import metrics.IncrementalMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import support.TestGraphs;
+import utils.PPIGraphLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applying a delta in place must give the same graph (and the same incremental metrics) as reloading the patched
+ * links file from scratch.
+ */
+class GraphDeltaTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void deltaApplyMatchesFullReload() throws Exception {
+        TestGraphs.Files base = TestGraphs.write(dir, "base", 400, 6_000, 0.5, 7L, false);
+        Path deltaFile = dir.resolve("update.delta");
+        Path patchedInfo = dir.resolve("patched.protein.info.txt");
+        Path patchedLinks = dir.resolve("patched.protein.links.txt");
+        writeDelta(base, 400, deltaFile, patchedInfo, patchedLinks);
+
+        for (double threshold : new double[]{0.0, 0.4}) {
+            CSRGraph graph = PPIGraphLoader.loadGraphParallel(base.info.toString(), base.links.toString(), threshold);
+            graph.inOffsets(); // transpose is built before the delta so its in-place patching is covered too
+            IncrementalMetrics live = new IncrementalMetrics(graph);
+
+            GraphDelta delta = PPIGraphLoader.readDelta(graph, deltaFile.toString(), threshold);
+            assertNotNull(delta, "delta could not be read");
+            DeltaResult result = graph.applyDelta(delta);
+            assertTrue(result.getAdded() > 0 && result.getRemoved() > 0 && result.getChanged() > 0,
+                    "delta should exercise add, remove and change: " + result);
+            live.update(graph, delta);
+
+            CSRGraph fresh = PPIGraphLoader.loadGraphParallel(patchedInfo.toString(), patchedLinks.toString(), threshold);
+            assertEquals(fresh.getVertexCount(), graph.getVertexCount(), "vertex count at " + threshold);
+            assertEquals(fresh.getEdgeCount(), graph.getEdgeCount(), "edge count at " + threshold);
+            assertEquals(TestGraphs.rowsById(fresh), TestGraphs.rowsById(graph), "rows at " + threshold);
+            assertEquals(TestGraphs.inRowsById(fresh), TestGraphs.inRowsById(graph), "in-rows at " + threshold);
+
+            IncrementalMetrics reference = new IncrementalMetrics(fresh);
+            assertEquals(reference.getMutualEdgeCount(), live.getMutualEdgeCount(), "mutual edges at " + threshold);
+            assertEquals(reference.getReciprocity(), live.getReciprocity(), 1e-12, "reciprocity at " + threshold);
+            assertEquals(reference.getComponentCount(), live.getComponentCount(), "components at " + threshold);
+            assertEquals(reference.getSizeDistribution(), live.getSizeDistribution(), "component sizes at " + threshold);
+        }
+    }
+
+    /**
+     * Writes a delta with removes, score changes (some below the test thresholds), new proteins and new links, plus
+     * the info/links files that result from applying it by hand.
+     */
+    private static void writeDelta(TestGraphs.Files base, int proteinCount, Path deltaFile, Path patchedInfo,
+                                   Path patchedLinks) throws Exception {
+        List<String> info = new ArrayList<>(Files.readAllLines(base.info));
+        List<String> links = Files.readAllLines(base.links);
+        List<String> patched = new ArrayList<>(links);
+        Set<String> existing = new HashSet<>();
+        for (int i = 1; i < links.size(); i++) {
+            String[] p = links.get(i).split(" ");
+            existing.add(p[0] + " " + p[1]);
+        }
+
+        Random random = new Random(3);
+        StringBuilder delta = new StringBuilder("# test delta\n");
+        Set<Integer> touched = new HashSet<>();
+        for (int k = 0; k < 300; k++) {
+            int line = 1 + random.nextInt(links.size() - 1);
+            if (!touched.add(line)) continue;
+            String[] p = links.get(line).split(" ");
+            if (k % 2 == 0) {
+                delta.append("- ").append(p[0]).append(' ').append(p[1]).append('\n');
+                patched.set(line, null);
+            } else {
+                int score = 150 + random.nextInt(850);
+                delta.append("~ ").append(p[0]).append(' ').append(p[1]).append(' ').append(score).append('\n');
+                patched.set(line, p[0] + " " + p[1] + " " + score);
+            }
+        }
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < proteinCount; i++) ids.add(base.generator.idOf(i));
+        for (int k = 0; k < 3; k++) {
+            String id = "9606.ENSPNEW" + String.format("%08d", k);
+            delta.append("P ").append(id).append(" NEWP").append(k).append('\n');
+            info.add(id + "\tNEWP" + k + "\t100\tAdded by delta;");
+            ids.add(id);
+        }
+        for (int k = 0; k < 300; k++) {
+            String source = ids.get(random.nextInt(ids.size()));
+            String target = ids.get(random.nextInt(ids.size()));
+            if (source.equals(target) || !existing.add(source + " " + target)) continue;
+            int score = 150 + random.nextInt(850);
+            delta.append("+ ").append(source).append(' ').append(target).append(' ').append(score).append('\n');
+            patched.add(source + " " + target + " " + score);
+        }
+        patched.removeIf(Objects::isNull);
+
+        Files.writeString(deltaFile, delta);
+        Files.write(patchedInfo, info);
+        Files.write(patchedLinks, patched);
+    }
+}
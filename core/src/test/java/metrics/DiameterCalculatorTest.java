@@ -0,0 +1,75 @@
+package metrics;
+
+import graph.CSRGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import support.TestGraphs;
+import utils.PPIGraphLoader;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The iFUB diameter on symmetric graphs (and the directed fallback otherwise) must equal the largest finite
+ * distance found by a BFS from every vertex.
+ */
+class DiameterCalculatorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void symmetricGraphMatchesAllPairsBfs() throws Exception {
+        TestGraphs.Files files = TestGraphs.write(dir, "sym", 600, 3_000, 1.0, 17L, false);
+        CSRGraph base = PPIGraphLoader.loadCSRGraph(files.info.toString(), files.links.toString(), 0.0);
+        for (double threshold : new double[]{0.0, 0.5, 0.8, 0.9}) {
+            CSRGraph view = base.withThreshold(threshold);
+            int expected = allPairsDiameter(view);
+            assertTrue(threshold > 0.0 || expected > 2, "generated graph is too shallow: " + expected);
+            assertEquals(expected, new DiameterCalculator().calculate(view), "diameter at " + threshold);
+        }
+    }
+
+    @Test
+    void directedGraphMatchesAllPairsBfs() throws Exception {
+        TestGraphs.Files files = TestGraphs.write(dir, "dir", 600, 3_000, 0.5, 19L, false);
+        CSRGraph base = PPIGraphLoader.loadCSRGraph(files.info.toString(), files.links.toString(), 0.0);
+        for (double threshold : new double[]{0.0, 0.7}) {
+            CSRGraph view = base.withThreshold(threshold);
+            assertEquals(allPairsDiameter(view), new DiameterCalculator().calculate(view), "diameter at " + threshold);
+        }
+    }
+
+    // Largest finite directed BFS distance over all sources
+    private static int allPairsDiameter(CSRGraph graph) {
+        int n = graph.getVertexCount();
+        int[] offsets = graph.offsets();
+        int[] rowEnds = graph.rowEnds();
+        int[] targets = graph.targets();
+        int[] dist = new int[n];
+        int[] queue = new int[n];
+        int diameter = 0;
+        for (int s = 0; s < n; s++) {
+            Arrays.fill(dist, -1);
+            dist[s] = 0;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = s;
+            while (head < tail) {
+                int u = queue[head++];
+                diameter = Math.max(diameter, dist[u]);
+                for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                    int v = targets[i];
+                    if (dist[v] < 0) {
+                        dist[v] = dist[u] + 1;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+        }
+        return diameter;
+    }
+}
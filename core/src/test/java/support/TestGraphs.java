@@ -0,0 +1,109 @@
+package support;
+
+import benchmarks.SyntheticStringGenerator;
+import graph.CSRGraph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Small generated STRING-like inputs and graph comparison helpers shared by the tests.
+ */
+public final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    /** Info and links files written by SyntheticStringGenerator. */
+    public static final class Files {
+        public final Path info;
+        public final Path links;
+        public final SyntheticStringGenerator generator;
+
+        Files(Path info, Path links, SyntheticStringGenerator generator) {
+            this.info = info;
+            this.links = links;
+            this.generator = generator;
+        }
+    }
+
+    /**
+     * Writes <prefix>.protein.info.txt / .protein.links.txt (gzip compressed when gzip is set) into dir.
+     */
+    public static Files write(Path dir, String prefix, int proteins, long links, double reciprocity, long seed,
+                              boolean gzip) throws IOException {
+        SyntheticStringGenerator generator = new SyntheticStringGenerator(proteins, links, reciprocity, seed);
+        String suffix = gzip ? ".txt.gz" : ".txt";
+        Path info = dir.resolve(prefix + ".protein.info" + suffix);
+        Path linksFile = dir.resolve(prefix + ".protein.links" + suffix);
+        generator.writeInfo(info);
+        generator.writeLinks(linksFile);
+        return new Files(info, linksFile, generator);
+    }
+
+    /**
+     * Exact picture of the visible graph: protein ids and names in index order, then every row in storage order.
+     * Equal strings mean identical vertex order, row order and scores.
+     */
+    public static String exact(CSRGraph graph) {
+        StringBuilder sb = new StringBuilder();
+        int[] offsets = graph.offsets();
+        int[] rowEnds = graph.rowEnds();
+        int[] targets = graph.targets();
+        float[] scores = graph.scores();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            sb.append(graph.getProtein(v)).append(':');
+            for (int i = offsets[v]; i < rowEnds[v]; i++) {
+                sb.append(' ').append(targets[i]).append('=').append(scores[i]);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Visible rows keyed by protein id, each row as a sorted multiset of "targetId=score".
+     * Independent of vertex numbering and of the order of equal-score edges inside a row.
+     */
+    public static List<String> rowsById(CSRGraph graph) {
+        List<String> rows = new ArrayList<>();
+        int[] offsets = graph.offsets();
+        int[] rowEnds = graph.rowEnds();
+        int[] targets = graph.targets();
+        float[] scores = graph.scores();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            List<String> row = new ArrayList<>();
+            for (int i = offsets[v]; i < rowEnds[v]; i++) {
+                row.add(graph.getProtein(targets[i]).getId() + "=" + scores[i]);
+            }
+            Collections.sort(row);
+            rows.add(graph.getProtein(v).getId() + " " + row);
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+
+    /**
+     * Visible in-rows of the transpose keyed by protein id, each as a sorted multiset of "sourceId=score".
+     */
+    public static List<String> inRowsById(CSRGraph graph) {
+        List<String> rows = new ArrayList<>();
+        int[] inOffsets = graph.inOffsets();
+        int[] inRowEnds = graph.inRowEnds();
+        int[] inSources = graph.inSources();
+        float[] inScores = graph.inScores();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            List<String> row = new ArrayList<>();
+            for (int i = inOffsets[v]; i < inRowEnds[v]; i++) {
+                row.add(graph.getProtein(inSources[i]).getId() + "=" + inScores[i]);
+            }
+            Collections.sort(row);
+            rows.add(graph.getProtein(v).getId() + " " + row);
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+}
@@ -0,0 +1,99 @@
+package utils;
+
+import graph.CSRGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import support.TestGraphs;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every loader path must build the same CSR arrays from the same input.
+ */
+class LoaderEquivalenceTest {
+
+    private static final double THRESHOLD = 0.3;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void parallelLoaderMatchesSequentialLoader() throws Exception {
+        TestGraphs.Files files = TestGraphs.write(dir, "plain", 500, 8_000, 0.6, 11L, false);
+        String info = files.info.toString();
+        String links = files.links.toString();
+
+        CSRGraph reference = PPIGraphLoader.loadCSRGraph(info, links, THRESHOLD);
+        assertTrue(reference.getEdgeCount() > 0, "reference graph is empty");
+        assertEquals(TestGraphs.exact(reference), TestGraphs.exact(PPIGraphLoader.loadGraphParallel(info, links, THRESHOLD)));
+    }
+
+    @Test
+    void malformedScoresAreSkippedTheSameWay() throws Exception {
+        TestGraphs.Files files = TestGraphs.write(dir, "bad", 300, 2_000, 0.6, 13L, false);
+        String info = files.info.toString();
+        CSRGraph clean = PPIGraphLoader.loadCSRGraph(info, files.links.toString(), 0.0);
+
+        // Bad scores in the middle of the file must not stop either loader
+        List<String> lines = new ArrayList<>(Files.readAllLines(files.links));
+        String a = files.generator.idOf(0);
+        String b = files.generator.idOf(1);
+        lines.add(lines.size() / 2, a + " " + b + " abc");
+        lines.add(lines.size() / 3, a + " " + b + " -700");
+        lines.add(lines.size() / 4, a + " " + b + " 12345678901");
+        lines.add(lines.size() / 5, a + " " + b);
+        Path bad = dir.resolve("bad.protein.links.edited.txt");
+        Files.write(bad, lines);
+
+        CSRGraph sequential = PPIGraphLoader.loadCSRGraph(info, bad.toString(), 0.0);
+        CSRGraph parallel = PPIGraphLoader.loadGraphParallel(info, bad.toString(), 0.0);
+        assertEquals(clean.getEdgeCount(), sequential.getEdgeCount(), "sequential loader");
+        assertEquals(TestGraphs.exact(clean), TestGraphs.exact(sequential), "sequential loader");
+        assertEquals(TestGraphs.exact(clean), TestGraphs.exact(parallel), "parallel loader");
+    }
+
+    @Test
+    void snapshotRoundTripMatchesTextLoad() throws Exception {
+        TestGraphs.Files files = TestGraphs.write(dir, "snap", 500, 8_000, 0.6, 23L, false);
+        String info = files.info.toString();
+        String links = files.links.toString();
+        String expected = TestGraphs.exact(PPIGraphLoader.loadCSRGraph(info, links, THRESHOLD));
+
+        // First call parses the text files and writes the snapshot, the second one opens it
+        CSRGraph built = PPIGraphLoader.loadGraphWithSnapshot(info, links, THRESHOLD);
+        assertTrue(Files.exists(Path.of(links + ".snapshot")), "snapshot was not written");
+        CSRGraph opened = PPIGraphLoader.loadGraphWithSnapshot(info, links, THRESHOLD);
+
+        assertEquals(expected, TestGraphs.exact(built), "snapshot build");
+        assertEquals(expected, TestGraphs.exact(opened), "snapshot open");
+    }
+
+    @Test
+    void thresholdViewMatchesDirectLoad() throws Exception {
+        TestGraphs.Files files = TestGraphs.write(dir, "view", 500, 8_000, 0.6, 37L, false);
+        String info = files.info.toString();
+        String links = files.links.toString();
+
+        CSRGraph base = PPIGraphLoader.loadGraphParallel(info, links, 0.0);
+        CSRGraph direct = PPIGraphLoader.loadGraphParallel(info, links, THRESHOLD);
+        assertEquals(TestGraphs.exact(direct), TestGraphs.exact(base.withThreshold(THRESHOLD)));
+    }
+
+    @Test
+    void gzipInputMatchesPlainInput() throws Exception {
+        TestGraphs.Files plain = TestGraphs.write(dir, "plain", 500, 8_000, 0.6, 11L, false);
+        TestGraphs.Files gzip = TestGraphs.write(dir, "gzip", 500, 8_000, 0.6, 11L, true);
+        String expected = TestGraphs.exact(PPIGraphLoader.loadCSRGraph(plain.info.toString(), plain.links.toString(), THRESHOLD));
+
+        assertEquals(expected, TestGraphs.exact(
+                PPIGraphLoader.loadGraphParallel(gzip.info.toString(), gzip.links.toString(), THRESHOLD)), "gzip parallel");
+        assertEquals(expected, TestGraphs.exact(
+                PPIGraphLoader.loadCSRGraph(gzip.info.toString(), gzip.links.toString(), THRESHOLD)), "gzip sequential");
+    }
+}
@@ -0,0 +1,27 @@
+package benchmarks.jmh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH command line and adds the GC profiler unless another
+ * profiler was chosen, so every run reports allocation rates (gc.alloc.rate.norm = bytes per operation)
+ * next to the throughput / time scores.
+ *
+ * Examples:
+ *   java -jar jmh/target/benchmarks.jar PointQuery
+ *   java -jar jmh/target/benchmarks.jar Load -p proteins=20000 -p avgDegree=650
+ *   java -jar jmh/target/benchmarks.jar Traversal -rf json -rff traversal.json
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-prof") && !options.contains("-h") && !options.contains("-l")) {
+            options.add("-prof");
+            options.add("gc");
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,61 @@
+package benchmarks.jmh;
+
+import benchmarks.SyntheticStringGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Synthetic STRING info / links files for one (proteins, avgDegree, seed) combination.
+ *
+ * The generator is deterministic, so the files are cached under java.io.tmpdir/string-ppi-jmh and reused by
+ * later forks and runs instead of being regenerated (13M links take several seconds to write). avgDegree is
+ * link lines per protein; -p proteins=20000 -p avgDegree=650 gives a human-sized links file.
+ */
+@State(Scope.Benchmark)
+public class GraphFiles {
+
+    @Param({"1000", "20000"})
+    public int proteins;
+
+    @Param({"20", "100"})
+    public int avgDegree;
+
+    @Param({"0.4"})
+    public double threshold;
+
+    @Param({"42"})
+    public long seed;
+
+    public String infoPath;
+    public String linksPath;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        long links = (long) proteins * avgDegree;
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"), "string-ppi-jmh", proteins + "-" + links + "-" + seed);
+        Path info = dir.resolve("protein.info.txt");
+        Path linksFile = dir.resolve("protein.links.txt");
+        if (!Files.exists(info) || !Files.exists(linksFile)) {
+            Files.createDirectories(dir);
+            SyntheticStringGenerator generator = new SyntheticStringGenerator(proteins, links, 1.0, seed);
+            // Written under a temporary name first, so an interrupted run never leaves a half file behind
+            Path infoTmp = dir.resolve("protein.info.tmp");
+            Path linksTmp = dir.resolve("protein.links.tmp");
+            generator.writeInfo(infoTmp);
+            generator.writeLinks(linksTmp);
+            Files.move(infoTmp, info, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(linksTmp, linksFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        infoPath = info.toString();
+        linksPath = linksFile.toString();
+    }
+}
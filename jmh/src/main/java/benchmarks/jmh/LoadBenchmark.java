@@ -0,0 +1,41 @@
+package benchmarks.jmh;
+
+import graph.CSRGraph;
+import graph.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.PPIGraphLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load time of the three text loaders on the same files (menu options "standard" and
+ * "parallel"; the snapshot loader is excluded because after the first iteration it only maps a file).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LoadBenchmark {
+
+    @Benchmark
+    public Graph loadEdgeList(GraphFiles files) {
+        return PPIGraphLoader.loadGraph(files.infoPath, files.linksPath, files.threshold);
+    }
+
+    @Benchmark
+    public CSRGraph loadCsr(GraphFiles files) {
+        return PPIGraphLoader.loadCSRGraph(files.infoPath, files.linksPath, files.threshold);
+    }
+
+    @Benchmark
+    public CSRGraph loadParallel(GraphFiles files) {
+        return PPIGraphLoader.loadGraphParallel(files.infoPath, files.linksPath, files.threshold);
+    }
+}
@@ -0,0 +1,51 @@
+package benchmarks.jmh;
+
+import graph.CSRGraph;
+import graph.EdgeListGraph;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import utils.PPIGraphLoader;
+
+import java.util.SplittableRandom;
+
+/**
+ * The synthetic graph loaded once per trial in both representations, plus fixed random query pairs.
+ * Queries are drawn up front so that benchmarks measure the graph, not the random number generator.
+ */
+@State(Scope.Benchmark)
+public class LoadedGraph {
+
+    static final int QUERY_COUNT = 4096; // power of two, benchmarks cycle with & (QUERY_COUNT - 1)
+
+    public CSRGraph csr;
+    public EdgeListGraph edgeList;
+    public int[] sources;
+    public int[] targets;
+    public String[] sourceIds;
+
+    @Setup(Level.Trial)
+    public void load(GraphFiles files) {
+        csr = PPIGraphLoader.loadGraphParallel(files.infoPath, files.linksPath, files.threshold);
+        edgeList = (EdgeListGraph) PPIGraphLoader.loadGraph(files.infoPath, files.linksPath, files.threshold);
+
+        // Half of the pairs are existing edges, so hasInteraction is measured on hits and misses alike
+        SplittableRandom random = new SplittableRandom(files.seed);
+        int vertexCount = csr.getVertexCount();
+        int[] offsets = csr.offsets();
+        int[] targetArray = csr.targets();
+        sources = new int[QUERY_COUNT];
+        targets = new int[QUERY_COUNT];
+        sourceIds = new String[QUERY_COUNT];
+        for (int q = 0; q < QUERY_COUNT; q++) {
+            int u = random.nextInt(vertexCount);
+            int degree = csr.outDegree(u);
+            sources[q] = u;
+            targets[q] = (q % 2 == 0 && degree > 0)
+                    ? targetArray[offsets[u] + random.nextInt(degree)]
+                    : random.nextInt(vertexCount);
+            sourceIds[q] = csr.getProtein(u).getId();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package benchmarks.jmh;
+
+import metrics.BetweennessCalculator;
+import metrics.BetweennessScores;
+import metrics.CentralityCalculator;
+import metrics.CentralityScores;
+import metrics.ComponentAnalyzer;
+import metrics.Components;
+import metrics.DiameterCalculator;
+import metrics.PPIGraphMetrics;
+import metrics.TriangleCounter;
+import metrics.TriangleCounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-graph metrics: the full PPIGraphMetrics report (console output discarded) and each calculator
+ * on its own, so a regression in the report can be traced to one metric.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MetricsBenchmark {
+
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void muteConsole() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreConsole() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void fullReport(LoadedGraph g) {
+        new PPIGraphMetrics().calculateMetrics(g.csr);
+    }
+
+    @Benchmark
+    public int diameter(LoadedGraph g) {
+        return new DiameterCalculator().calculate(g.csr);
+    }
+
+    @Benchmark
+    public Components weaklyConnected(LoadedGraph g) {
+        return new ComponentAnalyzer().weaklyConnected(g.csr);
+    }
+
+    @Benchmark
+    public Components stronglyConnected(LoadedGraph g) {
+        return new ComponentAnalyzer().stronglyConnected(g.csr);
+    }
+
+    @Benchmark
+    public TriangleCounts triangles(LoadedGraph g) {
+        return new TriangleCounter().count(g.csr);
+    }
+
+    @Benchmark
+    public CentralityScores pageRank(LoadedGraph g) {
+        return new CentralityCalculator().pageRank(g.csr);
+    }
+
+    // Exact betweenness is O(V * E); 64 sampled sources keep an iteration in the range of the other metrics
+    @Benchmark
+    public BetweennessScores sampledBetweenness(LoadedGraph g) {
+        return new BetweennessCalculator(false).sampled(g.csr, 64, 42L);
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks.jmh;
+
+import algorithms.ConfidentPathEngine;
+import algorithms.LandmarkIndex;
+import algorithms.PathResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Most-confident-path queries (the engine behind MostConfidentPath) between random proteins, with and
+ * without the landmark index. The index is built once per trial and is not part of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PathBenchmark {
+
+    private ConfidentPathEngine engine;
+    private LandmarkIndex landmarks;
+    private int[] targets;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup(LoadedGraph g) {
+        engine = new ConfidentPathEngine(g.csr);
+        landmarks = LandmarkIndex.build(g.csr, 16);
+        // LoadedGraph's targets are neighbors half of the time; paths between random proteins are more typical
+        targets = new int[LoadedGraph.QUERY_COUNT];
+        for (int q = 0; q < targets.length; q++) {
+            targets[q] = g.sources[(q * 7 + 1) & (LoadedGraph.QUERY_COUNT - 1)];
+        }
+    }
+
+    private int next() {
+        return cursor++ & (LoadedGraph.QUERY_COUNT - 1);
+    }
+
+    @Benchmark
+    public PathResult bidirectional(LoadedGraph g) {
+        int q = next();
+        return engine.findPath(g.sources[q], targets[q]);
+    }
+
+    @Benchmark
+    public PathResult landmarks(LoadedGraph g) {
+        int q = next();
+        return engine.findPath(g.sources[q], targets[q], landmarks);
+    }
+}
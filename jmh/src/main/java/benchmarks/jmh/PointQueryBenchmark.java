@@ -0,0 +1,119 @@
+package benchmarks.jmh;
+
+import graph.CSRGraph;
+import graph.Protein;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.ProteinSearchIndex;
+import utils.SearchHit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-protein queries: interaction checks, neighbor lists and lookups, on the edge list and on the CSR
+ * graph. Each invocation takes the next pair from LoadedGraph's fixed query set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PointQueryBenchmark {
+
+    private Protein[] csrSources;
+    private Protein[] csrTargets;
+    private Protein[] edgeListSources;
+    private Protein[] edgeListTargets;
+    private String[] searchQueries;
+    private ProteinSearchIndex searchIndex;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup(LoadedGraph g) {
+        int n = LoadedGraph.QUERY_COUNT;
+        csrSources = new Protein[n];
+        csrTargets = new Protein[n];
+        edgeListSources = new Protein[n];
+        edgeListTargets = new Protein[n];
+        searchQueries = new String[n];
+        for (int q = 0; q < n; q++) {
+            csrSources[q] = g.csr.getProtein(g.sources[q]);
+            csrTargets[q] = g.csr.getProtein(g.targets[q]);
+            // The edge list was loaded separately and holds its own Protein objects
+            edgeListSources[q] = g.edgeList.searchProtein(csrSources[q].getId());
+            edgeListTargets[q] = g.edgeList.searchProtein(csrTargets[q].getId());
+            // Name prefixes such as "SYN12" match a small group of proteins
+            String name = csrSources[q].getName();
+            searchQueries[q] = name.substring(0, Math.max(4, name.length() - 1));
+        }
+        searchIndex = ProteinSearchIndex.build(g.csr, null);
+    }
+
+    private int next() {
+        return cursor++ & (LoadedGraph.QUERY_COUNT - 1);
+    }
+
+    @Benchmark
+    public boolean edgeListHasInteraction(LoadedGraph g) {
+        int q = next();
+        return g.edgeList.hasInteraction(edgeListSources[q], edgeListTargets[q]);
+    }
+
+    @Benchmark
+    public List<Protein> edgeListGetNeighbors(LoadedGraph g) {
+        return g.edgeList.getNeighbors(edgeListSources[next()]);
+    }
+
+    @Benchmark
+    public boolean csrHasInteraction(LoadedGraph g) {
+        int q = next();
+        return g.csr.hasInteraction(csrSources[q], csrTargets[q]);
+    }
+
+    @Benchmark
+    public boolean csrHasEdge(LoadedGraph g) {
+        int q = next();
+        return g.csr.hasEdge(g.sources[q], g.targets[q]);
+    }
+
+    @Benchmark
+    public List<Protein> csrGetNeighbors(LoadedGraph g) {
+        return g.csr.getNeighbors(csrSources[next()]);
+    }
+
+    // Allocation-free neighbor scan over the CSR rows, as the algorithms do it
+    @Benchmark
+    public void csrScanRow(LoadedGraph g, Blackhole bh) {
+        CSRGraph csr = g.csr;
+        int u = g.sources[next()];
+        int[] targets = csr.targets();
+        float[] scores = csr.scores();
+        int end = csr.rowEnds()[u];
+        for (int e = csr.offsets()[u]; e < end; e++) {
+            bh.consume(targets[e]);
+            bh.consume(scores[e]);
+        }
+    }
+
+    @Benchmark
+    public Protein searchProteinById(LoadedGraph g) {
+        return g.csr.searchProtein(g.sourceIds[next()]);
+    }
+
+    @Benchmark
+    public List<SearchHit> searchIndexPrefix() {
+        return searchIndex.search(searchQueries[next()], 10);
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks.jmh;
+
+import algorithms.BfsLevels;
+import algorithms.GraphTraversal;
+import algorithms.ProteinBFS;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BFS / DFS from the fixed query sources: the visitor-based GraphTraversal engine, the parallel
+ * direction-optimizing level BFS and ProteinBFS as the menu runs it (writing its TSV output to a file).
+ * maxDepth = -1 traverses the whole reachable component.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TraversalBenchmark {
+
+    @Param({"2", "-1"})
+    public int maxDepth;
+
+    private GraphTraversal traversal;
+    private ProteinBFS proteinBfs;
+    private Path outputFile;
+    private PrintStream originalOut;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup(LoadedGraph g) throws IOException {
+        traversal = new GraphTraversal(g.csr);
+        proteinBfs = new ProteinBFS();
+        outputFile = Files.createTempFile("string-ppi-jmh-bfs", ".tsv");
+        // ProteinBFS reports progress on System.out; the console would dominate the measurement
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        Files.deleteIfExists(outputFile);
+    }
+
+    private int depth() {
+        return maxDepth < 0 ? GraphTraversal.UNLIMITED : maxDepth;
+    }
+
+    private int next() {
+        return cursor++ & (LoadedGraph.QUERY_COUNT - 1);
+    }
+
+    @Benchmark
+    public int bfs(LoadedGraph g, Blackhole bh) {
+        return traversal.bfs(g.sources[next()], depth(), GraphTraversal.UNLIMITED, (protein, depth, parent) -> {
+            bh.consume(protein);
+            return true;
+        });
+    }
+
+    @Benchmark
+    public int dfs(LoadedGraph g, Blackhole bh) {
+        return traversal.dfs(g.sources[next()], depth(), GraphTraversal.UNLIMITED, (protein, depth, parent) -> {
+            bh.consume(protein);
+            return true;
+        });
+    }
+
+    @Benchmark
+    public BfsLevels levels(LoadedGraph g) {
+        return traversal.levels(g.sources[next()], depth());
+    }
+
+    @Benchmark
+    public void proteinBfsToFile(LoadedGraph g) {
+        proteinBfs.traverse(g.csr, g.sourceIds[next()], depth(), GraphTraversal.UNLIMITED, outputFile);
+    }
+}
@@ -0,0 +1,58 @@
+package algorithms;
+
+/**
+ * Result of one DirectionOptimizingBFS run: the hop distance of every protein (-1 when unreached),
+ * optionally the BFS parents, and how many proteins were found on each level.
+ */
+public class BfsLevels {
+
+    private final int source;
+    private final int[] distances;
+    private final int[] parents;
+    private final int[] levelCounts;
+    private final int topDownSteps;
+    private final int bottomUpSteps;
+
+    BfsLevels(int source, int[] distances, int[] parents, int[] levelCounts, int topDownSteps, int bottomUpSteps) {
+        this.source = source;
+        this.distances = distances;
+        this.parents = parents;
+        this.levelCounts = levelCounts;
+        this.topDownSteps = topDownSteps;
+        this.bottomUpSteps = bottomUpSteps;
+    }
+
+    public int getSource() { return source; }
+
+    // Hop distance per protein index, -1 if not reached. The array is not copied.
+    public int[] getDistances() { return distances; }
+
+    // BFS parent per protein index (-1 for the source and unreached proteins), null if parents were not recorded.
+    public int[] getParents() { return parents; }
+
+    // levelCounts[d] = number of proteins at distance d
+    public int[] getLevelCounts() { return levelCounts.clone(); }
+
+    public int getLevelCount(int depth) { return levelCounts[depth]; }
+
+    // Largest finite distance
+    public int getEccentricity() { return levelCounts.length - 1; }
+
+    public int getReachedCount() {
+        int total = 0;
+        for (int c : levelCounts) total += c;
+        return total;
+    }
+
+    // Lowest protein index at the largest distance
+    public int getFarthest() {
+        int eccentricity = getEccentricity();
+        for (int v = 0; v < distances.length; v++) {
+            if (distances[v] == eccentricity) return v;
+        }
+        return source;
+    }
+
+    public int getTopDownSteps() { return topDownSteps; }
+    public int getBottomUpSteps() { return bottomUpSteps; }
+}
@@ -0,0 +1,264 @@
+package algorithms;
+
+import graph.CSRGraph;
+import graph.Protein;
+import instrumentation.Instrumentation;
+import instrumentation.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Most-confident-path engine for repeated point-to-point queries on one graph.
+ *
+ * Maximizing the product of confidences equals minimizing the sum of -log(confidence), so the
+ * search is a bidirectional Dijkstra: forward on the outgoing CSR rows from the source and backward on
+ * the incoming (transpose) rows from the target, always expanding the smaller frontier. It stops when
+ * the two heap tops together can no longer improve the best meeting point.
+ *
+ * With a LandmarkIndex both directions are additionally goal-directed (A* with the precomputed landmark
+ * lower bounds as potentials, ALT).
+ *
+ * Both directions use an indexed heap with decrease-key. Per-thread scratch arrays are allocated once
+ * and reused between queries (validity is tracked with a run stamp instead of clearing).
+ * The engine is safe to share between threads as long as the graph is not modified.
+ */
+public class ConfidentPathEngine {
+
+    private static final LatencyHistogram PATH_LATENCY = Instrumentation.latency("path.confident");
+    private static final LatencyHistogram LANDMARK_PATH_LATENCY = Instrumentation.latency("path.landmarks");
+
+    private final CSRGraph csr;
+    private final int[] offsets;
+    private final int[] rowEnds;
+    private final int[] targets;
+    private final float[] scores;
+    private final int[] inOffsets;
+    private final int[] inRowEnds;
+    private final int[] inSources;
+    private final float[] inScores;
+    private final ThreadLocal<Scratch> scratch;
+
+    public ConfidentPathEngine(CSRGraph csr) {
+        this.csr = csr;
+        this.offsets = csr.offsets();
+        this.rowEnds = csr.rowEnds();
+        this.targets = csr.targets();
+        this.scores = csr.scores();
+        this.inOffsets = csr.inOffsets();
+        this.inRowEnds = csr.inRowEnds();
+        this.inSources = csr.inSources();
+        this.inScores = csr.inScores();
+        int vertexCount = csr.getVertexCount();
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(vertexCount));
+    }
+
+    public CSRGraph getGraph() {
+        return csr;
+    }
+
+    /**
+     * @return the most confident path, or null if one of the proteins is not in the graph.
+     */
+    public PathResult findPath(String sourceId, String targetId) {
+        int source = csr.indexOf(sourceId);
+        int target = csr.indexOf(targetId);
+        if (source < 0 || target < 0) return null;
+        return findPath(source, target);
+    }
+
+    public PathResult findPath(int source, int target) {
+        return findPath(source, target, null);
+    }
+
+    /**
+     * Same search guided by landmark lower bounds (bidirectional ALT). Both directions use the average
+     * potential p(v) = (h_target(v) - h_source(v)) / 2 (forward key d + p, backward key d - p), which keeps
+     * both sides consistent so the usual stopping rule still holds. Vertices that a landmark proves
+     * unreachable are pruned. The index must belong to this graph view (see LandmarkIndex.matches);
+     * with null this is the plain bidirectional Dijkstra.
+     */
+    public PathResult findPath(int source, int target, LandmarkIndex landmarks) {
+        long timer = Instrumentation.start();
+        PathResult result = search(source, target, landmarks);
+        (landmarks == null ? PATH_LATENCY : LANDMARK_PATH_LATENCY).record(timer);
+        return result;
+    }
+
+    private PathResult search(int source, int target, LandmarkIndex landmarks) {
+        if (source == target) {
+            List<Protein> single = new ArrayList<>(1);
+            single.add(csr.getProtein(source));
+            return new PathResult(single, new double[0], 1.0, 0);
+        }
+
+        Scratch s = scratch.get();
+        int run = ++s.run;
+        Side forward = s.forward;
+        Side backward = s.backward;
+
+        double sourcePotential = 0.0;
+        double targetPotential = 0.0;
+        if (landmarks != null) {
+            if (landmarks.lowerBound(source, target) == Double.POSITIVE_INFINITY) {
+                return PathResult.notFound(0);
+            }
+            sourcePotential = potential(s, landmarks, source, source, target, run);
+            targetPotential = potential(s, landmarks, target, source, target, run);
+        }
+
+        forward.label(source, 0.0, -1, -1, run);
+        forward.heap.insertOrDecrease(source, sourcePotential);
+        backward.label(target, 0.0, -1, -1, run);
+        backward.heap.insertOrDecrease(target, -targetPotential);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meet = -1;
+        int settled = 0;
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            // Keys are shifted by the potentials, so top keys sum to a lower bound of any unseen path
+            if (forward.heap.peekKey() + backward.heap.peekKey() >= best) break;
+
+            boolean expandForward = forward.heap.size() <= backward.heap.size();
+            Side side = expandForward ? forward : backward;
+            Side other = expandForward ? backward : forward;
+            int[] rowStart = expandForward ? offsets : inOffsets;
+            int[] rowEnd = expandForward ? rowEnds : inRowEnds;
+            int[] neighbors = expandForward ? targets : inSources;
+            float[] weights = expandForward ? scores : inScores;
+
+            int u = side.heap.poll();
+            side.settled[u] = run;
+            settled++;
+            double du = side.dist[u];
+
+            for (int i = rowStart[u]; i < rowEnd[u]; i++) {
+                float score = weights[i];
+                if (score <= 0f) continue;
+                int v = neighbors[i];
+                if (side.settled[v] == run) continue;
+
+                double candidate = du - Math.log(score);
+                if (side.stamp[v] != run || candidate < side.dist[v]) {
+                    double key = candidate;
+                    if (landmarks != null) {
+                        double p = potential(s, landmarks, v, source, target, run);
+                        if (expandForward ? s.cannotReachTarget[v] : s.unreachableFromSource[v]) {
+                            continue;
+                        }
+                        key = expandForward ? candidate + p : candidate - p;
+                    }
+                    side.label(v, candidate, u, i, run);
+                    side.heap.insertOrDecrease(v, key);
+
+                    if (other.stamp[v] == run && candidate + other.dist[v] < best) {
+                        best = candidate + other.dist[v];
+                        meet = v;
+                    }
+                }
+            }
+        }
+        forward.heap.clear();
+        backward.heap.clear();
+
+        if (meet == -1) {
+            return PathResult.notFound(settled);
+        }
+        return buildResult(s, meet, settled);
+    }
+
+    /**
+     * Average potential of v for this query, computed once per query. Also records whether a landmark
+     * proves that v can not reach the target or can not be reached from the source.
+     */
+    private double potential(Scratch s, LandmarkIndex landmarks, int v, int source, int target, int run) {
+        if (s.potentialStamp[v] != run) {
+            landmarks.queryBounds(v, source, target, s.bounds);
+            double toTarget = s.bounds[0];
+            double fromSource = s.bounds[1];
+            s.cannotReachTarget[v] = toTarget == Double.POSITIVE_INFINITY;
+            s.unreachableFromSource[v] = fromSource == Double.POSITIVE_INFINITY;
+            s.potential[v] = s.cannotReachTarget[v] || s.unreachableFromSource[v] ? 0.0 : (toTarget - fromSource) / 2;
+            s.potentialStamp[v] = run;
+        }
+        return s.potential[v];
+    }
+
+    // Forward parents lead from the meeting vertex back to the source, backward parents on to the target
+    private PathResult buildResult(Scratch s, int meet, int settled) {
+        int forwardHops = 0;
+        for (int v = meet; s.forward.parent[v] != -1; v = s.forward.parent[v]) forwardHops++;
+        int backwardHops = 0;
+        for (int v = meet; s.backward.parent[v] != -1; v = s.backward.parent[v]) backwardHops++;
+
+        int[] vertices = new int[forwardHops + backwardHops + 1];
+        double[] hopScores = new double[forwardHops + backwardHops];
+
+        int k = forwardHops;
+        vertices[k] = meet;
+        for (int v = meet; s.forward.parent[v] != -1; v = s.forward.parent[v]) {
+            hopScores[k - 1] = scores[s.forward.parentSlot[v]];
+            vertices[--k] = s.forward.parent[v];
+        }
+        k = forwardHops;
+        for (int v = meet; s.backward.parent[v] != -1; v = s.backward.parent[v]) {
+            hopScores[k] = inScores[s.backward.parentSlot[v]];
+            vertices[++k] = s.backward.parent[v];
+        }
+
+        double confidence = 1.0;
+        for (double hop : hopScores) confidence *= hop;
+
+        List<Protein> path = new ArrayList<>(vertices.length);
+        for (int v : vertices) path.add(csr.getProtein(v));
+        return new PathResult(path, hopScores, confidence, settled);
+    }
+
+    // One search direction: distance labels, parent pointers, settled marks and heap
+    private static class Side {
+        final double[] dist;
+        final int[] parent;
+        final int[] parentSlot;
+        final int[] stamp;
+        final int[] settled;
+        final IndexedMinHeap heap;
+
+        Side(int vertexCount) {
+            this.dist = new double[vertexCount];
+            this.parent = new int[vertexCount];
+            this.parentSlot = new int[vertexCount];
+            this.stamp = new int[vertexCount];
+            this.settled = new int[vertexCount];
+            this.heap = new IndexedMinHeap(vertexCount);
+        }
+
+        void label(int v, double d, int p, int slot, int run) {
+            dist[v] = d;
+            parent[v] = p;
+            parentSlot[v] = slot;
+            stamp[v] = run;
+        }
+    }
+
+    // Per-thread scratch reused between queries
+    private static class Scratch {
+        final Side forward;
+        final Side backward;
+        final double[] potential;
+        final int[] potentialStamp;
+        final boolean[] cannotReachTarget;
+        final boolean[] unreachableFromSource;
+        final double[] bounds = new double[2];
+        int run;
+
+        Scratch(int vertexCount) {
+            this.forward = new Side(vertexCount);
+            this.backward = new Side(vertexCount);
+            this.potential = new double[vertexCount];
+            this.potentialStamp = new int[vertexCount];
+            this.cannotReachTarget = new boolean[vertexCount];
+            this.unreachableFromSource = new boolean[vertexCount];
+        }
+    }
+}
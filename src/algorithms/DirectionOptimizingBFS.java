@@ -0,0 +1,277 @@
+package algorithms;
+
+import graph.CSRGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Direction-optimizing (Beamer-style) parallel BFS for hop distances and reachability.
+ *
+ * Small frontiers are expanded top-down: every frontier protein scans its outgoing row and claims
+ * unvisited neighbors with a CAS on the visited bitset. Once the frontier's outgoing edges outnumber
+ * the edges left to explore / ALPHA (typical when the search reaches the dense hub core), the engine
+ * switches to bottom-up: every unvisited protein scans its incoming (transpose) row and stops at the
+ * first parent in the frontier bitset, so already-visited hubs are no longer probed over and over.
+ * It switches back to top-down when the frontier shrinks below n / BETA.
+ *
+ * Each level is processed in parallel on the common fork-join pool (frontier chunks top-down, bitset
+ * words bottom-up, each word owned by one task). Small levels run on the calling thread.
+ * Distances do not depend on the direction or on the thread schedule; recorded parents may.
+ */
+public class DirectionOptimizingBFS {
+
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    // Frontier proteins (top-down) or bitset words (bottom-up) per parallel task
+    private static final int CHUNK = 1024;
+
+    private final CSRGraph csr;
+    private final int vertexCount;
+    private final int[] offsets;
+    private final int[] rowEnds;
+    private final int[] targets;
+    private final long totalEdges;
+
+    public DirectionOptimizingBFS(CSRGraph csr) {
+        this.csr = csr;
+        this.vertexCount = csr.getVertexCount();
+        this.offsets = csr.offsets();
+        this.rowEnds = csr.rowEnds();
+        this.targets = csr.targets();
+        this.totalEdges = csr.getEdgeCount();
+    }
+
+    public BfsLevels run(int source) {
+        return run(source, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * @param maxDepth levels beyond this distance are not explored.
+     * @param recordParents also fill a BFS parent array (needed to walk paths back).
+     */
+    public BfsLevels run(int source, int maxDepth, boolean recordParents) {
+        int words = (vertexCount + 63) >>> 6;
+        int[] dist = new int[vertexCount];
+        Arrays.fill(dist, -1);
+        int[] parent = null;
+        if (recordParents) {
+            parent = new int[vertexCount];
+            Arrays.fill(parent, -1);
+        }
+        AtomicLongArray visited = new AtomicLongArray(words);
+
+        dist[source] = 0;
+        visited.set(source >>> 6, 1L << source);
+
+        int[] levelCounts = new int[16];
+        levelCounts[0] = 1;
+        int levels = 1;
+
+        int[] frontier = {source};
+        int frontierSize = 1;
+        long[] frontierBits = null;
+        long frontierEdges = degree(source);
+        long unexploredEdges = totalEdges - frontierEdges;
+        boolean bottomUp = false;
+        int topDownSteps = 0;
+        int bottomUpSteps = 0;
+
+        for (int level = 0; frontierSize > 0 && level < maxDepth; level++) {
+            // Direction choice for this level
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+                frontierBits = toBits(frontier, frontierSize, words);
+            } else if (bottomUp && frontierSize < vertexCount / BETA) {
+                bottomUp = false;
+                frontier = toList(frontierBits, frontierSize);
+            }
+
+            Step step;
+            if (bottomUp) {
+                step = bottomUpStep(frontierBits, level, dist, parent, visited);
+                frontierBits = step.bits;
+                bottomUpSteps++;
+            } else {
+                step = topDownStep(frontier, frontierSize, level, dist, parent, visited);
+                frontier = step.list;
+                topDownSteps++;
+            }
+            frontierSize = step.size;
+            frontierEdges = step.edges;
+            unexploredEdges -= step.edges;
+
+            if (frontierSize > 0) {
+                if (levels == levelCounts.length) levelCounts = Arrays.copyOf(levelCounts, levels * 2);
+                levelCounts[levels++] = frontierSize;
+            }
+        }
+
+        return new BfsLevels(source, dist, parent, Arrays.copyOf(levelCounts, levels), topDownSteps, bottomUpSteps);
+    }
+
+    // --- Top-down: frontier list -> next frontier list ---
+
+    private Step topDownStep(int[] frontier, int size, int level, int[] dist, int[] parent, AtomicLongArray visited) {
+        int chunks = (size + CHUNK - 1) / CHUNK;
+        IntStream range = IntStream.range(0, chunks);
+        if (chunks > 1) range = range.parallel();
+
+        int[][] found = new int[chunks][];
+        int[] foundSizes = new int[chunks];
+        long[] foundEdges = new long[chunks];
+        range.forEach(c -> {
+            int[] local = new int[64];
+            int count = 0;
+            long edges = 0;
+            int end = Math.min(size, (c + 1) * CHUNK);
+            for (int k = c * CHUNK; k < end; k++) {
+                int u = frontier[k];
+                for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                    int v = targets[i];
+                    if (claim(visited, v)) {
+                        dist[v] = level + 1;
+                        if (parent != null) parent[v] = u;
+                        if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                        local[count++] = v;
+                        edges += degree(v);
+                    }
+                }
+            }
+            found[c] = local;
+            foundSizes[c] = count;
+            foundEdges[c] = edges;
+        });
+
+        int total = 0;
+        long edges = 0;
+        for (int c = 0; c < chunks; c++) {
+            total += foundSizes[c];
+            edges += foundEdges[c];
+        }
+        int[] next = new int[total];
+        int pos = 0;
+        for (int c = 0; c < chunks; c++) {
+            System.arraycopy(found[c], 0, next, pos, foundSizes[c]);
+            pos += foundSizes[c];
+        }
+        return new Step(next, null, total, edges);
+    }
+
+    // Sets the visited bit of v; true only for the one thread that set it
+    private static boolean claim(AtomicLongArray visited, int v) {
+        int word = v >>> 6;
+        long bit = 1L << v;
+        long old = visited.get(word);
+        while ((old & bit) == 0) {
+            if (visited.compareAndSet(word, old, old | bit)) return true;
+            old = visited.get(word);
+        }
+        return false;
+    }
+
+    // --- Bottom-up: frontier bitset -> next frontier bitset ---
+
+    private Step bottomUpStep(long[] frontierBits, int level, int[] dist, int[] parent, AtomicLongArray visited) {
+        int[] inOffsets = csr.inOffsets();
+        int[] inRowEnds = csr.inRowEnds();
+        int[] inSources = csr.inSources();
+
+        int words = frontierBits.length;
+        long[] next = new long[words];
+        int chunks = (words + CHUNK - 1) / CHUNK;
+        IntStream range = IntStream.range(0, chunks);
+        if (chunks > 1) range = range.parallel();
+
+        int[] foundSizes = new int[chunks];
+        long[] foundEdges = new long[chunks];
+        range.forEach(c -> {
+            int count = 0;
+            long edges = 0;
+            int endWord = Math.min(words, (c + 1) * CHUNK);
+            for (int w = c * CHUNK; w < endWord; w++) {
+                // This task owns word w of both bitsets, so plain read-modify-write is enough
+                long seen = visited.get(w);
+                long unvisited = ~seen;
+                if (w == words - 1 && (vertexCount & 63) != 0) {
+                    unvisited &= (1L << (vertexCount & 63)) - 1;
+                }
+                long added = 0;
+                while (unvisited != 0) {
+                    int bit = Long.numberOfTrailingZeros(unvisited);
+                    unvisited &= unvisited - 1;
+                    int v = (w << 6) + bit;
+                    for (int i = inOffsets[v]; i < inRowEnds[v]; i++) {
+                        int u = inSources[i];
+                        if ((frontierBits[u >>> 6] & (1L << u)) != 0) {
+                            dist[v] = level + 1;
+                            if (parent != null) parent[v] = u;
+                            added |= 1L << bit;
+                            count++;
+                            edges += degree(v);
+                            break;
+                        }
+                    }
+                }
+                if (added != 0) {
+                    next[w] = added;
+                    visited.set(w, seen | added);
+                }
+            }
+            foundSizes[c] = count;
+            foundEdges[c] = edges;
+        });
+
+        int total = 0;
+        long edges = 0;
+        for (int c = 0; c < chunks; c++) {
+            total += foundSizes[c];
+            edges += foundEdges[c];
+        }
+        return new Step(null, next, total, edges);
+    }
+
+    // --- Frontier conversions ---
+
+    private static long[] toBits(int[] list, int size, int words) {
+        long[] bits = new long[words];
+        for (int k = 0; k < size; k++) {
+            int v = list[k];
+            bits[v >>> 6] |= 1L << v;
+        }
+        return bits;
+    }
+
+    private static int[] toList(long[] bits, int size) {
+        int[] list = new int[size];
+        int pos = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                list[pos++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return list;
+    }
+
+    private int degree(int u) {
+        return rowEnds[u] - offsets[u];
+    }
+
+    // Next frontier (as list or bitset), its size and its outgoing edge count
+    private static class Step {
+        final int[] list;
+        final long[] bits;
+        final int size;
+        final long edges;
+
+        Step(int[] list, long[] bits, int size, long edges) {
+            this.list = list;
+            this.bits = bits;
+            this.size = size;
+            this.edges = edges;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package algorithms;
+
+import graph.CSRGraph;
+import graph.Graph;
+import instrumentation.Instrumentation;
+import instrumentation.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming BFS / DFS over the graph's shared adjacency index.
+ *
+ * Visited proteins are handed out one by one (with depth and parent) either to a TraversalVisitor
+ * or through a lazy Iterator, so callers decide what to do with them: print them through a buffered
+ * TraversalSink, write them to a file, or stop as soon as they found what they were looking for.
+ * Both traversals can be limited by depth and by the number of visited proteins.
+ *
+ * The visit order is the same as before: BFS visits neighbors in row order (descending score),
+ * DFS is the stack-based variant that pushes neighbors in reverse row order.
+ */
+public class GraphTraversal {
+
+    // Pass as maxDepth / maxNodes for no limit
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final int INITIAL_STACK = 1024;
+
+    private static final LatencyHistogram BFS_LATENCY = Instrumentation.latency("traversal.bfs");
+    private static final LatencyHistogram DFS_LATENCY = Instrumentation.latency("traversal.dfs");
+    private static final LatencyHistogram LEVELS_LATENCY = Instrumentation.latency("traversal.levels");
+
+    private final CSRGraph csr;
+
+    public GraphTraversal(Graph graph) {
+        this.csr = graph.getAdjacencyIndex();
+    }
+
+    public CSRGraph getGraph() {
+        return csr;
+    }
+
+    /**
+     * Breadth-first traversal from start.
+     * @return the number of visited proteins.
+     */
+    public int bfs(int start, int maxDepth, int maxNodes, TraversalVisitor visitor) {
+        long timer = Instrumentation.start();
+        BfsCursor cursor = new BfsCursor(start, maxDepth, maxNodes);
+        int count = 0;
+        while (cursor.advance()) {
+            count++;
+            if (!visitor.visit(cursor.current, cursor.depth, cursor.parent)) break;
+        }
+        BFS_LATENCY.record(timer);
+        return count;
+    }
+
+    /**
+     * Depth-first traversal from start.
+     * @return the number of visited proteins.
+     */
+    public int dfs(int start, int maxDepth, int maxNodes, TraversalVisitor visitor) {
+        long timer = Instrumentation.start();
+        DfsCursor cursor = new DfsCursor(start, maxDepth, maxNodes);
+        int count = 0;
+        while (cursor.advance()) {
+            count++;
+            if (!visitor.visit(cursor.current, cursor.depth, cursor.parent)) break;
+        }
+        DFS_LATENCY.record(timer);
+        return count;
+    }
+
+    /**
+     * Hop distances and per-level counts from start (no visit order), computed with the parallel
+     * direction-optimizing engine. Much faster than bfs() when only distances / reachability are needed.
+     */
+    public BfsLevels levels(int start, int maxDepth) {
+        long timer = Instrumentation.start();
+        BfsLevels levels = new DirectionOptimizingBFS(csr).run(start, maxDepth, false);
+        LEVELS_LATENCY.record(timer);
+        return levels;
+    }
+
+    // Lazy variants: the traversal only advances when next() is called
+    public Iterator<TraversalStep> bfsIterator(int start, int maxDepth, int maxNodes) {
+        return new StepIterator(new BfsCursor(start, maxDepth, maxNodes));
+    }
+
+    public Iterator<TraversalStep> dfsIterator(int start, int maxDepth, int maxNodes) {
+        return new StepIterator(new DfsCursor(start, maxDepth, maxNodes));
+    }
+
+    // --- Cursors: one visited protein per advance(), no allocation per step ---
+
+    private abstract static class Cursor {
+        int current = -1;
+        int depth;
+        int parent;
+
+        abstract boolean advance();
+    }
+
+    private class BfsCursor extends Cursor {
+        private final int[] offsets = csr.offsets();
+        private final int[] rowEnds = csr.rowEnds();
+        private final int[] targets = csr.targets();
+        private final boolean[] visited;
+        private final int[] queue;
+        private final int[] depths;
+        private final int[] parents;
+        private final int maxDepth;
+        private final int maxNodes;
+        private int head;
+        private int tail;
+        private int emitted;
+
+        BfsCursor(int start, int maxDepth, int maxNodes) {
+            int vertexCount = csr.getVertexCount();
+            this.visited = new boolean[vertexCount];
+            this.queue = new int[vertexCount];
+            this.depths = new int[vertexCount];
+            this.parents = new int[vertexCount];
+            this.maxDepth = maxDepth;
+            this.maxNodes = maxNodes;
+
+            visited[start] = true;
+            queue[tail++] = start;
+            depths[start] = 0;
+            parents[start] = -1;
+        }
+
+        @Override
+        boolean advance() {
+            if (head == tail || emitted == maxNodes) return false;
+            int u = queue[head++];
+            current = u;
+            depth = depths[u];
+            parent = parents[u];
+            emitted++;
+
+            // Neighbors of the current protein are queued only when they are still within maxDepth
+            if (depth < maxDepth) {
+                for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                    int v = targets[i];
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        depths[v] = depth + 1;
+                        parents[v] = u;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    private class DfsCursor extends Cursor {
+        private final int[] offsets = csr.offsets();
+        private final int[] rowEnds = csr.rowEnds();
+        private final int[] targets = csr.targets();
+        private final boolean[] visited;
+        // Every edge pushes at most one entry, so E + 1 bounds the stack size; the arrays grow up to that
+        // on demand, so a short (maxNodes-limited) traversal does not allocate three E-sized arrays
+        private final int capacityLimit;
+        private int[] stackVertex;
+        private int[] stackDepth;
+        private int[] stackParent;
+        private final int maxDepth;
+        private final int maxNodes;
+        private int top;
+        private int emitted;
+
+        DfsCursor(int start, int maxDepth, int maxNodes) {
+            this.capacityLimit = targets.length + 1;
+            int capacity = Math.min(capacityLimit, INITIAL_STACK);
+            this.visited = new boolean[csr.getVertexCount()];
+            this.stackVertex = new int[capacity];
+            this.stackDepth = new int[capacity];
+            this.stackParent = new int[capacity];
+            this.maxDepth = maxDepth;
+            this.maxNodes = maxNodes;
+            push(start, 0, -1);
+        }
+
+        private void push(int v, int d, int p) {
+            if (top == stackVertex.length) {
+                int capacity = (int) Math.min(capacityLimit, 2L * stackVertex.length);
+                stackVertex = Arrays.copyOf(stackVertex, capacity);
+                stackDepth = Arrays.copyOf(stackDepth, capacity);
+                stackParent = Arrays.copyOf(stackParent, capacity);
+            }
+            stackVertex[top] = v;
+            stackDepth[top] = d;
+            stackParent[top] = p;
+            top++;
+        }
+
+        @Override
+        boolean advance() {
+            if (emitted == maxNodes) return false;
+            while (top > 0) {
+                top--;
+                int u = stackVertex[top];
+                if (visited[u]) continue;
+
+                visited[u] = true;
+                current = u;
+                depth = stackDepth[top];
+                parent = stackParent[top];
+                emitted++;
+
+                // Push neighbors to stack (reverse order)
+                if (depth < maxDepth) {
+                    for (int i = rowEnds[u] - 1; i >= offsets[u]; i--) {
+                        int v = targets[i];
+                        if (!visited[v]) {
+                            push(v, depth + 1, u);
+                        }
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private class StepIterator implements Iterator<TraversalStep> {
+        private final Cursor cursor;
+        private TraversalStep next;
+        private boolean done;
+
+        StepIterator(Cursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                if (cursor.advance()) {
+                    next = new TraversalStep(csr, cursor.current, cursor.depth, cursor.parent);
+                } else {
+                    done = true;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public TraversalStep next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            TraversalStep step = next;
+            next = null;
+            return step;
+        }
+    }
+}
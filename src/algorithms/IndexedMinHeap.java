@@ -0,0 +1,115 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over vertex indices with a position index, so decrease-key is O(log n)
+ * and no stale entries are ever left in the queue.
+ * Keys are stored per vertex; clear() only touches the vertices that are currently queued.
+ */
+public class IndexedMinHeap {
+
+    private final int[] heap;     // heap slot -> vertex
+    private final int[] position; // vertex -> heap slot, -1 when not queued
+    private final double[] keys;  // vertex -> key
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int vertex) {
+        return position[vertex] != -1;
+    }
+
+    // Smallest key in the heap (+infinity when empty)
+    public double peekKey() {
+        return size == 0 ? Double.POSITIVE_INFINITY : keys[heap[0]];
+    }
+
+    /**
+     * Inserts the vertex, or lowers its key if it is already queued with a larger key.
+     * @return true if the heap changed.
+     */
+    public boolean insertOrDecrease(int vertex, double key) {
+        int slot = position[vertex];
+        if (slot == -1) {
+            slot = size++;
+            heap[slot] = vertex;
+            position[vertex] = slot;
+            keys[vertex] = key;
+            siftUp(slot);
+            return true;
+        }
+        if (key < keys[vertex]) {
+            keys[vertex] = key;
+            siftUp(slot);
+            return true;
+        }
+        return false;
+    }
+
+    // Removes and returns the vertex with the smallest key
+    public int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int vertex = heap[slot];
+        double key = keys[vertex];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parent = heap[parentSlot];
+            if (keys[parent] <= key) break;
+            heap[slot] = parent;
+            position[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = vertex;
+        position[vertex] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int vertex = heap[slot];
+        double key = keys[vertex];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) child = right;
+            if (key <= keys[heap[child]]) break;
+            heap[slot] = heap[child];
+            position[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = vertex;
+        position[vertex] = slot;
+    }
+}
@@ -0,0 +1,359 @@
+package algorithms;
+
+import graph.CSRGraph;
+import graph.Protein;
+import instrumentation.Instrumentation;
+import instrumentation.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Top-k most confident simple paths between two proteins (Yen's algorithm over -log(confidence)).
+ *
+ * Shared work per query:
+ * - One reverse Dijkstra from the target (over the transpose) gives the exact distance of every vertex
+ *   to the target. Removing edges or vertices can only make paths longer, so it stays an admissible,
+ *   consistent A* heuristic for every spur search and each spur search goes almost straight to the target.
+ * - One reverse BFS gives the hop distance to the target, used to prune against the maximum hop count.
+ *
+ * The spur searches of one iteration are independent and run in parallel with per-thread scratch.
+ * Only spur nodes from the deviation point of the last accepted path onwards are expanded (Lawler),
+ * earlier ones were already covered when that path's parent was accepted.
+ *
+ * With a hop limit, states are (protein, hops) so a cheaper but longer partial path can not hide a
+ * path that still fits the limit.
+ */
+public class KConfidentPaths {
+
+    private static final LatencyHistogram LATENCY = Instrumentation.latency("path.top-k");
+
+    /**
+     * Largest accepted hop limit. Hop-limited searches keep vertexCount * (maxHops + 1) states per worker
+     * thread, so the limit has to stay small; confidence decays quickly with path length anyway.
+     */
+    public static final int MAX_HOPS = 64;
+
+    private final CSRGraph csr;
+    private final int vertexCount;
+    private final int[] offsets;
+    private final int[] rowEnds;
+    private final int[] targets;
+    private final float[] scores;
+    private final ThreadLocal<SpurScratch> scratch = new ThreadLocal<>();
+
+    public KConfidentPaths(CSRGraph csr) {
+        this.csr = csr;
+        this.vertexCount = csr.getVertexCount();
+        this.offsets = csr.offsets();
+        this.rowEnds = csr.rowEnds();
+        this.targets = csr.targets();
+        this.scores = csr.scores();
+    }
+
+    /**
+     * @param maxHops maximum number of interactions on a path, 0 or less for no limit, at most {@link #MAX_HOPS}.
+     * @return up to k paths ranked by confidence, or null if one of the proteins is not in the graph.
+     * @throws IllegalArgumentException if maxHops is above {@link #MAX_HOPS}.
+     */
+    public List<PathResult> findPaths(String sourceId, String targetId, int k, int maxHops) {
+        int source = csr.indexOf(sourceId);
+        int target = csr.indexOf(targetId);
+        if (source < 0 || target < 0) return null;
+        return findPaths(source, target, k, maxHops);
+    }
+
+    public List<PathResult> findPaths(int source, int target, int k, int maxHops) {
+        if (maxHops > MAX_HOPS) {
+            throw new IllegalArgumentException("maxHops must be at most " + MAX_HOPS + ", got " + maxHops);
+        }
+        long timer = Instrumentation.start();
+        List<PathResult> results = search(source, target, k, maxHops);
+        LATENCY.record(timer);
+        return results;
+    }
+
+    private List<PathResult> search(int source, int target, int k, int maxHops) {
+        List<PathResult> results = new ArrayList<>();
+        if (k <= 0) return results;
+        if (source == target) {
+            List<Protein> single = new ArrayList<>(1);
+            single.add(csr.getProtein(source));
+            results.add(new PathResult(single, new double[0], 1.0, 0));
+            return results;
+        }
+
+        // Shortest-path tree and hop distances towards the target, shared by every spur search
+        double[] toTarget = LandmarkIndex.dijkstra(target, csr.inOffsets(), csr.inRowEnds(), csr.inSources(), csr.inScores());
+        int[] hopsToTarget = reverseHops(target);
+        // A simple path has at most vertexCount - 1 hops, a larger limit is the same as no limit
+        int hopLimit = maxHops <= 0 || maxHops >= vertexCount - 1 ? Integer.MAX_VALUE : maxHops;
+        Query query = new Query(target, hopLimit, toTarget, hopsToTarget);
+
+        Candidate first = spurSearch(query, source, new int[0], new int[0], 0.0, new int[0], 0);
+        if (first == null) return results;
+
+        List<Candidate> accepted = new ArrayList<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        Set<Candidate> seen = new HashSet<>();
+        accepted.add(first);
+        seen.add(first);
+
+        while (accepted.size() < k) {
+            Candidate last = accepted.get(accepted.size() - 1);
+            int spurCount = last.vertices.length - 1;
+
+            Candidate[] found = new Candidate[spurCount];
+            IntStream.range(last.deviation, spurCount).parallel().forEach(i -> {
+                int[] blockedSlots = blockedSlots(accepted, last, i);
+                int[] rootVertices = Arrays.copyOf(last.vertices, i);
+                int[] rootSlots = Arrays.copyOf(last.slots, i);
+                double rootCost = 0.0;
+                for (int slot : rootSlots) rootCost -= Math.log(scores[slot]);
+                found[i] = spurSearch(query, last.vertices[i], rootVertices, rootSlots, rootCost, blockedSlots, i);
+            });
+
+            for (Candidate c : found) {
+                if (c != null && seen.add(c)) candidates.add(c);
+            }
+            if (candidates.isEmpty()) break;
+            accepted.add(candidates.poll());
+        }
+
+        for (Candidate c : accepted) results.add(toResult(c));
+        return results;
+    }
+
+    // Edges leaving the spur node that accepted paths with the same root already use
+    private int[] blockedSlots(List<Candidate> accepted, Candidate last, int spurIndex) {
+        int[] blocked = new int[accepted.size()];
+        int count = 0;
+        for (Candidate p : accepted) {
+            if (p.vertices.length > spurIndex + 1
+                    && Arrays.equals(p.vertices, 0, spurIndex + 1, last.vertices, 0, spurIndex + 1)) {
+                blocked[count++] = p.slots[spurIndex];
+            }
+        }
+        return Arrays.copyOf(blocked, count);
+    }
+
+    /**
+     * A* from the spur node to the target avoiding the root vertices and the blocked spur edges.
+     * @return the complete candidate (root + spur path), or null if the target can not be reached.
+     */
+    private Candidate spurSearch(Query query, int spur, int[] rootVertices, int[] rootSlots, double rootCost,
+                                 int[] blockedSlots, int deviation) {
+        int hopBudget = query.maxHops == Integer.MAX_VALUE ? Integer.MAX_VALUE : query.maxHops - rootSlots.length;
+        if (query.toTarget[spur] == Double.POSITIVE_INFINITY || query.hopsToTarget[spur] > hopBudget) return null;
+
+        // One state per protein without a hop limit, otherwise one per (protein, hops) pair
+        int layers = hopBudget == Integer.MAX_VALUE ? 1 : hopBudget + 1;
+        SpurScratch s = scratchFor(layers);
+        int run = ++s.run;
+        for (int v : rootVertices) s.blocked[v] = run;
+
+        int start = spur * layers;
+        s.label(start, 0.0, -1, -1, run);
+        s.heap.insertOrDecrease(start, query.toTarget[spur]);
+
+        int goal = -1;
+        while (!s.heap.isEmpty()) {
+            int state = s.heap.poll();
+            int u = state / layers;
+            int hops = state % layers;
+
+            // A state is dominated once u was settled with no more hops (and, by A* order, no higher cost)
+            if (s.settledStamp[u] == run && s.settledHops[u] <= hops) continue;
+            s.settledStamp[u] = run;
+            s.settledHops[u] = hops;
+
+            if (u == query.target) {
+                goal = state;
+                break;
+            }
+
+            double du = s.dist[state];
+            for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                float score = scores[i];
+                if (score <= 0f) continue;
+                int v = targets[i];
+                if (s.blocked[v] == run || query.toTarget[v] == Double.POSITIVE_INFINITY) continue;
+                if (u == spur && contains(blockedSlots, i)) continue;
+                if (s.settledStamp[v] == run && s.settledHops[v] <= hops + 1) continue;
+
+                int next;
+                if (layers == 1) {
+                    next = v;
+                } else {
+                    if (hops + 1 + query.hopsToTarget[v] > hopBudget) continue;
+                    next = v * layers + hops + 1;
+                }
+
+                double candidate = du - Math.log(score);
+                if (s.stamp[next] != run || candidate < s.dist[next]) {
+                    s.label(next, candidate, state, i, run);
+                    s.heap.insertOrDecrease(next, candidate + query.toTarget[v]);
+                }
+            }
+        }
+        s.heap.clear();
+        if (goal == -1) return null;
+
+        // Root + spur path, the spur part is read back from the parent states
+        int spurHops = 0;
+        for (int state = goal; s.parent[state] != -1; state = s.parent[state]) spurHops++;
+        int hopCount = rootSlots.length + spurHops;
+        int[] vertices = Arrays.copyOf(rootVertices, hopCount + 1);
+        int[] slots = Arrays.copyOf(rootSlots, hopCount);
+        int k = hopCount;
+        for (int state = goal; s.parent[state] != -1; state = s.parent[state]) {
+            vertices[k] = state / layers;
+            slots[--k] = s.parentSlot[state];
+        }
+        vertices[k] = spur;
+        return new Candidate(vertices, slots, rootCost + s.dist[goal], deviation);
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) if (v == value) return true;
+        return false;
+    }
+
+    // Hop distance of every protein to the target (BFS over incoming edges)
+    private int[] reverseHops(int target) {
+        int[] inOffsets = csr.inOffsets();
+        int[] inRowEnds = csr.inRowEnds();
+        int[] inSources = csr.inSources();
+        float[] inScores = csr.inScores();
+
+        int[] hops = new int[vertexCount];
+        Arrays.fill(hops, Integer.MAX_VALUE);
+        int[] queue = new int[vertexCount];
+        int head = 0;
+        int tail = 0;
+        hops[target] = 0;
+        queue[tail++] = target;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int i = inOffsets[u]; i < inRowEnds[u]; i++) {
+                int v = inSources[i];
+                if (inScores[i] > 0f && hops[v] == Integer.MAX_VALUE) {
+                    hops[v] = hops[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return hops;
+    }
+
+    private SpurScratch scratchFor(int layers) {
+        SpurScratch s = scratch.get();
+        if (s == null || s.layers < layers) {
+            s = new SpurScratch(vertexCount, layers);
+            scratch.set(s);
+        }
+        return s;
+    }
+
+    private PathResult toResult(Candidate c) {
+        double[] hopScores = new double[c.slots.length];
+        double confidence = 1.0;
+        for (int i = 0; i < c.slots.length; i++) {
+            hopScores[i] = scores[c.slots[i]];
+            confidence *= hopScores[i];
+        }
+        List<Protein> path = new ArrayList<>(c.vertices.length);
+        for (int v : c.vertices) path.add(csr.getProtein(v));
+        return new PathResult(path, hopScores, confidence, 0);
+    }
+
+    // Per-query data shared (read-only) by all spur searches
+    private static class Query {
+        final int target;
+        final int maxHops;
+        final double[] toTarget;
+        final int[] hopsToTarget;
+
+        Query(int target, int maxHops, double[] toTarget, int[] hopsToTarget) {
+            this.target = target;
+            this.maxHops = maxHops;
+            this.toTarget = toTarget;
+            this.hopsToTarget = hopsToTarget;
+        }
+    }
+
+    // A complete path from source to target; equal paths (same proteins) are deduplicated
+    private static class Candidate implements Comparable<Candidate> {
+        final int[] vertices;
+        final int[] slots;
+        final double cost;
+        final int deviation; // index of the spur node this path was found from
+
+        Candidate(int[] vertices, int[] slots, double cost, int deviation) {
+            this.vertices = vertices;
+            this.slots = slots;
+            this.cost = cost;
+            this.deviation = deviation;
+        }
+
+        @Override
+        public int compareTo(Candidate o) {
+            int c = Double.compare(cost, o.cost);
+            return c != 0 ? c : Integer.compare(vertices.length, o.vertices.length);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Candidate && Arrays.equals(vertices, ((Candidate) o).vertices);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(vertices);
+        }
+    }
+
+    // Per-thread search state over (protein, hops) states, reused between spur searches
+    private static class SpurScratch {
+        final int layers;
+        final double[] dist;
+        final int[] parent;
+        final int[] parentSlot;
+        final int[] stamp;
+        final int[] blocked;
+        final int[] settledStamp;
+        final int[] settledHops;
+        final IndexedMinHeap heap;
+        int run;
+
+        SpurScratch(int vertexCount, int layers) {
+            long stateCount = (long) vertexCount * layers;
+            if (stateCount > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Hop limit too large for this graph: " + vertexCount + " proteins x "
+                        + layers + " hop layers");
+            }
+            int states = (int) stateCount;
+            this.layers = layers;
+            this.dist = new double[states];
+            this.parent = new int[states];
+            this.parentSlot = new int[states];
+            this.stamp = new int[states];
+            this.blocked = new int[vertexCount];
+            this.settledStamp = new int[vertexCount];
+            this.settledHops = new int[vertexCount];
+            this.heap = new IndexedMinHeap(states);
+        }
+
+        void label(int state, double d, int p, int slot, int run) {
+            dist[state] = d;
+            parent[state] = p;
+            parentSlot[state] = slot;
+            stamp[state] = run;
+        }
+    }
+}
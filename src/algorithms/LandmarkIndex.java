@@ -0,0 +1,299 @@
+package algorithms;
+
+import graph.CSRGraph;
+import instrumentation.Instrumentation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Landmark (ALT) index for most-confident-path queries.
+ *
+ * A few landmark proteins are selected (high-degree hubs that are not direct neighbors of each other)
+ * and the -log(confidence) distances from every landmark and to every landmark are precomputed with
+ * Dijkstra, all landmarks in parallel. By the triangle inequality
+ *   d(v, t) >= d(L, t) - d(L, v)   and   d(v, t) >= d(v, L) - d(t, L)
+ * so the maximum over all landmarks is an admissible and consistent A* heuristic.
+ *
+ * The index belongs to one graph view (same vertices, edges and threshold); save/load checks this with
+ * a fingerprint so a stale index is never used.
+ */
+public class LandmarkIndex {
+
+    private static final int MAGIC = 0x50504C4D; // "PPLM"
+    private static final int VERSION = 1;
+
+    // Vertex-major so the bounds of one vertex are read from one or two cache lines
+    private final int[] landmarks;
+    private final double[] fromLandmark; // [v * k + l] = d(L, v)
+    private final double[] toLandmark;   // [v * k + l] = d(v, L)
+    private final long fingerprint;
+
+    private LandmarkIndex(int[] landmarks, double[] fromLandmark, double[] toLandmark, long fingerprint) {
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Selects landmarkCount hubs and precomputes their distances in parallel.
+     */
+    public static LandmarkIndex build(CSRGraph csr, int landmarkCount) {
+        long timer = Instrumentation.start();
+        int[] selected = selectLandmarks(csr, landmarkCount);
+        int k = selected.length;
+        int vertexCount = csr.getVertexCount();
+        double[] from = new double[vertexCount * k];
+        double[] to = new double[vertexCount * k];
+
+        int[] offsets = csr.offsets();
+        int[] rowEnds = csr.rowEnds();
+        int[] targets = csr.targets();
+        float[] scores = csr.scores();
+        int[] inOffsets = csr.inOffsets();
+        int[] inRowEnds = csr.inRowEnds();
+        int[] inSources = csr.inSources();
+        float[] inScores = csr.inScores();
+
+        // Task 2l: forward distances of landmark l, task 2l + 1: backward (transpose) distances
+        IntStream.range(0, 2 * k).parallel().forEach(task -> {
+            int l = task / 2;
+            double[] dist;
+            double[] into;
+            if (task % 2 == 0) {
+                dist = dijkstra(selected[l], offsets, rowEnds, targets, scores);
+                into = from;
+            } else {
+                dist = dijkstra(selected[l], inOffsets, inRowEnds, inSources, inScores);
+                into = to;
+            }
+            // Each task writes its own column, no two tasks touch the same slot
+            for (int v = 0; v < vertexCount; v++) into[v * k + l] = dist[v];
+        });
+        LandmarkIndex index = new LandmarkIndex(selected, from, to, fingerprint(csr));
+        Instrumentation.phase("index.landmarks").record(timer, csr.getEdgeCount(), 0);
+        return index;
+    }
+
+    // Hubs by descending degree, skipping direct neighbors of already selected landmarks
+    private static int[] selectLandmarks(CSRGraph csr, int landmarkCount) {
+        int vertexCount = csr.getVertexCount();
+        int[] offsets = csr.offsets();
+        int[] rowEnds = csr.rowEnds();
+        int[] targets = csr.targets();
+
+        Integer[] byDegree = new Integer[vertexCount];
+        for (int v = 0; v < vertexCount; v++) byDegree[v] = v;
+        Arrays.sort(byDegree, Comparator.comparingInt((Integer v) -> rowEnds[v] - offsets[v]).reversed());
+
+        boolean[] blocked = new boolean[vertexCount];
+        int[] selected = new int[Math.min(landmarkCount, vertexCount)];
+        int count = 0;
+        for (int pass = 0; pass < 2 && count < selected.length; pass++) {
+            for (int v : byDegree) {
+                if (count == selected.length) break;
+                if (blocked[v] && pass == 0) continue;
+                if (contains(selected, count, v)) continue;
+                selected[count++] = v;
+                blocked[v] = true;
+                for (int i = offsets[v]; i < rowEnds[v]; i++) blocked[targets[i]] = true;
+            }
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) if (values[i] == value) return true;
+        return false;
+    }
+
+    // Full single-source Dijkstra over -log(score); also used by KConfidentPaths for its reverse tree
+    static double[] dijkstra(int source, int[] rowStart, int[] rowEnd, int[] neighbors, float[] weights) {
+        int vertexCount = rowStart.length - 1;
+        double[] dist = new double[vertexCount];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        boolean[] settled = new boolean[vertexCount];
+        IndexedMinHeap heap = new IndexedMinHeap(vertexCount);
+
+        dist[source] = 0.0;
+        heap.insertOrDecrease(source, 0.0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            settled[u] = true;
+            for (int i = rowStart[u]; i < rowEnd[u]; i++) {
+                float score = weights[i];
+                int v = neighbors[i];
+                if (score <= 0f || settled[v]) continue;
+                double candidate = dist[u] - Math.log(score);
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    heap.insertOrDecrease(v, candidate);
+                }
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Lower bound on the -log(confidence) distance from v to target.
+     * Returns +infinity when a landmark proves that target is unreachable from v.
+     */
+    public double lowerBound(int v, int target) {
+        int k = landmarks.length;
+        int vBase = v * k;
+        int tBase = target * k;
+        double bound = 0.0;
+        for (int l = 0; l < k; l++) {
+            double fromV = fromLandmark[vBase + l];
+            double fromT = fromLandmark[tBase + l];
+            double toV = toLandmark[vBase + l];
+            double toT = toLandmark[tBase + l];
+
+            // L reaches v but not target: v can not reach target either
+            if (fromV != Double.POSITIVE_INFINITY && fromT == Double.POSITIVE_INFINITY) {
+                return Double.POSITIVE_INFINITY;
+            }
+            // target reaches L but v does not: v can not reach target either
+            if (toT != Double.POSITIVE_INFINITY && toV == Double.POSITIVE_INFINITY) {
+                return Double.POSITIVE_INFINITY;
+            }
+            if (fromV != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, fromT - fromV);
+            }
+            if (toT != Double.POSITIVE_INFINITY) {
+                bound = Math.max(bound, toV - toT);
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Both bounds a bidirectional query needs for v in one pass over v's landmark distances:
+     * bounds[0] = lowerBound(v, target) and bounds[1] = lowerBound(source, v).
+     */
+    public void queryBounds(int v, int source, int target, double[] bounds) {
+        int k = landmarks.length;
+        int vBase = v * k;
+        int sBase = source * k;
+        int tBase = target * k;
+        double toTarget = 0.0;
+        double fromSource = 0.0;
+        for (int l = 0; l < k; l++) {
+            double fromV = fromLandmark[vBase + l];
+            double toV = toLandmark[vBase + l];
+            double fromS = fromLandmark[sBase + l];
+            double toS = toLandmark[sBase + l];
+            double fromT = fromLandmark[tBase + l];
+            double toT = toLandmark[tBase + l];
+
+            // v -> target, same rules as lowerBound
+            if ((fromV != Double.POSITIVE_INFINITY && fromT == Double.POSITIVE_INFINITY)
+                    || (toT != Double.POSITIVE_INFINITY && toV == Double.POSITIVE_INFINITY)) {
+                toTarget = Double.POSITIVE_INFINITY;
+            } else {
+                if (fromV != Double.POSITIVE_INFINITY) toTarget = Math.max(toTarget, fromT - fromV);
+                if (toT != Double.POSITIVE_INFINITY) toTarget = Math.max(toTarget, toV - toT);
+            }
+            // source -> v
+            if ((fromS != Double.POSITIVE_INFINITY && fromV == Double.POSITIVE_INFINITY)
+                    || (toV != Double.POSITIVE_INFINITY && toS == Double.POSITIVE_INFINITY)) {
+                fromSource = Double.POSITIVE_INFINITY;
+            } else {
+                if (fromS != Double.POSITIVE_INFINITY) fromSource = Math.max(fromSource, fromV - fromS);
+                if (toV != Double.POSITIVE_INFINITY) fromSource = Math.max(fromSource, toS - toV);
+            }
+        }
+        bounds[0] = toTarget;
+        bounds[1] = fromSource;
+    }
+
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    // True if the index was built for exactly this graph view
+    public boolean matches(CSRGraph csr) {
+        return fingerprint == fingerprint(csr);
+    }
+
+    /**
+     * Hash over vertex count, active threshold and every visible edge (target and score), so any change
+     * to the graph or its threshold view produces a different fingerprint.
+     */
+    static long fingerprint(CSRGraph csr) {
+        int[] offsets = csr.offsets();
+        int[] rowEnds = csr.rowEnds();
+        int[] targets = csr.targets();
+        float[] scores = csr.scores();
+        int vertexCount = csr.getVertexCount();
+
+        long h = 1125899906842597L;
+        h = 31 * h + vertexCount;
+        h = 31 * h + Double.doubleToLongBits(csr.getActiveThreshold());
+        for (int u = 0; u < vertexCount; u++) {
+            h = 31 * h + (rowEnds[u] - offsets[u]);
+            for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                h = 31 * h + targets[i];
+                h = 31 * h + Float.floatToIntBits(scores[i]);
+            }
+        }
+        return h;
+    }
+
+    // --- Persistence ---
+
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fingerprint);
+            int vertexCount = landmarks.length == 0 ? 0 : fromLandmark.length / landmarks.length;
+            out.writeInt(vertexCount);
+            out.writeInt(landmarks.length);
+            for (int landmark : landmarks) out.writeInt(landmark);
+            for (double d : fromLandmark) out.writeDouble(d);
+            for (double d : toLandmark) out.writeDouble(d);
+        }
+    }
+
+    /**
+     * Loads an index saved for this graph view.
+     * @return null if the file belongs to a different graph or threshold (stale index).
+     * @throws IOException if the file is not a landmark index or is truncated.
+     */
+    public static LandmarkIndex load(Path file, CSRGraph csr) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a landmark index: " + file);
+            int version = in.readInt();
+            if (version != VERSION) throw new IOException("Unsupported landmark index version: " + version);
+
+            long storedFingerprint = in.readLong();
+            int vertexCount = in.readInt();
+            if (vertexCount != csr.getVertexCount() || storedFingerprint != fingerprint(csr)) {
+                return null;
+            }
+
+            int k = in.readInt();
+            int[] landmarks = new int[k];
+            double[] from = new double[vertexCount * k];
+            double[] to = new double[vertexCount * k];
+            for (int l = 0; l < k; l++) landmarks[l] = in.readInt();
+            for (int i = 0; i < from.length; i++) from[i] = in.readDouble();
+            for (int i = 0; i < to.length; i++) to[i] = in.readDouble();
+            return new LandmarkIndex(landmarks, from, to, storedFingerprint);
+        }
+    }
+}
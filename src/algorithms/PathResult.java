@@ -0,0 +1,49 @@
+package algorithms;
+
+import graph.Protein;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a most-confident-path query: the proteins on the path, the score of every hop,
+ * the product confidence and how many nodes the search settled.
+ */
+public class PathResult {
+
+    private final List<Protein> path;
+    private final double[] hopScores;
+    private final double confidence;
+    private final int settledNodes;
+
+    public PathResult(List<Protein> path, double[] hopScores, double confidence, int settledNodes) {
+        this.path = Collections.unmodifiableList(path);
+        this.hopScores = hopScores;
+        this.confidence = confidence;
+        this.settledNodes = settledNodes;
+    }
+
+    // Result for unreachable targets
+    public static PathResult notFound(int settledNodes) {
+        return new PathResult(Collections.emptyList(), new double[0], 0.0, settledNodes);
+    }
+
+    public boolean isFound() { return !path.isEmpty(); }
+    public List<Protein> getPath() { return path; }
+    public double[] getHopScores() { return hopScores.clone(); }
+    public double getConfidence() { return confidence; }
+    public int getSettledNodes() { return settledNodes; }
+    public int getHopCount() { return hopScores.length; }
+
+    @Override
+    public String toString() {
+        if (!isFound()) return "No path (settled " + settledNodes + ")";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0) sb.append(" -[").append(String.format("%.3f", hopScores[i - 1])).append("]-> ");
+            sb.append(path.get(i).getId());
+        }
+        sb.append(" (confidence ").append(String.format("%.4f", confidence)).append(')');
+        return sb.toString();
+    }
+}
@@ -1,11 +1,21 @@
 package algorithms;
 
 import graph.*;
-import java.util.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class ProteinBFS {
 
     public void traverse(Graph graph, String startProteinId) {
+        traverse(graph, startProteinId, GraphTraversal.UNLIMITED, GraphTraversal.UNLIMITED, null);
+    }
+
+    /**
+     * Streams the BFS order through a buffered sink: to the console as before, or to outputFile
+     * (one "protein, depth, parent" line per protein) when it is not null.
+     */
+    public void traverse(Graph graph, String startProteinId, int maxDepth, int maxNodes, Path outputFile) {
         Protein startNode = graph.searchProtein(startProteinId);
 
         if (startNode == null) {
@@ -15,37 +25,51 @@ public class ProteinBFS {
 
         System.out.println("DEBUG: Starting BFS from " + startNode.getId());
 
-        // Optimization: Pre-process edges
-        Map<Protein, List<Protein>> adjMap = new HashMap<>();
-        for (Edge e : graph.getEdges()) {
-            adjMap.putIfAbsent(e.getSource(), new ArrayList<>());
-            adjMap.get(e.getSource()).add(e.getDestination());
+        GraphTraversal traversal = new GraphTraversal(graph);
+        CSRGraph csr = traversal.getGraph();
+        int start = csr.indexOf(startNode);
+
+        long begin = System.nanoTime();
+        int count;
+        try (TraversalSink sink = outputFile == null ? TraversalSink.console(csr) : TraversalSink.file(csr, outputFile)) {
+            if (outputFile == null) sink.write("BFS Output: ");
+            count = traversal.bfs(start, maxDepth, maxNodes, sink);
+            if (outputFile == null) sink.write("END" + System.lineSeparator());
+        } catch (IOException e) {
+            System.err.println("BFS output could not be written: " + e.getMessage());
+            return;
         }
+        long elapsed = System.nanoTime() - begin;
 
-        Set<Protein> visited = new HashSet<>();
-        Queue<Protein> queue = new LinkedList<>();
+        if (outputFile != null) {
+            System.out.println("BFS output written to " + outputFile);
+        }
+        System.out.println("DEBUG: BFS visited " + count + " proteins in "
+                + String.format("%.2f", elapsed / 1_000_000.0) + " ms.");
+    }
 
-        visited.add(startNode);
-        queue.add(startNode);
+    // Hop-distance summary: how many proteins are reachable within each number of hops
+    public void printLevels(Graph graph, String startProteinId) {
+        Protein startNode = graph.searchProtein(startProteinId);
 
-        System.out.print("BFS Output: ");
-        int count = 0;
+        if (startNode == null) {
+            System.out.println("DEBUG: Start protein (" + startProteinId + ") not found!");
+            return;
+        }
 
-        while (!queue.isEmpty()) {
-            Protein current = queue.poll();
-            System.out.print(current.getId() + " -> ");
-            count++;
+        GraphTraversal traversal = new GraphTraversal(graph);
+        long begin = System.nanoTime();
+        BfsLevels levels = traversal.levels(traversal.getGraph().indexOf(startNode), GraphTraversal.UNLIMITED);
+        long elapsed = System.nanoTime() - begin;
 
-            if (adjMap.containsKey(current)) {
-                for (Protein neighbor : adjMap.get(current)) {
-                    if (!visited.contains(neighbor)) {
-                        visited.add(neighbor);
-                        queue.add(neighbor);
-                    }
-                }
-            }
+        System.out.println("Hop-Distance Levels from " + startNode.getId() + ":");
+        int cumulative = 0;
+        for (int d = 0; d <= levels.getEccentricity(); d++) {
+            cumulative += levels.getLevelCount(d);
+            System.out.println("  Hop " + d + ": " + levels.getLevelCount(d) + " proteins (total " + cumulative + ")");
         }
-        System.out.println("END");
-        System.out.println("DEBUG: BFS visited " + count + " proteins.");
+        System.out.println("DEBUG: Parallel BFS reached " + levels.getReachedCount() + " proteins in "
+                + String.format("%.2f", elapsed / 1_000_000.0) + " ms (" + levels.getTopDownSteps() + " top-down, "
+                + levels.getBottomUpSteps() + " bottom-up levels).");
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,21 @@
 package algorithms;
 
 import graph.*;
-import java.util.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 public class ProteinDFS {
 
     public void traverse(Graph graph, String startProteinId) {
+        traverse(graph, startProteinId, GraphTraversal.UNLIMITED, GraphTraversal.UNLIMITED, null);
+    }
+
+    /**
+     * Streams the DFS order through a buffered sink: to the console as before, or to outputFile
+     * (one "protein, depth, parent" line per protein) when it is not null.
+     */
+    public void traverse(Graph graph, String startProteinId, int maxDepth, int maxNodes, Path outputFile) {
         Protein startNode = graph.searchProtein(startProteinId);
 
         if (startNode == null) {
@@ -15,44 +25,26 @@ public class ProteinDFS {
 
         System.out.println("DEBUG: Starting DFS from " + startNode.getId());
 
-        // Optimization: Pre-process edges
-        Map<Protein, List<Protein>> adjMap = new HashMap<>();
-        for (Edge e : graph.getEdges()) {
-            adjMap.putIfAbsent(e.getSource(), new ArrayList<>());
-            adjMap.get(e.getSource()).add(e.getDestination());
+        GraphTraversal traversal = new GraphTraversal(graph);
+        CSRGraph csr = traversal.getGraph();
+        int start = csr.indexOf(startNode);
+
+        long begin = System.nanoTime();
+        int count;
+        try (TraversalSink sink = outputFile == null ? TraversalSink.console(csr) : TraversalSink.file(csr, outputFile)) {
+            if (outputFile == null) sink.write("DFS Output: ");
+            count = traversal.dfs(start, maxDepth, maxNodes, sink);
+            if (outputFile == null) sink.write("END" + System.lineSeparator());
+        } catch (IOException e) {
+            System.err.println("DFS output could not be written: " + e.getMessage());
+            return;
         }
+        long elapsed = System.nanoTime() - begin;
 
-        Set<Protein> visited = new HashSet<>();
-        Stack<Protein> stack = new Stack<>();
-
-        stack.push(startNode);
-
-        System.out.print("DFS Output: ");
-        int count = 0;
-
-        while (!stack.isEmpty()) {
-            Protein current = stack.pop();
-
-            if (!visited.contains(current)) {
-                visited.add(current);
-                System.out.print(current.getId() + " -> ");
-                count++;
-
-                if (adjMap.containsKey(current)) {
-                    List<Protein> neighbors = adjMap.get(current);
-                    // Push neighbors to stack (reverse order)
-                    if (neighbors != null) {
-                        for (int i = neighbors.size() - 1; i >= 0; i--) {
-                            Protein v = neighbors.get(i);
-                            if (!visited.contains(v)) {
-                                stack.push(v);
-                            }
-                        }
-                    }
-                }
-            }
+        if (outputFile != null) {
+            System.out.println("DFS output written to " + outputFile);
         }
-        System.out.println("END");
-        System.out.println("DEBUG: DFS visited " + count + " proteins.");
+        System.out.println("DEBUG: DFS visited " + count + " proteins in "
+                + String.format("%.2f", elapsed / 1_000_000.0) + " ms.");
     }
-}
\ No newline at end of file
+}
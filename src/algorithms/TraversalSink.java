@@ -0,0 +1,92 @@
+package algorithms;
+
+import graph.CSRGraph;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * TraversalVisitor that writes visited proteins through a large BufferedWriter instead of one
+ * System.out.print per protein.
+ *
+ * - console(): the classic "id -> id -> ... " line on standard output (flushed, never closed)
+ * - file(): one tab-separated line per protein: id, depth, parent id ("-" for the start protein)
+ */
+public class TraversalSink implements TraversalVisitor, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final CSRGraph graph;
+    private final BufferedWriter out;
+    private final boolean tabular;
+    private final boolean closeUnderlying;
+    private int written;
+
+    private TraversalSink(CSRGraph graph, Writer writer, boolean tabular, boolean closeUnderlying) {
+        this.graph = graph;
+        this.out = new BufferedWriter(writer, BUFFER_SIZE);
+        this.tabular = tabular;
+        this.closeUnderlying = closeUnderlying;
+    }
+
+    public static TraversalSink console(CSRGraph graph) {
+        return new TraversalSink(graph, new OutputStreamWriter(System.out), false, false);
+    }
+
+    public static TraversalSink file(CSRGraph graph, Path path) throws IOException {
+        TraversalSink sink = new TraversalSink(graph, Files.newBufferedWriter(path, StandardCharsets.UTF_8), true, true);
+        sink.out.write("protein\tdepth\tparent");
+        sink.out.newLine();
+        return sink;
+    }
+
+    @Override
+    public boolean visit(int protein, int depth, int parent) {
+        try {
+            if (tabular) {
+                out.write(graph.getProtein(protein).getId());
+                out.write('\t');
+                out.write(Integer.toString(depth));
+                out.write('\t');
+                out.write(parent < 0 ? "-" : graph.getProtein(parent).getId());
+                out.newLine();
+            } else {
+                out.write(graph.getProtein(protein).getId());
+                out.write(" -> ");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        written++;
+        return true;
+    }
+
+    // Writes raw text into the same buffer (e.g. the "BFS Output: " prefix and "END")
+    public void write(String text) throws IOException {
+        out.write(text);
+    }
+
+    public int getWrittenCount() {
+        return written;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closeUnderlying) {
+            out.close();
+        } else {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package algorithms;
+
+import graph.CSRGraph;
+import graph.Protein;
+
+/**
+ * One visited protein as returned by the lazy traversal iterators.
+ */
+public class TraversalStep {
+
+    private final CSRGraph graph;
+    private final int protein;
+    private final int depth;
+    private final int parent;
+
+    TraversalStep(CSRGraph graph, int protein, int depth, int parent) {
+        this.graph = graph;
+        this.protein = protein;
+        this.depth = depth;
+        this.parent = parent;
+    }
+
+    public int getIndex() { return protein; }
+    public int getDepth() { return depth; }
+    public int getParentIndex() { return parent; }
+
+    public Protein getProtein() { return graph.getProtein(protein); }
+
+    // null for the start protein
+    public Protein getParent() { return parent < 0 ? null : graph.getProtein(parent); }
+
+    @Override
+    public String toString() {
+        return getProtein().getId() + " (depth " + depth + ")";
+    }
+}
@@ -0,0 +1,14 @@
+package algorithms;
+
+/**
+ * Callback for GraphTraversal. Proteins are dense CSR indices of the traversed graph
+ * (use CSRGraph.getProtein to resolve them); the start protein has depth 0 and parent -1.
+ */
+@FunctionalInterface
+public interface TraversalVisitor {
+
+    /**
+     * @return false to stop the traversal early.
+     */
+    boolean visit(int protein, int depth, int parent);
+}
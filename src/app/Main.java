@@ -1,9 +1,21 @@
 package app;
 
+import server.QueryServer;
+import utils.BatchQueryRunner;
 import utils.Menu;
 
 public class Main {
     public static void main(String[] args) {
+        // java app.Main --serve 8080 ... : HTTP/JSON sorgu sunucusu (bkz. QueryServer)
+        if (args.length > 0 && args[0].equals("--serve")) {
+            int status = QueryServer.run(args);
+            if (status != 0) System.exit(status);
+            return; // Sunucu kendi thread'lerinde çalışmaya devam eder
+        }
+        // java app.Main --batch queries.tsv ... : menüsüz toplu sorgu modu (bkz. BatchQueryRunner)
+        if (args.length > 0) {
+            System.exit(BatchQueryRunner.run(args));
+        }
         try {
             Menu appMenu = new Menu();
             appMenu.start();
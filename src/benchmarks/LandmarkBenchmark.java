@@ -0,0 +1,99 @@
+package benchmarks;
+
+import algorithms.ConfidentPathEngine;
+import algorithms.LandmarkIndex;
+import algorithms.PathResult;
+import graph.CSRGraph;
+import utils.PPIGraphLoader;
+
+import java.util.Random;
+
+/**
+ * Compares the plain bidirectional most-confident-path search with the landmark-guided (ALT) search
+ * on the same random query pairs: settled nodes, query time and whether both agree on the confidence.
+ *
+ * Usage: LandmarkBenchmark infoFile linksFile [threshold] [landmarks] [queries] [seed]
+ */
+public class LandmarkBenchmark {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: LandmarkBenchmark infoFile linksFile [threshold] [landmarks] [queries] [seed]");
+            return;
+        }
+        String infoPath = args[0];
+        String linksPath = args[1];
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.4;
+        int landmarkCount = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+        int queries = args.length > 4 ? Integer.parseInt(args[4]) : 1000;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42L;
+
+        CSRGraph graph = PPIGraphLoader.loadGraphParallel(infoPath, linksPath, threshold);
+        if (graph == null || graph.getVertexCount() == 0) {
+            System.err.println("Graph could not be loaded.");
+            return;
+        }
+        System.out.println("Graph: " + graph.getVertexCount() + " proteins, " + graph.getEdgeCount() + " interactions");
+
+        long buildStart = System.nanoTime();
+        LandmarkIndex landmarks = LandmarkIndex.build(graph, landmarkCount);
+        System.out.println("Landmark index: " + landmarks.getLandmarkCount() + " landmarks built in "
+                + millis(System.nanoTime() - buildStart) + " ms");
+
+        int vertexCount = graph.getVertexCount();
+        Random random = new Random(seed);
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            sources[q] = random.nextInt(vertexCount);
+            targets[q] = random.nextInt(vertexCount);
+        }
+
+        ConfidentPathEngine engine = new ConfidentPathEngine(graph);
+
+        // Warm-up so both variants run JIT-compiled code
+        for (int q = 0; q < Math.min(queries, 200); q++) {
+            engine.findPath(sources[q], targets[q]);
+            engine.findPath(sources[q], targets[q], landmarks);
+        }
+
+        long plainSettled = 0;
+        long altSettled = 0;
+        long plainNanos = 0;
+        long altNanos = 0;
+        int found = 0;
+        int mismatches = 0;
+        for (int q = 0; q < queries; q++) {
+            long t0 = System.nanoTime();
+            PathResult plain = engine.findPath(sources[q], targets[q]);
+            long t1 = System.nanoTime();
+            PathResult alt = engine.findPath(sources[q], targets[q], landmarks);
+            long t2 = System.nanoTime();
+
+            plainNanos += t1 - t0;
+            altNanos += t2 - t1;
+            plainSettled += plain.getSettledNodes();
+            altSettled += alt.getSettledNodes();
+            if (plain.isFound()) found++;
+
+            if (plain.isFound() != alt.isFound()
+                    || (plain.isFound() && Math.abs(plain.getConfidence() - alt.getConfidence()) > 1e-9 * plain.getConfidence())) {
+                mismatches++;
+            }
+        }
+
+        System.out.println("Queries: " + queries + " (" + found + " connected pairs)");
+        System.out.println(String.format("Plain bidirectional: %10.1f settled/query %10.3f ms/query",
+                (double) plainSettled / queries, millis(plainNanos) / queries));
+        System.out.println(String.format("Bidirectional ALT:   %10.1f settled/query %10.3f ms/query",
+                (double) altSettled / queries, millis(altNanos) / queries));
+        if (altSettled > 0) {
+            System.out.println(String.format("Settled-node reduction: %.2fx", (double) plainSettled / altSettled));
+        }
+        System.out.println("Confidence mismatches: " + mismatches);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
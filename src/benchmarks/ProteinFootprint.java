@@ -0,0 +1,173 @@
+package benchmarks;
+
+import graph.Protein;
+import graph.ProteinIndex;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Heap footprint of the protein dictionary before and after ID interning, measured on an info file.
+ *
+ * "Before" rebuilds the previous layout: every protein holds its id and name Strings, the CSR graph
+ * maps id -> index with a HashMap<String, Integer> and the loader keeps a HashMap<String, Protein>
+ * next to it. "After" is the current layout: packed long ids in Protein and one primitive-keyed
+ * ProteinIndex. Retained heap is measured after a full GC; lookup time by id string is also reported
+ * (the query Strings are reused, so "before" benefits from their cached hash codes).
+ *
+ * Usage: ProteinFootprint infoFile [lookups]
+ */
+public class ProteinFootprint {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: ProteinFootprint infoFile [lookups]");
+            return;
+        }
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        List<String[]> rows = readInfo(args[0]);
+        String[] queryIds = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) queryIds[i] = new String(rows.get(i)[0]);
+        System.out.println("Proteins: " + rows.size());
+
+        long baseline = usedHeap();
+        LegacyDictionary before = new LegacyDictionary(rows);
+        long beforeBytes = usedHeap() - baseline;
+        long beforeNanos = lookupTime(id -> before.indexOf(id), queryIds, lookups);
+        report("Before (String ids, HashMaps)", beforeBytes, rows.size(), beforeNanos, lookups);
+        before.clear();
+
+        baseline = usedHeap();
+        InternedDictionary after = new InternedDictionary(rows);
+        long afterBytes = usedHeap() - baseline;
+        long afterNanos = lookupTime(id -> after.indexOf(id), queryIds, lookups);
+        report("After  (packed ids, ProteinIndex)", afterBytes, rows.size(), afterNanos, lookups);
+        System.out.println("Unpacked (fallback) ids: " + after.index.getUnpackedCount()
+                + ", ProteinIndex table: " + after.index.memoryBytes() / 1024 + " KB");
+
+        if (beforeBytes > 0) {
+            System.out.println(String.format("Saved: %.1f%% of the dictionary heap", 100.0 * (beforeBytes - afterBytes) / beforeBytes));
+        }
+    }
+
+    private static List<String[]> readInfo(String path) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+            br.readLine(); // header
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] parts = line.split("\t");
+                if (parts.length >= 2) rows.add(new String[]{parts[0].trim(), parts[1].trim()});
+            }
+        }
+        return rows;
+    }
+
+    private interface Lookup {
+        int indexOf(String id);
+    }
+
+    private static long lookupTime(Lookup lookup, String[] ids, int count) {
+        long checksum = 0;
+        // Warm-up
+        for (int i = 0; i < Math.min(count, 1_000_000); i++) checksum += lookup.indexOf(ids[i % ids.length]);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) checksum += lookup.indexOf(ids[i % ids.length]);
+        long nanos = System.nanoTime() - start;
+        if (checksum == 42) System.out.print(""); // keep the loop alive
+        return nanos;
+    }
+
+    private static void report(String label, long bytes, int proteins, long nanos, int lookups) {
+        System.out.println(label + ": " + String.format("%.2f", bytes / (1024.0 * 1024.0)) + " MB ("
+                + (proteins == 0 ? 0 : bytes / proteins) + " bytes/protein), lookup by id "
+                + String.format("%.1f", (double) nanos / Math.max(1, lookups)) + " ns");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // The previous Protein: id and name Strings, hashCode through varargs Objects.hash
+    private static class LegacyProtein {
+        private final String id;
+        private final String name;
+
+        LegacyProtein(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LegacyProtein && Objects.equals(id, ((LegacyProtein) o).id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id);
+        }
+    }
+
+    private static class LegacyDictionary {
+        private List<LegacyProtein> proteins = new ArrayList<>();
+        private Map<String, Integer> indexById = new HashMap<>();
+        private Map<String, LegacyProtein> tempProteinMap = new HashMap<>();
+
+        LegacyDictionary(List<String[]> rows) {
+            for (String[] row : rows) {
+                // Separate String instances per line, as the loader's split() produced them
+                LegacyProtein p = new LegacyProtein(new String(row[0]), new String(row[1]));
+                if (!indexById.containsKey(p.id)) {
+                    indexById.put(p.id, proteins.size());
+                    proteins.add(p);
+                }
+                tempProteinMap.put(p.id, p);
+            }
+        }
+
+        int indexOf(String id) {
+            Integer index = indexById.get(id);
+            return index == null ? -1 : index;
+        }
+
+        void clear() {
+            proteins = null;
+            indexById = null;
+            tempProteinMap = null;
+        }
+    }
+
+    private static class InternedDictionary {
+        private final List<Protein> proteins = new ArrayList<>();
+        private final ProteinIndex index;
+
+        InternedDictionary(List<String[]> rows) {
+            index = new ProteinIndex(rows.size());
+            for (String[] row : rows) {
+                Protein p = new Protein(new String(row[0]), new String(row[1]));
+                if (index.putIfAbsent(p, proteins.size()) < 0) proteins.add(p);
+            }
+        }
+
+        int indexOf(String id) {
+            return index.get(id);
+        }
+    }
+}
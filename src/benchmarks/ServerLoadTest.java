@@ -0,0 +1,209 @@
+package benchmarks;
+
+import graph.CSRGraph;
+import graph.Protein;
+import server.QueryServer;
+import utils.ProteinSearchIndex;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Load generator for QueryServer: builds a synthetic graph, starts the server on a free loopback port
+ * and lets closed-loop client threads send a mixed workload (interaction checks, neighbors, search,
+ * paths, traversals) for a fixed time. Reports sustained requests/sec and latency percentiles,
+ * overall and per endpoint, measured after a warm-up period.
+ *
+ * Usage: ServerLoadTest [proteins] [avgDegree] [clients] [seconds] [seed]
+ */
+public class ServerLoadTest {
+
+    private static final String[] ENDPOINTS = {"interaction", "neighbors", "search", "path", "traverse"};
+    // Share of each endpoint in the request mix (percent, same order as ENDPOINTS)
+    private static final int[] MIX = {40, 20, 20, 15, 5};
+    private static final long WARMUP_NANOS = 3_000_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int proteinCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int avgDegree = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42L;
+
+        long buildStart = System.nanoTime();
+        CSRGraph graph = syntheticGraph(proteinCount, avgDegree, seed);
+        ProteinSearchIndex searchIndex = ProteinSearchIndex.build(graph, null);
+        System.out.println("Synthetic graph: " + graph.getVertexCount() + " proteins, " + graph.getEdgeCount()
+                + " interactions in " + (System.nanoTime() - buildStart) / 1_000_000 + " ms");
+
+        QueryServer server = new QueryServer(graph, searchIndex, QueryServer.DEFAULT_MAX_NODES,
+                2 * Runtime.getRuntime().availableProcessors());
+        server.start(0, 4 * Runtime.getRuntime().availableProcessors());
+        String base = "http://127.0.0.1:" + server.getPort();
+        System.out.println("Server on " + base + " (" + (server.usesVirtualThreads() ? "virtual threads" : "thread pool")
+                + "), " + clients + " clients for " + seconds + " s after " + WARMUP_NANOS / 1_000_000_000L + " s warm-up");
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long measureStart = System.nanoTime() + WARMUP_NANOS;
+        long deadline = measureStart + seconds * 1_000_000_000L;
+        List<Client> workers = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            Client client = new Client(http, base, proteinCount, seed + 1 + c, measureStart, deadline);
+            workers.add(client);
+            client.start();
+        }
+        for (Client client : workers) client.join();
+        server.stop();
+
+        report(workers, seconds);
+    }
+
+    // Power-law-like degrees: targets are drawn with a bias towards low indices, as hubs in STRING
+    static CSRGraph syntheticGraph(int proteinCount, int avgDegree, long seed) {
+        Random random = new Random(seed);
+        CSRGraph graph = new CSRGraph();
+        List<Protein> proteins = new ArrayList<>(proteinCount);
+        for (int i = 0; i < proteinCount; i++) {
+            Protein p = new Protein(String.format("9606.ENSP%011d", i), "GENE" + i);
+            proteins.add(p);
+            graph.addVertex(p);
+        }
+        long edges = (long) proteinCount * avgDegree;
+        for (long e = 0; e < edges; e++) {
+            int source = random.nextInt(proteinCount);
+            double r = random.nextDouble();
+            int target = (int) (r * r * proteinCount);
+            if (source == target) continue;
+            graph.addEdge(proteins.get(source), proteins.get(target), (150 + random.nextInt(850)) / 1000.0);
+        }
+        graph.offsets(); // compact before the server snapshots the arrays
+        return graph;
+    }
+
+    private static void report(List<Client> workers, int seconds) {
+        long[][] perEndpoint = new long[ENDPOINTS.length][];
+        TreeMap<Integer, Integer> statuses = new TreeMap<>();
+        int errors = 0;
+        for (int e = 0; e < ENDPOINTS.length; e++) {
+            int total = 0;
+            for (Client client : workers) total += client.counts[e];
+            perEndpoint[e] = new long[total];
+            int pos = 0;
+            for (Client client : workers) {
+                System.arraycopy(client.latencies[e], 0, perEndpoint[e], pos, client.counts[e]);
+                pos += client.counts[e];
+            }
+            Arrays.sort(perEndpoint[e]);
+        }
+        for (Client client : workers) {
+            errors += client.errors;
+            client.statuses.forEach((status, count) -> statuses.merge(status, count, Integer::sum));
+        }
+
+        long[] all = Arrays.stream(perEndpoint).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.println(String.format("Sustained: %.0f requests/sec (%d requests, %d transport errors, statuses %s)",
+                all.length / (double) seconds, all.length, errors, statuses));
+        System.out.println(String.format("  %-12s %8s %10s %10s %10s %10s", "endpoint", "count", "p50 ms", "p90 ms",
+                "p99 ms", "max ms"));
+        print("all", all);
+        for (int e = 0; e < ENDPOINTS.length; e++) print(ENDPOINTS[e], perEndpoint[e]);
+    }
+
+    private static void print(String label, long[] sorted) {
+        if (sorted.length == 0) return;
+        System.out.println(String.format("  %-12s %8d %10.3f %10.3f %10.3f %10.3f", label, sorted.length,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted[sorted.length - 1] / 1e6));
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    // Closed-loop client: sends the next request as soon as the previous response arrived
+    private static class Client extends Thread {
+        private final HttpClient http;
+        private final String base;
+        private final int proteinCount;
+        private final Random random;
+        private final long measureStart;
+        private final long deadline;
+
+        final long[][] latencies = new long[ENDPOINTS.length][1024];
+        final int[] counts = new int[ENDPOINTS.length];
+        final TreeMap<Integer, Integer> statuses = new TreeMap<>();
+        int errors;
+
+        Client(HttpClient http, String base, int proteinCount, long seed, long measureStart, long deadline) {
+            super("load-client");
+            this.http = http;
+            this.base = base;
+            this.proteinCount = proteinCount;
+            this.random = new Random(seed);
+            this.measureStart = measureStart;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            long now;
+            while ((now = System.nanoTime()) < deadline) {
+                int endpoint = pickEndpoint();
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + path(endpoint)))
+                        .timeout(Duration.ofSeconds(30)).GET().build();
+                try {
+                    HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    long end = System.nanoTime();
+                    if (now < measureStart) continue;
+                    statuses.merge(response.statusCode(), 1, Integer::sum);
+                    record(endpoint, end - now);
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) return;
+                    if (now >= measureStart) errors++;
+                }
+            }
+        }
+
+        private int pickEndpoint() {
+            int roll = random.nextInt(100);
+            for (int e = 0; e < MIX.length; e++) {
+                if (roll < MIX[e]) return e;
+                roll -= MIX[e];
+            }
+            return 0;
+        }
+
+        private String id() {
+            return String.format("9606.ENSP%011d", random.nextInt(proteinCount));
+        }
+
+        private String path(int endpoint) {
+            switch (ENDPOINTS[endpoint]) {
+                case "interaction": return "/interaction?source=" + id() + "&target=" + id();
+                case "neighbors": return "/neighbors?id=" + id() + "&limit=50";
+                case "search": return "/search?q=gene" + random.nextInt(proteinCount / 10 + 1) + "&limit=10";
+                case "path": return "/path?source=" + id() + "&target=" + id();
+                default: return "/traverse?id=" + id() + "&type=" + (random.nextBoolean() ? "bfs" : "dfs") + "&maxDepth=2&maxNodes=200";
+            }
+        }
+
+        private void record(int endpoint, long nanos) {
+            if (counts[endpoint] == latencies[endpoint].length) {
+                latencies[endpoint] = Arrays.copyOf(latencies[endpoint], counts[endpoint] * 2);
+            }
+            latencies[endpoint][counts[endpoint]++] = nanos;
+        }
+    }
+}
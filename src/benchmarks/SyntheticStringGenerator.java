@@ -0,0 +1,277 @@
+package benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Deterministic generator for STRING-like protein.info / protein.links files, for benchmarks at
+ * controlled sizes (1k to 20k proteins, up to ~13M link lines like the human network).
+ *
+ * - Ids follow STRING's "taxon.ENSPnnnnnnnnnnn" form, increasing with random gaps; files are sorted by
+ *   protein1 as STRING's are.
+ * - Degrees are power-law distributed (Chung-Lu model: endpoints are drawn proportionally to weights
+ *   w_i = (i + 1)^(-1 / (gamma - 1)), so a few hubs collect most partners).
+ * - STRING lists every interaction in both directions with the same score; the reciprocity parameter is the
+ *   share of pairs written both ways (1.0 = exactly like STRING), the rest get one random direction.
+ * - combined_score is in [150, 999] and skewed towards the low end (most STRING links are low-confidence).
+ *
+ * The same (proteins, links, reciprocity, seed) always produces byte-identical files. Paths ending in
+ * ".gz" are written gzip-compressed.
+ *
+ * Usage: SyntheticStringGenerator outputDir proteins links [seed] [reciprocity]
+ */
+public class SyntheticStringGenerator {
+
+    public static final int TAXON = 9606;
+    private static final double GAMMA = 2.3;
+    private static final int MIN_SCORE = 150;
+    private static final int MAX_SCORE = 999;
+
+    private final int proteinCount;
+    private final long linkCount;
+    private final double reciprocity;
+    private final long seed;
+    private final long[] idNumbers;
+
+    /**
+     * @param linkCount   number of lines in the links file (directed edges)
+     * @param reciprocity share of interactions listed in both directions, 0.0 - 1.0
+     */
+    public SyntheticStringGenerator(int proteinCount, long linkCount, double reciprocity, long seed) {
+        if (proteinCount < 2) throw new IllegalArgumentException("At least 2 proteins are needed");
+        if (reciprocity < 0.0 || reciprocity > 1.0) throw new IllegalArgumentException("Reciprocity must be between 0 and 1");
+        this.proteinCount = proteinCount;
+        this.linkCount = linkCount;
+        this.reciprocity = reciprocity;
+        this.seed = seed;
+
+        // Increasing Ensembl numbers with random gaps, as in a real release
+        SplittableRandom random = new SplittableRandom(seed);
+        this.idNumbers = new long[proteinCount];
+        long number = 200 + random.nextInt(100);
+        for (int i = 0; i < proteinCount; i++) {
+            idNumbers[i] = number;
+            number += 1 + random.nextInt(40);
+        }
+    }
+
+    public String idOf(int protein) {
+        return TAXON + ".ENSP" + pad(idNumbers[protein]);
+    }
+
+    public String nameOf(int protein) {
+        return "SYN" + protein;
+    }
+
+    public void writeInfo(Path file) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x1F0L);
+        try (OutputStream out = open(file)) {
+            write(out, "#string_protein_id\tpreferred_name\tprotein_size\tannotation\n");
+            StringBuilder line = new StringBuilder(128);
+            for (int i = 0; i < proteinCount; i++) {
+                line.setLength(0);
+                line.append(idOf(i)).append('\t').append(nameOf(i)).append('\t').append(50 + random.nextInt(2000))
+                        .append('\t').append("Synthetic protein ").append(i).append(";\n");
+                write(out, line);
+            }
+        }
+    }
+
+    /**
+     * Writes the links file and returns the number of lines written (can be lower than requested when the
+     * protein count cannot hold that many distinct pairs).
+     */
+    public long writeLinks(Path file) throws IOException {
+        long[] pairs = samplePairs();
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5EEDL);
+
+        // Each pair becomes one or two directed lines; (source << 32 | target) sorts by protein1, then protein2
+        long[] lines = new long[(int) Math.min(Integer.MAX_VALUE - 8, 2L * pairs.length)];
+        int count = 0;
+        for (long pair : pairs) {
+            int a = (int) (pair >>> 32);
+            int b = (int) pair;
+            if (random.nextDouble() < reciprocity) {
+                lines[count++] = pack(a, b);
+                lines[count++] = pack(b, a);
+            } else if (random.nextBoolean()) {
+                lines[count++] = pack(a, b);
+            } else {
+                lines[count++] = pack(b, a);
+            }
+        }
+        lines = Arrays.copyOf(lines, count);
+        Arrays.parallelSort(lines);
+
+        try (OutputStream out = open(file)) {
+            write(out, "protein1 protein2 combined_score\n");
+            StringBuilder line = new StringBuilder(64);
+            for (long edge : lines) {
+                int source = (int) (edge >>> 32);
+                int target = (int) edge;
+                line.setLength(0);
+                line.append(idOf(source)).append(' ').append(idOf(target)).append(' ')
+                        .append(score(Math.min(source, target), Math.max(source, target))).append('\n');
+                write(out, line);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Distinct unordered pairs (a < b, packed as a << 32 | b) drawn with Chung-Lu endpoint weights.
+     */
+    private long[] samplePairs() {
+        long maxPairs = (long) proteinCount * (proteinCount - 1) / 2;
+        // pairs * (1 + reciprocity) lines are written on average
+        long wanted = Math.round(linkCount / (1.0 + reciprocity));
+        if (wanted > maxPairs / 2) {
+            System.err.println("DEBUG: " + proteinCount + " proteins cannot hold " + linkCount
+                    + " sparse links, generating " + maxPairs / 2 + " pairs instead");
+            wanted = maxPairs / 2;
+        }
+
+        double[] weights = new double[proteinCount];
+        double total = 0;
+        for (int i = 0; i < proteinCount; i++) {
+            weights[i] = Math.pow(i + 1, -1.0 / (GAMMA - 1.0));
+            total += weights[i];
+        }
+        // In dense networks the top hubs would expect more partners than there are proteins; their weights are
+        // clamped so the expected degree 2 * pairs * w / total stays below half the proteins (STRING's largest
+        // human hubs reach about half). Clamping lowers the total, so it is repeated a few times.
+        for (int round = 0; round < 8; round++) {
+            double cap = 0.5 * (proteinCount - 1) * total / (2.0 * wanted);
+            double clamped = 0;
+            for (int i = 0; i < proteinCount; i++) {
+                weights[i] = Math.min(weights[i], cap);
+                clamped += weights[i];
+            }
+            total = clamped;
+        }
+        double[] cumulative = new double[proteinCount];
+        double running = 0;
+        for (int i = 0; i < proteinCount; i++) {
+            running += weights[i];
+            cumulative[i] = running;
+        }
+        total = running;
+
+        // Hubs are shuffled over the id range so that degree does not follow file order
+        int[] permutation = new int[proteinCount];
+        SplittableRandom random = new SplittableRandom(seed ^ 0x9A1L);
+        for (int i = 0; i < proteinCount; i++) permutation[i] = i;
+        for (int i = proteinCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = t;
+        }
+
+        LongSet seen = new LongSet((int) wanted);
+        long[] pairs = new long[(int) wanted];
+        int count = 0;
+        long attempts = 0;
+        long maxAttempts = 50 * wanted + 1000;
+        while (count < wanted && attempts++ < maxAttempts) {
+            int a = permutation[draw(cumulative, total, random)];
+            int b = permutation[draw(cumulative, total, random)];
+            if (a == b) continue;
+            long pair = pack(Math.min(a, b), Math.max(a, b));
+            if (seen.add(pair)) pairs[count++] = pair;
+        }
+        if (count < wanted) {
+            System.err.println("DEBUG: Degree distribution saturated, generated " + count + " of " + wanted + " pairs");
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    private static int draw(double[] cumulative, double total, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+        return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    // Same score in both directions, derived from the pair so it does not need to be stored
+    private int score(int a, int b) {
+        long h = (pack(a, b) ^ seed) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        double u = (h >>> 11) * 0x1.0p-53;
+        return MIN_SCORE + (int) ((MAX_SCORE - MIN_SCORE + 1) * Math.pow(u, 2.5));
+    }
+
+    private static long pack(int a, int b) {
+        return ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+
+    private static String pad(long number) {
+        String digits = Long.toString(number);
+        return "00000000000".substring(Math.min(11, digits.length())) + digits;
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (file.toString().endsWith(".gz")) out = new GZIPOutputStream(out, 1 << 16);
+        return new BufferedOutputStream(out, 1 << 20);
+    }
+
+    private static void write(OutputStream out, CharSequence text) throws IOException {
+        // Ids, names and numbers are ASCII
+        out.write(text.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Open-addressing set of non-negative longs (pairs are never -1)
+    private static final class LongSet {
+        private final long[] keys;
+        private final int mask;
+
+        LongSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+            this.keys = new long[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(keys, -1L);
+        }
+
+        boolean add(long key) {
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+            while (keys[slot] != -1L) {
+                if (keys[slot] == key) return false;
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            return true;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: SyntheticStringGenerator outputDir proteins links [seed] [reciprocity]");
+            return;
+        }
+        Path dir = Paths.get(args[0]);
+        int proteins = Integer.parseInt(args[1]);
+        long links = Long.parseLong(args[2]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+        double reciprocity = args.length > 4 ? Double.parseDouble(args[4]) : 1.0;
+
+        Files.createDirectories(dir);
+        SyntheticStringGenerator generator = new SyntheticStringGenerator(proteins, links, reciprocity, seed);
+        Path info = dir.resolve(TAXON + ".protein.info.synthetic-" + proteins + ".txt");
+        Path linksFile = dir.resolve(TAXON + ".protein.links.synthetic-" + proteins + ".txt");
+
+        long start = System.nanoTime();
+        generator.writeInfo(info);
+        long written = generator.writeLinks(linksFile);
+        System.out.println("Wrote " + proteins + " proteins to " + info + " and " + written + " links to " + linksFile
+                + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
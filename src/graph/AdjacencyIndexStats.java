@@ -0,0 +1,49 @@
+package graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Komşuluk index'i (CSR satırları, edge set ve transpose) oluşturma sayaçları.
+ * Oluşturma sayısı ve toplam süre tutulur; uzun çalışan modlarda (server, registry, delta) bellek büyümesin diye
+ * sadece son RECENT_BUILDS oluşturmanın ayrıntısı saklanır. Kütüphane kodu çıktı basmaz, özeti Menu gösterir.
+ */
+public final class AdjacencyIndexStats {
+
+    static final int RECENT_BUILDS = 16;
+
+    private static final ArrayDeque<String> recent = new ArrayDeque<>(RECENT_BUILDS);
+    private static long buildCount;
+    private static long totalNanos;
+
+    private AdjacencyIndexStats() {
+    }
+
+    // Bir index oluşturmasını kaydeder (kind: "adjacency", "edge set" veya "transpose").
+    static synchronized void record(String kind, int vertexCount, int edgeCount, long nanos) {
+        buildCount++;
+        totalNanos += nanos;
+        if (recent.size() == RECENT_BUILDS) recent.removeFirst();
+        recent.addLast(kind + " #" + buildCount + ": " + vertexCount + " proteins, " + edgeCount
+                + " interactions in " + String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0) + " ms");
+    }
+
+    public static synchronized long getBuildCount() {
+        return buildCount;
+    }
+
+    public static synchronized double getTotalBuildMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    // Son RECENT_BUILDS oluşturma (eskiden yeniye).
+    public static synchronized List<String> getRecentBuilds() {
+        return new ArrayList<>(recent);
+    }
+
+    public static synchronized String summary() {
+        return buildCount + " index builds, " + String.format(Locale.ROOT, "%.2f", totalNanos / 1_000_000.0) + " ms total";
+    }
+}
@@ -0,0 +1,959 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Bu sınıf, Graph interface'ini "Compressed Sparse Row" (CSR) veri yapısı kullanarak implemente eder.
+ * Her proteine yükleme sırasında yoğun (dense) bir int ID atanır ve çıkan kenarlar üç primitive dizide tutulur:
+ * offsets[u] .. rowEnds[u] aralığı, u düğümünün targets[] ve scores[] içindeki satırıdır (row).
+ * Komşu gezme O(degree) sürer ve herhangi bir nesne üretmez (allocation-free).
+ *
+ * Her satır combined_score'a göre azalan sırada tutulur. Bu sayede bir threshold, satır başına bir
+ * prefix uzunluğuna dönüşür: withThreshold() aynı dizileri paylaşan, sadece rowEnds[] farklı olan
+ * read-only bir görünüm (Threshold View) döndürür.
+ */
+public class CSRGraph implements Graph {
+
+    // Index -> Protein eşlemesi. Proteinin index'i bu listedeki sırasıdır.
+    private final List<Protein> proteins;
+
+    // ID -> Index eşlemesi (Search Operation için O(1)); paketlenmiş long ID'ler üzerinden çalışır.
+    private final ProteinIndex indexById;
+
+    // Threshold görünümleri read-only'dir; kenar/vertex eklenemez.
+    private final boolean readOnly;
+    private final double activeThreshold;
+
+    // Henüz CSR'a sıkıştırılmamış (pending) kenarlar. addEdge buraya ekler.
+    private int[] pendingSources;
+    private int[] pendingTargets;
+    private float[] pendingScores;
+    private int pendingCount;
+
+    // Sıkıştırılmış CSR satırları. Her sıkıştırmada yeni diziler oluşturulur, eski diziler değiştirilmez.
+    // offsets[u + 1] satırın fiziksel sonu, rowEnds[u] ise aktif threshold'a göre görünen sonudur.
+    private int[] offsets;
+    private int[] rowEnds;
+    private int[] targets;
+    private float[] scores;
+    private int visibleEdgeCount;
+
+    // Gelen kenarlar (Transpose / Reverse CSR). İlk ihtiyaçta oluşturulur ve aynı depolamayı paylaşan
+    // threshold görünümleriyle paylaşılır. inRowEnds ise her görünümün kendi threshold'una göredir.
+    private TransposeHolder transposeHolder;
+    private int[] inRowEnds;
+
+    // Kenar üyelik index'i (EdgeSet). Transpose gibi ilk ihtiyaçta oluşturulur ve görünümlerle paylaşılır.
+    private EdgeSetHolder edgeSetHolder;
+
+    // Base graf için paylaşılan read-only index (getAdjacencyIndex). Graf değiştiğinde null yapılır.
+    private CSRGraph adjacencyIndex;
+
+    public CSRGraph() {
+        this.proteins = new ArrayList<>();
+        this.indexById = new ProteinIndex(16);
+        this.readOnly = false;
+        this.activeThreshold = 0.0;
+        this.pendingSources = new int[16];
+        this.pendingTargets = new int[16];
+        this.pendingScores = new float[16];
+        this.offsets = new int[1];
+        this.rowEnds = new int[0];
+        this.targets = new int[0];
+        this.scores = new float[0];
+        this.transposeHolder = new TransposeHolder();
+        this.edgeSetHolder = new EdgeSetHolder();
+    }
+
+    /**
+     * Hazır CSR dizilerinden graf oluşturur (örneğin binary snapshot'tan açılırken).
+     * Proteinlerin index'i listedeki sıralarıdır; diziler kopyalanmadan sahiplenilir ve
+     * satırlar henüz skora göre sıralı değilse sıralanır.
+     */
+    public CSRGraph(List<Protein> proteins, int[] offsets, int[] targets, float[] scores) {
+        this();
+        if (offsets.length != proteins.size() + 1 || targets.length != scores.length
+                || offsets[proteins.size()] != targets.length) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays");
+        }
+        for (Protein p : proteins) {
+            indexById.putIfAbsent(p, this.proteins.size());
+            this.proteins.add(p);
+        }
+        sortRowsByScore(offsets, targets, scores);
+        this.offsets = offsets;
+        this.rowEnds = Arrays.copyOfRange(offsets, 1, offsets.length);
+        this.targets = targets;
+        this.scores = scores;
+        this.visibleEdgeCount = targets.length;
+    }
+
+    // Threshold View: base grafın dizilerini paylaşır, sadece satır sonlarını (rowEnds) kendisi tutar.
+    private CSRGraph(CSRGraph base, double threshold) {
+        this.proteins = new ArrayList<>(base.proteins);
+        this.indexById = base.indexById.copy();
+        this.readOnly = true;
+        this.activeThreshold = threshold;
+        this.offsets = base.offsets;
+        this.targets = base.targets;
+        this.scores = base.scores;
+        this.transposeHolder = base.transposeHolder;
+        this.edgeSetHolder = base.edgeSetHolder;
+
+        // Skorlar float olarak saklandığı için karşılaştırma da float'a çevrilmiş threshold ile yapılır;
+        // böylece loader'ın double karşılaştırmasıyla aynı kenarlar görünür kalır.
+        float cutoff = (float) threshold;
+        int vertexCount = proteins.size();
+        this.rowEnds = new int[vertexCount];
+        int count = 0;
+        for (int u = 0; u < vertexCount; u++) {
+            rowEnds[u] = firstBelow(scores, offsets[u], offsets[u + 1], cutoff);
+            count += rowEnds[u] - offsets[u];
+        }
+        this.visibleEdgeCount = count;
+    }
+
+    /**
+     * Herhangi bir Graph'ı CSR formuna çevirir. Zaten CSRGraph ise aynı nesne döner (kopyalama yapılmaz).
+     */
+    public static CSRGraph from(Graph graph) {
+        if (graph instanceof CSRGraph) {
+            return (CSRGraph) graph;
+        }
+        CSRGraph csr = new CSRGraph();
+        for (Protein p : graph.getVertices()) {
+            csr.addVertex(p);
+        }
+        for (Edge e : graph.getEdges()) {
+            csr.addEdge(e.getSource(), e.getDestination(), e.getWeight());
+        }
+        return csr;
+    }
+
+    /**
+     * Aynı depolamayı paylaşan, sadece skoru threshold'a eşit veya büyük kenarları gösteren read-only görünüm döndürür.
+     * Satırlar skora göre sıralı olduğu için her satırda tek bir binary search yeterlidir: O(V log degree).
+     * Threshold, bu grafın yüklendiği threshold'dan küçük olamaz (elenmiş kenarlar geri gelmez).
+     */
+    public synchronized CSRGraph withThreshold(double threshold) {
+        compact();
+        return new CSRGraph(this, threshold);
+    }
+
+    /**
+     * Threshold görünümleri zaten immutable olduğu için kendilerini döndürür. Base graf için, bekleyen
+     * kenarlar sıkıştırılır ve mevcut dizileri paylaşan read-only bir görünüm bir kez oluşturulur;
+     * sonraki addVertex/addEdge çağrıları bu görünümü geçersiz kılar. Sıkıştırma her seferinde yeni
+     * diziler ürettiği için eski index'i kullanan algoritmalar tutarlı bir kopya görmeye devam eder.
+     */
+    @Override
+    public synchronized CSRGraph getAdjacencyIndex() {
+        if (readOnly) {
+            return this;
+        }
+        if (adjacencyIndex == null) {
+            long start = System.nanoTime();
+            adjacencyIndex = readOnlyView();
+            AdjacencyIndexStats.record("adjacency", proteins.size(), visibleEdgeCount, System.nanoTime() - start);
+        }
+        return adjacencyIndex;
+    }
+
+    // Mevcut dizileri paylaşan read-only görünüm (aktif threshold korunur).
+    synchronized CSRGraph readOnlyView() {
+        if (readOnly) {
+            return this;
+        }
+        compact();
+        return new CSRGraph(this, activeThreshold);
+    }
+
+    // Görünümün aktif threshold değeri (base graf için 0.0).
+    public double getActiveThreshold() {
+        return activeThreshold;
+    }
+
+    @Override
+    public synchronized void addVertex(Protein p) {
+        checkWritable();
+        // Duplicate vertex oluşumunu engellemek için kontrol ediyoruz.
+        if (indexById.putIfAbsent(p, proteins.size()) < 0) {
+            proteins.add(p);
+            adjacencyIndex = null;
+        }
+    }
+
+    @Override
+    public synchronized void addEdge(Protein source, Protein destination, double weight) {
+        addVertex(source);
+        addVertex(destination);
+        appendPending(indexById.get(source), indexById.get(destination), (float) weight);
+    }
+
+    /**
+     * Index'leri önceden bilinen kenarları toplu olarak ekler (Bulk Insert).
+     * Loader'ın paralel parse sonucunu Protein nesnelerine dönmeden aktarması için kullanılır.
+     */
+    public synchronized void addEdges(int[] sources, int[] destinations, float[] weights, int count) {
+        checkWritable();
+        int required = pendingCount + count;
+        if (required > pendingSources.length) {
+            int newCapacity = Math.max(required, pendingSources.length * 2);
+            pendingSources = Arrays.copyOf(pendingSources, newCapacity);
+            pendingTargets = Arrays.copyOf(pendingTargets, newCapacity);
+            pendingScores = Arrays.copyOf(pendingScores, newCapacity);
+        }
+        System.arraycopy(sources, 0, pendingSources, pendingCount, count);
+        System.arraycopy(destinations, 0, pendingTargets, pendingCount, count);
+        System.arraycopy(weights, 0, pendingScores, pendingCount, count);
+        pendingCount = required;
+        adjacencyIndex = null;
+    }
+
+    /**
+     * Delta dosyasındaki değişiklikleri (kenar ekleme / silme / skor değişikliği, yeni proteinler) tam yeniden
+     * yükleme yapmadan uygular. Sıkıştırmada olduğu gibi yeni diziler üretilir: değişmeyen satırlar blok halinde
+     * (System.arraycopy) kopyalanır; değişiklik içeren satırlar bir kez taranır ve değişen kenarlar satırın
+     * zaten sıralı kalan kısmına merge edilir (yeniden sıralama yapılmaz).
+     * Oluşturulmuş transpose yeniden kurulmak yerine yamanır (patch). EdgeSet ise ilk ihtiyaçta yeniden kurulur:
+     * slot'ları mutlak pozisyon olduğundan yamamak tüm tabloyu kopyalayıp taramayı gerektirir, bu da yeniden
+     * kurmaktan ucuz değildir. Diğer index'ler de geçersiz kılınır.
+     * Eski diziler değiştirilmediği için daha önce alınmış threshold görünümleri eski grafı tutarlı görmeye devam eder.
+     *
+     * Sonuç, güncellenmiş links dosyasının yüklenmesiyle aynı kenarları aynı skor sırasıyla içerir. Sadece eşit skorlu
+     * kenarların kendi aralarındaki sırası farklı olabilir: eklenen kenarlar eşit skorluların sonuna düşer.
+     * Time Complexity: O(V + E) blok kopya + değişen satırların derece toplamı
+     */
+    public synchronized DeltaResult applyDelta(GraphDelta delta) {
+        checkWritable();
+        compact();
+        if (delta.getBaseVertexCount() != proteins.size()) {
+            throw new IllegalArgumentException("Delta was built for a graph with " + delta.getBaseVertexCount()
+                    + " proteins, this graph has " + proteins.size());
+        }
+        // Yeni proteinler eklenmeden önce doğrulanır; hata durumunda graf değişmeden kalır
+        Set<Protein> seen = new HashSet<>();
+        for (Protein p : delta.getNewProteins()) {
+            if (indexById.get(p) >= 0 || !seen.add(p)) {
+                throw new IllegalArgumentException("Protein is already in the graph: " + p.getId());
+            }
+        }
+
+        long start = System.nanoTime();
+        int oldVertexCount = proteins.size();
+        for (Protein p : delta.getNewProteins()) {
+            indexById.putIfAbsent(p, proteins.size());
+            proteins.add(p);
+        }
+        int vertexCount = proteins.size();
+
+        // 1. İşlemler kaynak satıra göre gruplanır; aynı satırda delta sırası korunur
+        int opCount = delta.size();
+        long[] order = new long[opCount];
+        for (int i = 0; i < opCount; i++) {
+            order[i] = ((long) delta.getSource(i) << 32) | i;
+        }
+        Arrays.sort(order);
+
+        // 2. Değişiklik içeren satırlar tek tek yeniden kurulur
+        int[] counts = new int[4]; // added, removed, changed, missing
+        List<RowEdit> edits = new ArrayList<>();
+        for (int from = 0; from < opCount; ) {
+            int u = (int) (order[from] >>> 32);
+            int to = from;
+            while (to < opCount && (int) (order[to] >>> 32) == u) to++;
+            int[] ops = new int[to - from];
+            for (int k = from; k < to; k++) ops[k - from] = (int) order[k];
+            edits.add(editRow(u, u < oldVertexCount, ops, delta, counts));
+            from = to;
+        }
+
+        // 3. Yeni satır sınırları: değişmeyen satırlar eski uzunluğunu korur
+        int[] newOffsets = new int[vertexCount + 1];
+        for (int u = 0, r = 0; u < vertexCount; u++) {
+            int length;
+            if (r < edits.size() && edits.get(r).row == u) {
+                length = edits.get(r++).length;
+            } else {
+                length = u < oldVertexCount ? offsets[u + 1] - offsets[u] : 0;
+            }
+            newOffsets[u + 1] = newOffsets[u] + length;
+        }
+
+        // 4. Değişmeyen satır blokları tek seferde, değişen satırlar ayrı ayrı kopyalanır
+        int edgeCount = newOffsets[vertexCount];
+        int[] newTargets = new int[edgeCount];
+        float[] newScores = new float[edgeCount];
+        int runStart = 0;
+        for (int r = 0; r <= edits.size(); r++) {
+            int runEnd = Math.min(r < edits.size() ? edits.get(r).row : oldVertexCount, oldVertexCount);
+            if (runStart < runEnd) {
+                int length = offsets[runEnd] - offsets[runStart];
+                System.arraycopy(targets, offsets[runStart], newTargets, newOffsets[runStart], length);
+                System.arraycopy(scores, offsets[runStart], newScores, newOffsets[runStart], length);
+            }
+            if (r < edits.size()) {
+                RowEdit edit = edits.get(r);
+                System.arraycopy(edit.targets, 0, newTargets, newOffsets[edit.row], edit.length);
+                System.arraycopy(edit.scores, 0, newScores, newOffsets[edit.row], edit.length);
+                runStart = edit.row + 1;
+            }
+        }
+
+        // 5. Oluşturulmuş transpose yamanır; eski holder'lar eski görünümlerde kalır
+        Transpose oldTranspose = transposeHolder.peek();
+        this.transposeHolder = new TransposeHolder(oldTranspose == null ? null
+                : patchTranspose(oldTranspose, vertexCount, edits));
+        this.edgeSetHolder = new EdgeSetHolder();
+
+        this.offsets = newOffsets;
+        this.rowEnds = Arrays.copyOfRange(newOffsets, 1, newOffsets.length);
+        this.targets = newTargets;
+        this.scores = newScores;
+        this.visibleEdgeCount = edgeCount;
+        this.inRowEnds = null;
+        this.adjacencyIndex = null;
+
+        return new DeltaResult(counts[0], counts[1], counts[2], counts[3], vertexCount - oldVertexCount,
+                edits.size(), System.nanoTime() - start);
+    }
+
+    // Yeniden kurulan tek bir satır (skora göre sıralı) ve transpose'u yamamak için gereken bilgiler
+    private static class RowEdit {
+        final int row;
+        final int[] targets;
+        final float[] scores;
+        final int length;
+        final int[] changedTargets; // İşlemlerin hedefleri (sıralı, tekrarsız)
+        final int[] moved;          // Bu hedeflere giden kenarların yeni pozisyonları (artan sırada)
+
+        RowEdit(int row, int[] targets, float[] scores, int[] changedTargets, int[] moved) {
+            this.row = row;
+            this.targets = targets;
+            this.scores = scores;
+            this.length = targets.length;
+            this.changedTargets = changedTargets;
+            this.moved = moved;
+        }
+    }
+
+    /**
+     * u satırına işlemlerini (ops, delta sırasıyla) uygular. Satır bir kez taranır: işlem hedeflerine giden kenarlar
+     * gruplanır, aynı hedefe giden tekrar eden kenarlar birlikte silinir / güncellenir. Diğer kenarlar zaten sıralı
+     * olduğundan, değişen ve eklenen kenarlar (skor azalan, pozisyon artan) sırasıyla onlara merge edilir; bu, satırı
+     * stable olarak yeniden sıralamakla aynı sonucu verir.
+     */
+    private RowEdit editRow(int u, boolean existing, int[] ops, GraphDelta delta, int[] counts) {
+        int start = existing ? offsets[u] : 0;
+        int degree = existing ? offsets[u + 1] - start : 0;
+
+        // İşlemler hedefe, aynı hedefte delta sırasına göre; opTargets sıralı ve tekrarsız hedeflerdir
+        long[] opKeys = new long[ops.length];
+        for (int k = 0; k < ops.length; k++) opKeys[k] = ((long) delta.getTarget(ops[k]) << 32) | k;
+        Arrays.sort(opKeys);
+        int[] opTargets = new int[ops.length];
+        int targetCount = 0;
+        for (long key : opKeys) {
+            int v = (int) (key >>> 32);
+            if (targetCount == 0 || opTargets[targetCount - 1] != v) opTargets[targetCount++] = v;
+        }
+
+        // İşlem hedefine giden kenarlar (hedef sırası << 32 | pozisyon) olarak toplanır
+        long[] matched = new long[Math.min(degree, 2 * ops.length + 8)];
+        int matchedCount = 0;
+        boolean[] isMatched = new boolean[degree];
+        for (int i = 0; i < degree; i++) {
+            int t = Arrays.binarySearch(opTargets, 0, targetCount, targets[start + i]);
+            if (t < 0) continue;
+            if (matchedCount == matched.length) matched = Arrays.copyOf(matched, 2 * matchedCount + 8);
+            matched[matchedCount++] = ((long) t << 32) | i;
+            isMatched[i] = true;
+        }
+        Arrays.sort(matched, 0, matchedCount);
+
+        // Adaylar: eşleşen kenarlar ve eklenenler (pozisyonları degree'den başlar); işlemler grup üzerinde sırayla uygulanır
+        int capacity = matchedCount + ops.length;
+        int[] candTarget = new int[capacity];
+        float[] candScore = new float[capacity];
+        int[] candPosition = new int[capacity];
+        boolean[] alive = new boolean[capacity];
+        int candCount = 0;
+        int[] group = new int[capacity];
+        for (int k = 0, t = 0, m = 0; t < targetCount; t++) {
+            int v = opTargets[t];
+            int groupSize = 0;
+            while (m < matchedCount && (int) (matched[m] >>> 32) == t) {
+                int pos = (int) matched[m++];
+                candTarget[candCount] = v;
+                candScore[candCount] = scores[start + pos];
+                candPosition[candCount] = pos;
+                alive[candCount] = true;
+                group[groupSize++] = candCount++;
+            }
+            for (; k < ops.length && (int) (opKeys[k] >>> 32) == v; k++) {
+                int op = ops[(int) opKeys[k]];
+                byte kind = delta.getKind(op);
+                if (kind == GraphDelta.REMOVE) {
+                    if (groupSize == 0) {
+                        counts[3]++;
+                        continue;
+                    }
+                    for (int g = 0; g < groupSize; g++) alive[group[g]] = false;
+                    groupSize = 0;
+                    counts[1]++;
+                } else if (groupSize > 0) {
+                    // Var olan kenarın skoru değişir (ADD de var olan kenar için güncelleme sayılır)
+                    for (int g = 0; g < groupSize; g++) candScore[group[g]] = delta.getScore(op);
+                    counts[2]++;
+                } else if (kind == GraphDelta.ADD) {
+                    candTarget[candCount] = v;
+                    candScore[candCount] = delta.getScore(op);
+                    candPosition[candCount] = degree + candCount;
+                    alive[candCount] = true;
+                    group[groupSize++] = candCount++;
+                    counts[0]++;
+                } else {
+                    counts[3]++;
+                }
+            }
+        }
+
+        // Canlı adaylar (skor azalan, pozisyon artan) sırasıyla, anahtarın alt 32 biti aday index'i
+        long[] movedKeys = new long[candCount];
+        int movedCount = 0;
+        long[] positionKeys = new long[candCount];
+        for (int c = 0; c < candCount; c++) {
+            if (alive[c]) positionKeys[movedCount++] = ((long) candPosition[c] << 32) | c;
+        }
+        Arrays.sort(positionKeys, 0, movedCount);
+        for (int k = 0; k < movedCount; k++) {
+            int c = (int) positionKeys[k];
+            // Pozisyon sırasına göre numaralandırıldığı için index aynı skorlu adaylarda pozisyon sırasını korur
+            movedKeys[k] = (descending(candScore[c]) << 32) | k;
+        }
+        Arrays.sort(movedKeys, 0, movedCount);
+
+        // Değişmeyen kenarlar zaten (skor azalan, pozisyon artan) sırada: iki sıralı dizi merge edilir
+        int length = degree - matchedCount + movedCount;
+        int[] rowTargets = new int[length];
+        float[] rowScores = new float[length];
+        int[] moved = new int[movedCount];
+        int i = 0;
+        int j = 0;
+        for (int out = 0; out < length; out++) {
+            while (i < degree && isMatched[i]) i++;
+            boolean takeMoved = false;
+            if (j < movedCount) {
+                int c = (int) positionKeys[(int) movedKeys[j]];
+                long movedKey = (movedKeys[j] & ~0xFFFFFFFFL) | candPosition[c];
+                takeMoved = i >= degree || movedKey < ((descending(scores[start + i]) << 32) | i);
+            }
+            if (takeMoved) {
+                int c = (int) positionKeys[(int) movedKeys[j]];
+                rowTargets[out] = candTarget[c];
+                rowScores[out] = candScore[c];
+                moved[j++] = out;
+            } else {
+                rowTargets[out] = targets[start + i];
+                rowScores[out] = scores[start + i++];
+            }
+        }
+        return new RowEdit(u, rowTargets, rowScores, Arrays.copyOf(opTargets, targetCount), moved);
+    }
+
+    // Azalan skor sırası için anahtar (negatif olmayan float'ların bit sırası sayı sırasıyla aynıdır)
+    private static long descending(float score) {
+        return Integer.MAX_VALUE - Float.floatToIntBits(Math.max(0f, score));
+    }
+
+    /**
+     * Delta sonrası transpose: sadece değişen çiftlerin hedefi olan gelen satırlarda (in-row) o çiftlerin eski
+     * kenarları çıkarılır ve yeni halleri merge edilir; diğer satırlar blok halinde kopyalanır. Satırlar (skor azalan,
+     * kaynak artan) sırasında kalır, bu da sıfırdan kurulan transpose'un (counting sort + stable sıralama) sırasıdır.
+     */
+    private static Transpose patchTranspose(Transpose old, int vertexCount, List<RowEdit> edits) {
+        int oldVertexCount = old.offsets.length - 1;
+
+        // Değişen çiftler hedefe göre (v << 32 | u); yeni halleri de hedefe göre gruplanmış (skor azalan, kaynak artan)
+        int pairCount = 0;
+        int[] addedPerTarget = new int[vertexCount + 1];
+        for (RowEdit edit : edits) {
+            pairCount += edit.changedTargets.length;
+            for (int position : edit.moved) addedPerTarget[edit.targets[position] + 1]++;
+        }
+        long[] pairs = new long[pairCount];
+        pairCount = 0;
+        for (int v = 0; v < vertexCount; v++) addedPerTarget[v + 1] += addedPerTarget[v];
+        long[] added = new long[addedPerTarget[vertexCount]];
+        int[] cursor = Arrays.copyOf(addedPerTarget, vertexCount);
+        for (RowEdit edit : edits) {
+            for (int v : edit.changedTargets) pairs[pairCount++] = EdgeSet.pack(v, edit.row);
+            for (int position : edit.moved) {
+                int v = edit.targets[position];
+                added[cursor[v]++] = (descending(edit.scores[position]) << 32) | edit.row;
+            }
+        }
+        Arrays.sort(pairs);
+        for (int v = 0; v < vertexCount; v++) Arrays.sort(added, addedPerTarget[v], addedPerTarget[v + 1]);
+
+        // 1. Yeni gelen satır uzunlukları: çıkarılan çiftlerin eski kenarları düşülür, yeni halleri eklenir
+        int[] inOffsets = new int[vertexCount + 1];
+        for (int v = 0, p = 0; v < vertexCount; v++) {
+            int pairStart = p;
+            while (p < pairs.length && (int) (pairs[p] >>> 32) == v) p++;
+            int length = 0;
+            if (v < oldVertexCount) {
+                for (int i = old.offsets[v]; i < old.offsets[v + 1] && pairStart < p; i++) {
+                    if (Arrays.binarySearch(pairs, pairStart, p, EdgeSet.pack(v, old.sources[i])) >= 0) length--;
+                }
+                length += old.offsets[v + 1] - old.offsets[v];
+            }
+            inOffsets[v + 1] = inOffsets[v] + length + addedPerTarget[v + 1] - addedPerTarget[v];
+        }
+
+        // 2. Değişmeyen satır blokları kopyalanır, değişenler merge edilir
+        int edgeCount = inOffsets[vertexCount];
+        int[] inSources = new int[edgeCount];
+        float[] inScores = new float[edgeCount];
+        int runStart = 0;
+        for (int v = 0, p = 0; v <= vertexCount; v++) {
+            int pairStart = p;
+            while (p < pairs.length && (int) (pairs[p] >>> 32) == v) p++;
+            if (v < vertexCount && pairStart == p) continue;
+
+            int runEnd = Math.min(v, oldVertexCount);
+            if (runStart < runEnd) {
+                int length = old.offsets[runEnd] - old.offsets[runStart];
+                System.arraycopy(old.sources, old.offsets[runStart], inSources, inOffsets[runStart], length);
+                System.arraycopy(old.scores, old.offsets[runStart], inScores, inOffsets[runStart], length);
+            }
+            if (v == vertexCount) break;
+
+            int i = v < oldVertexCount ? old.offsets[v] : 0;
+            int end = v < oldVertexCount ? old.offsets[v + 1] : 0;
+            int a = addedPerTarget[v];
+            for (int out = inOffsets[v]; out < inOffsets[v + 1]; out++) {
+                while (i < end && Arrays.binarySearch(pairs, pairStart, p, EdgeSet.pack(v, old.sources[i])) >= 0) i++;
+                long oldKey = i < end ? (descending(old.scores[i]) << 32) | old.sources[i] : Long.MAX_VALUE;
+                if (a < addedPerTarget[v + 1] && added[a] < oldKey) {
+                    inSources[out] = (int) added[a];
+                    inScores[out] = Float.intBitsToFloat(Integer.MAX_VALUE - (int) (added[a++] >>> 32));
+                } else {
+                    inSources[out] = old.sources[i];
+                    inScores[out] = old.scores[i++];
+                }
+            }
+            runStart = v + 1;
+        }
+        return new Transpose(inOffsets, inSources, inScores);
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Threshold view is read-only");
+        }
+    }
+
+    private void appendPending(int source, int target, float score) {
+        if (pendingCount == pendingSources.length) {
+            int newCapacity = pendingCount * 2;
+            pendingSources = Arrays.copyOf(pendingSources, newCapacity);
+            pendingTargets = Arrays.copyOf(pendingTargets, newCapacity);
+            pendingScores = Arrays.copyOf(pendingScores, newCapacity);
+        }
+        pendingSources[pendingCount] = source;
+        pendingTargets[pendingCount] = target;
+        pendingScores[pendingCount] = score;
+        pendingCount++;
+        adjacencyIndex = null;
+    }
+
+    /**
+     * Pending kenarları mevcut CSR satırlarıyla birleştirir (merge) ve satırları skora göre sıralar.
+     * Counting sort ve stable sıralama kullanıldığı için eşit skorlu kenarlar eklenme sırasını korur.
+     * Time Complexity: O(V + E log degree)
+     */
+    private synchronized void compact() {
+        if (readOnly || (pendingCount == 0 && offsets.length == proteins.size() + 1)) {
+            return;
+        }
+
+        int vertexCount = proteins.size();
+        int oldVertexCount = offsets.length - 1;
+        int[] newOffsets = new int[vertexCount + 1];
+
+        // 1. Her satırın yeni uzunluğunu hesapla (eski derece + pending kenar sayısı)
+        for (int u = 0; u < oldVertexCount; u++) {
+            newOffsets[u + 1] = offsets[u + 1] - offsets[u];
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            newOffsets[pendingSources[i] + 1]++;
+        }
+        for (int u = 0; u < vertexCount; u++) {
+            newOffsets[u + 1] += newOffsets[u];
+        }
+
+        int edgeCount = newOffsets[vertexCount];
+        int[] newTargets = new int[edgeCount];
+        float[] newScores = new float[edgeCount];
+        int[] cursor = Arrays.copyOf(newOffsets, vertexCount);
+
+        // 2. Önce eski satırlar, ardından pending kenarlar kopyalanır
+        for (int u = 0; u < oldVertexCount; u++) {
+            int length = offsets[u + 1] - offsets[u];
+            System.arraycopy(targets, offsets[u], newTargets, cursor[u], length);
+            System.arraycopy(scores, offsets[u], newScores, cursor[u], length);
+            cursor[u] += length;
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            int slot = cursor[pendingSources[i]]++;
+            newTargets[slot] = pendingTargets[i];
+            newScores[slot] = pendingScores[i];
+        }
+
+        // 3. Satırları azalan skora göre sırala
+        sortRowsByScore(newOffsets, newTargets, newScores);
+
+        this.offsets = newOffsets;
+        this.rowEnds = Arrays.copyOfRange(newOffsets, 1, newOffsets.length);
+        this.targets = newTargets;
+        this.scores = newScores;
+        this.visibleEdgeCount = edgeCount;
+        this.transposeHolder = new TransposeHolder();
+        this.edgeSetHolder = new EdgeSetHolder();
+        this.inRowEnds = null;
+
+        // Pending buffer serbest bırakılır
+        this.pendingSources = new int[16];
+        this.pendingTargets = new int[16];
+        this.pendingScores = new float[16];
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Her satırı combined_score'a göre azalan sırada, stable olarak sıralar.
+     * Skor (negatif olmayan float) ve satır içi pozisyon tek bir long anahtara paketlenir;
+     * pozisyon anahtarı benzersiz kıldığı için primitive sort stable sonuç verir. Satırlar paralel işlenir.
+     */
+    private static void sortRowsByScore(int[] offsets, int[] targets, float[] scores) {
+        IntStream.range(0, offsets.length - 1).parallel().forEach(u -> {
+            int start = offsets[u];
+            int end = offsets[u + 1];
+            if (end - start < 2 || isSortedDescending(scores, start, end)) {
+                return;
+            }
+
+            long[] keys = new long[end - start];
+            for (int i = start; i < end; i++) {
+                long descendingScore = Integer.MAX_VALUE - Float.floatToIntBits(Math.max(0f, scores[i]));
+                keys[i - start] = (descendingScore << 32) | (i - start);
+            }
+            Arrays.sort(keys);
+
+            int[] rowTargets = Arrays.copyOfRange(targets, start, end);
+            float[] rowScores = Arrays.copyOfRange(scores, start, end);
+            for (int k = 0; k < keys.length; k++) {
+                int from = (int) keys[k];
+                targets[start + k] = rowTargets[from];
+                scores[start + k] = rowScores[from];
+            }
+        });
+    }
+
+    private static boolean isSortedDescending(float[] scores, int start, int end) {
+        for (int i = start + 1; i < end; i++) {
+            if (scores[i] > scores[i - 1]) return false;
+        }
+        return true;
+    }
+
+    // Azalan sıralı [start, end) aralığında skoru cutoff'tan küçük olan ilk pozisyon (Binary Search).
+    private static int firstBelow(float[] scores, int start, int end, float cutoff) {
+        int lo = start;
+        int hi = end;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (scores[mid] >= cutoff) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // --- Primitive (int-indexed) erişim metodları: Algoritmalar ve Metrikler bunları kullanır ---
+
+    @Override
+    public synchronized int getVertexCount() {
+        return proteins.size();
+    }
+
+    @Override
+    public synchronized int getEdgeCount() {
+        return visibleEdgeCount + pendingCount;
+    }
+
+    // Proteinin dense index'ini döndürür, grafta yoksa -1.
+    public synchronized int indexOf(String id) {
+        return indexById.get(id);
+    }
+
+    // Protein nesnesinden arama: ID metni yeniden üretilmez.
+    public synchronized int indexOf(Protein p) {
+        return indexById.get(p);
+    }
+
+    public synchronized Protein getProtein(int index) {
+        return proteins.get(index);
+    }
+
+    // Satır başlangıçları: u düğümünün görünen komşuları offsets[u] .. rowEnds[u] aralığındadır.
+    public int[] offsets() {
+        compact();
+        return offsets;
+    }
+
+    // Aktif threshold'a göre satır sonları.
+    public int[] rowEnds() {
+        compact();
+        return rowEnds;
+    }
+
+    public int[] targets() {
+        compact();
+        return targets;
+    }
+
+    public float[] scores() {
+        compact();
+        return scores;
+    }
+
+    // Gelen kenar satırları: v düğümüne gelen görünür kenarlar inOffsets[v] .. inRowEnds[v] aralığındadır.
+    // inSources[i] kenarın kaynağıdır; satırlar da azalan skora göre sıralıdır.
+    public int[] inOffsets() {
+        return transpose().offsets;
+    }
+
+    public synchronized int[] inRowEnds() {
+        Transpose t = transpose();
+        if (inRowEnds == null) {
+            float cutoff = (float) activeThreshold;
+            int[] ends = new int[t.offsets.length - 1];
+            for (int v = 0; v < ends.length; v++) {
+                ends[v] = firstBelow(t.scores, t.offsets[v], t.offsets[v + 1], cutoff);
+            }
+            inRowEnds = ends;
+        }
+        return inRowEnds;
+    }
+
+    public int[] inSources() {
+        return transpose().sources;
+    }
+
+    public float[] inScores() {
+        return transpose().scores;
+    }
+
+    private synchronized Transpose transpose() {
+        compact();
+        return transposeHolder.get(offsets, targets, scores);
+    }
+
+    // Depolamadaki tüm fiziksel kenarların üyelik index'i (görünürlük için hasEdge kullanılmalıdır).
+    public synchronized EdgeSet edgeSet() {
+        compact();
+        return edgeSetHolder.get(offsets, targets);
+    }
+
+    /**
+     * Grafın yaklaşık heap kullanımı (byte): CSR ve bekleyen (pending) kenar dizileri, oluşturulmuşsa transpose
+     * ve EdgeSet, ID tablosu ve Protein nesneleri (isimleriyle birlikte). Hiçbir index oluşturmaz.
+     * Threshold görünümleri depolamayı base graf ile paylaşır; aynı diziler her görünümde tekrar sayılır.
+     */
+    public synchronized long memoryBytes() {
+        long bytes = arrayBytes(pendingSources) + arrayBytes(pendingTargets) + arrayBytes(pendingScores)
+                + arrayBytes(offsets) + arrayBytes(rowEnds) + arrayBytes(targets) + arrayBytes(scores)
+                + arrayBytes(inRowEnds);
+        Transpose t = transposeHolder.peek();
+        if (t != null) {
+            bytes += arrayBytes(t.offsets) + arrayBytes(t.sources) + arrayBytes(t.scores);
+        }
+        EdgeSet edges = edgeSetHolder.peek();
+        if (edges != null) bytes += edges.memoryBytes();
+        bytes += indexById.memoryBytes();
+
+        // Protein: 12 byte header + long + 2 referans ≈ 32 byte; isim String'i ≈ 40 byte + karakter sayısı (Latin-1)
+        bytes += 16L + proteins.size() * 4L;
+        for (Protein p : proteins) {
+            bytes += 32;
+            if (p.getName() != null) bytes += 40L + p.getName().length();
+        }
+        return bytes;
+    }
+
+    private static long arrayBytes(int[] array) {
+        return array == null ? 0 : 16L + array.length * 4L;
+    }
+
+    private static long arrayBytes(float[] array) {
+        return array == null ? 0 : 16L + array.length * 4L;
+    }
+
+    /**
+     * u -> v kenarı bu görünümde var mı? Kenar EdgeSet'te bulunur ve slot'u satırın görünen
+     * kısmındaysa (slot < rowEnds[u]) true döner.
+     * Time Complexity: O(1) (beklenen)
+     */
+    public boolean hasEdge(int u, int v) {
+        int slot = edgeSet().slotOf(u, v);
+        return slot >= 0 && slot < rowEnds[u];
+    }
+
+    public int outDegree(int u) {
+        compact();
+        return rowEnds[u] - offsets[u];
+    }
+
+    // --- Graph interface metodları ---
+
+    @Override
+    public Protein searchProtein(String id) {
+        int index = indexOf(id);
+        return index < 0 ? null : getProtein(index);
+    }
+
+    @Override
+    public synchronized boolean hasInteraction(Protein p1, Protein p2) {
+        // Edge List'ten farklı olarak tüm liste taranmaz; kenar EdgeSet'te aranır.
+        // Time Complexity: O(1) (beklenen)
+        int u = indexOf(p1);
+        int v = indexOf(p2);
+        if (u < 0 || v < 0) return false;
+        return hasEdge(u, v);
+    }
+
+    /**
+     * CSR satırlarından Edge nesneleri üretir. Her çağrıda O(E) nesne oluşturulduğu için
+     * algoritmalar bunun yerine offsets/rowEnds/targets/scores dizilerini kullanmalıdır.
+     */
+    @Override
+    public synchronized List<Edge> getEdges() {
+        compact();
+        List<Edge> edges = new ArrayList<>(visibleEdgeCount);
+        for (int u = 0; u < proteins.size(); u++) {
+            Protein source = proteins.get(u);
+            for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                edges.add(new Edge(source, proteins.get(targets[i]), scores[i]));
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    public synchronized List<Protein> getVertices() {
+        return new ArrayList<>(proteins);
+    }
+
+    @Override
+    public synchronized List<Protein> getNeighbors(Protein p) {
+        List<Protein> neighbors = new ArrayList<>();
+        int u = indexOf(p);
+        if (u < 0) return neighbors;
+
+        compact();
+        for (int i = offsets[u]; i < rowEnds[u]; i++) {
+            neighbors.add(proteins.get(targets[i]));
+        }
+        return neighbors;
+    }
+
+    // Transpose dizileri
+    private static class Transpose {
+        final int[] offsets;
+        final int[] sources;
+        final float[] scores;
+
+        Transpose(int[] offsets, int[] sources, float[] scores) {
+            this.offsets = offsets;
+            this.sources = sources;
+            this.scores = scores;
+        }
+    }
+
+    // Aynı depolamayı paylaşan graflar için EdgeSet'i bir kez oluşturan ortak tutucu.
+    private static class EdgeSetHolder {
+        private EdgeSet edgeSet;
+
+
+        // Henüz oluşturulmadıysa null (memoryBytes için; oluşturmayı tetiklemez)
+        synchronized EdgeSet peek() {
+            return edgeSet;
+        }
+
+        synchronized EdgeSet get(int[] offsets, int[] targets) {
+            if (edgeSet == null) {
+                long start = System.nanoTime();
+                edgeSet = EdgeSet.build(offsets, targets);
+                AdjacencyIndexStats.record("edge set", offsets.length - 1, targets.length, System.nanoTime() - start);
+            }
+            return edgeSet;
+        }
+    }
+
+    /**
+     * Aynı depolamayı paylaşan grafların transpose'u bir kez oluşturulsun diye kullanılan ortak tutucu.
+     * Tüm fiziksel kenarlar (threshold'dan bağımsız) counting sort ile hedef düğüme göre gruplanır.
+     */
+    private static class TransposeHolder {
+        private Transpose transpose;
+
+        TransposeHolder() {
+        }
+
+        // Delta ile yamanmış transpose (null ise ilk ihtiyaçta oluşturulur)
+        TransposeHolder(Transpose transpose) {
+            this.transpose = transpose;
+        }
+
+        synchronized Transpose peek() {
+            return transpose;
+        }
+
+        synchronized Transpose get(int[] offsets, int[] targets, float[] scores) {
+            if (transpose == null) {
+                long start = System.nanoTime();
+                int vertexCount = offsets.length - 1;
+                int[] inOffsets = new int[vertexCount + 1];
+                for (int i = 0; i < targets.length; i++) {
+                    inOffsets[targets[i] + 1]++;
+                }
+                for (int v = 0; v < vertexCount; v++) {
+                    inOffsets[v + 1] += inOffsets[v];
+                }
+
+                int[] cursor = Arrays.copyOf(inOffsets, vertexCount);
+                int[] inSources = new int[targets.length];
+                float[] inScores = new float[targets.length];
+                for (int u = 0; u < vertexCount; u++) {
+                    for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                        int slot = cursor[targets[i]]++;
+                        inSources[slot] = u;
+                        inScores[slot] = scores[i];
+                    }
+                }
+                sortRowsByScore(inOffsets, inSources, inScores);
+                transpose = new Transpose(inOffsets, inSources, inScores);
+                AdjacencyIndexStats.record("transpose", vertexCount, targets.length, System.nanoTime() - start);
+            }
+            return transpose;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package graph;
+
+/**
+ * CSRGraph.applyDelta sonucu: uygulanan işlem sayıları ve süre.
+ * "missing", grafta bulunmayan bir kenarı silmeye veya skorunu değiştirmeye çalışan (atlanan) işlemlerdir.
+ */
+public class DeltaResult {
+
+    private final int added;
+    private final int removed;
+    private final int changed;
+    private final int missing;
+    private final int newProteins;
+    private final int rebuiltRows;
+    private final long nanos;
+
+    DeltaResult(int added, int removed, int changed, int missing, int newProteins, int rebuiltRows, long nanos) {
+        this.added = added;
+        this.removed = removed;
+        this.changed = changed;
+        this.missing = missing;
+        this.newProteins = newProteins;
+        this.rebuiltRows = rebuiltRows;
+        this.nanos = nanos;
+    }
+
+    public int getAdded() { return added; }
+
+    public int getRemoved() { return removed; }
+
+    public int getChanged() { return changed; }
+
+    public int getMissing() { return missing; }
+
+    public int getNewProteins() { return newProteins; }
+
+    // Yeniden oluşturulan (değişiklik içeren) CSR satırı sayısı; diğer satırlar blok halinde kopyalanır
+    public int getRebuiltRows() { return rebuiltRows; }
+
+    public long getNanos() { return nanos; }
+
+    @Override
+    public String toString() {
+        return added + " added, " + removed + " removed, " + changed + " changed, " + missing + " missing, "
+                + newProteins + " new proteins (" + rebuiltRows + " rows rebuilt) in "
+                + String.format("%.2f", nanos / 1_000_000.0) + " ms";
+    }
+}
@@ -1,9 +1,7 @@
 package graph;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Bu sınıf, Graph interface'ini "Edge List" veri yapısı kullanarak implemente eder.
@@ -15,20 +13,28 @@ public class EdgeListGraph implements Graph {
     // Edge List Representation burada sağlanır.
     private List<Edge> edges;
 
-    // Vertex'lere (Proteinlere) ID ile O(1) sürede erişmek için kullanılan yardımcı Map.
-    private Map<String, Protein> verticesMap;
+    // Vertex'ler eklenme sırasıyla tutulur; ID ile O(1) erişim paketlenmiş long ID tablosu üzerinden yapılır.
+    private List<Protein> vertices;
+    private ProteinIndex vertexIndex;
+
+    // Lazily oluşturulan komşuluk index'i; graf değiştiğinde null yapılır (invalidation).
+    private volatile CSRGraph adjacencyIndex;
 
     public EdgeListGraph() {
         // Dinamik boyutlandırma için ArrayList tercih edildi.
         this.edges = new ArrayList<>();
-        this.verticesMap = new HashMap<>();
+        this.vertices = new ArrayList<>();
+        this.vertexIndex = new ProteinIndex(16);
     }
 
     @Override
     public void addVertex(Protein p) {
         // Duplicate vertex oluşumunu engellemek için kontrol ediyoruz.
         // putIfAbsent: Eğer key yoksa ekler, varsa dokunmaz.
-        verticesMap.putIfAbsent(p.getId(), p);
+        if (vertexIndex.putIfAbsent(p, vertices.size()) < 0) {
+            vertices.add(p);
+            adjacencyIndex = null;
+        }
     }
 
     @Override
@@ -40,24 +46,22 @@ public class EdgeListGraph implements Graph {
         // Yeni edge nesnesi oluşturulup edge list'e eklenir.
         Edge newEdge = new Edge(source, destination, weight);
         edges.add(newEdge);
+        adjacencyIndex = null;
     }
 
     @Override
     public Protein searchProtein(String id) {
-        // HashMap sayesinde O(1) time complexity ile arama yapılır.
-        return verticesMap.get(id);
+        // Hash tablosu sayesinde O(1) time complexity ile arama yapılır.
+        int index = vertexIndex.get(id);
+        return index < 0 ? null : vertices.get(index);
     }
 
     @Override
     public boolean hasInteraction(Protein p1, Protein p2) {
-        // Edge List yapısının dezavantajı: Bir kenarı bulmak için tüm listeyi gezmek gerekir.
-        // Time Complexity: O(E) -> E: Edge sayısı (Worst-case).
-        for (Edge edge : edges) {
-            if (edge.getSource().equals(p1) && edge.getDestination().equals(p2)) {
-                return true; // Etkileşim bulundu
-            }
-        }
-        return false;
+        // Edge List yapısında bir kenarı bulmak için tüm listeyi gezmek gerekir (O(E)).
+        // Bunun yerine paylaşılan komşuluk index'inin EdgeSet'i kullanılır: index bir kez O(E) ile
+        // oluşturulur, sonraki sorgular O(1) (beklenen) sürer.
+        return getAdjacencyIndex().hasInteraction(p1, p2);
     }
 
     @Override
@@ -67,8 +71,37 @@ public class EdgeListGraph implements Graph {
 
     @Override
     public List<Protein> getVertices() {
-        // Map'teki değerleri (values) bir listeye çevirip döndürür.
-        return new ArrayList<>(verticesMap.values());
+        // Eklenme sırasıyla bir kopya döndürür.
+        return new ArrayList<>(vertices);
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return edges.size();
+    }
+
+    @Override
+    public CSRGraph getAdjacencyIndex() {
+        // Double-checked locking: index hazırsa kilit alınmaz.
+        CSRGraph index = adjacencyIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = adjacencyIndex;
+                if (index == null) {
+                    long start = System.nanoTime();
+                    index = CSRGraph.from(this).readOnlyView();
+                    adjacencyIndex = index;
+                    AdjacencyIndexStats.record("adjacency", index.getVertexCount(), index.getEdgeCount(),
+                            System.nanoTime() - start);
+                }
+            }
+        }
+        return index;
     }
 
     @Override
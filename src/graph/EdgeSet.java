@@ -0,0 +1,99 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Kenar üyelik index'i (Edge Membership Index): (source << 32 | target) şeklinde paketlenmiş long anahtarlar
+ * primitive bir open-addressing (linear probing) hash tablosunda tutulur. Değer, kenarın CSR dizilerindeki
+ * pozisyonudur (slot).
+ *
+ * Tablo depolamadaki tüm fiziksel kenarları içerir ve aynı depolamayı paylaşan threshold görünümleri
+ * tarafından ortak kullanılır. Bir kenar bir görünümde, slot'u o görünümün rowEnds[source] değerinden
+ * küçükse görünürdür (satırlar skora göre azalan sırada olduğu için).
+ *
+ * Kenar başına String veya nesne üretilmez; doluluk oranı en fazla 0.7 olduğundan kenar başına yaklaşık
+ * 17-34 byte kullanılır. Oluşturulduktan sonra değişmez ve thread-safe okunabilir.
+ */
+public final class EdgeSet {
+
+    private static final long EMPTY = -1L; // Index'ler negatif olmadığı için hiçbir anahtar -1 olamaz
+    private static final double MAX_LOAD = 0.7;
+
+    private final long[] keys;
+    private final int[] slots;
+    private final int mask;
+    private final int size;
+
+    private EdgeSet(long[] keys, int[] slots, int size) {
+        this.keys = keys;
+        this.slots = slots;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * CSR satırlarındaki tüm fiziksel kenarlardan tabloyu oluşturur.
+     * Aynı kenar birden fazla kez varsa satırdaki ilk (en yüksek skorlu) slot saklanır.
+     */
+    static EdgeSet build(int[] offsets, int[] targets) {
+        int edgeCount = targets.length;
+        int capacity = Integer.highestOneBit(Math.max(2, (int) Math.ceil(edgeCount / MAX_LOAD)) - 1) << 1;
+        long[] keys = new long[capacity];
+        int[] slots = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        int mask = capacity - 1;
+        int size = 0;
+
+        int vertexCount = offsets.length - 1;
+        for (int u = 0; u < vertexCount; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                long key = pack(u, targets[i]);
+                int pos = hash(key) & mask;
+                while (keys[pos] != EMPTY && keys[pos] != key) {
+                    pos = (pos + 1) & mask;
+                }
+                if (keys[pos] == EMPTY) {
+                    keys[pos] = key;
+                    slots[pos] = i;
+                    size++;
+                }
+            }
+        }
+        return new EdgeSet(keys, slots, size);
+    }
+
+    static long pack(int source, int target) {
+        return ((long) source << 32) | (target & 0xFFFFFFFFL);
+    }
+
+    // Fibonacci hashing: üst bitler alçak bitlere karıştırılır
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * source -> target kenarının CSR slot'unu döndürür, kenar yoksa -1.
+     * Time Complexity: O(1) (beklenen)
+     */
+    public int slotOf(int source, int target) {
+        long key = pack(source, target);
+        int pos = hash(key) & mask;
+        while (true) {
+            long k = keys[pos];
+            if (k == key) return slots[pos];
+            if (k == EMPTY) return -1;
+            pos = (pos + 1) & mask;
+        }
+    }
+
+    // Farklı (source, target) çifti sayısı
+    public int size() {
+        return size;
+    }
+
+    // Tablonun yaklaşık bellek kullanımı (byte)
+    public long memoryBytes() {
+        return (long) keys.length * Long.BYTES + (long) slots.length * Integer.BYTES;
+    }
+}
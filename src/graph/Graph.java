@@ -23,6 +23,15 @@ public interface Graph {
     List<Edge> getEdges();
     List<Protein> getVertices();
 
+    // Sayaçlar: getVertices()/getEdges() listelerini oluşturmadan boyut bilgisi verir.
+    int getVertexCount();
+    int getEdgeCount();
+
+    // Graf'a ait, paylaşılan komşuluk index'i (immutable CSR görünümü).
+    // İlk ihtiyaçta bir kez oluşturulur ve graf değişene kadar (addVertex/addEdge) tüm algoritmalar aynı
+    // index'i kullanır. Dönen nesne read-only'dir ve birden fazla thread tarafından güvenle okunabilir.
+    CSRGraph getAdjacencyIndex();
+
     // Bir Vertex'in komşularını (adjacent vertices) döndürür.
     // BFS ve DFS traversalları için kritiktir.
     List<Protein> getNeighbors(Protein p);
@@ -0,0 +1,114 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Yüklü bir CSRGraph'a uygulanacak değişiklik listesi (Delta): kenar ekleme, silme ve skor değişikliği,
+ * ayrıca grafta henüz olmayan yeni proteinler. Kenarlar dense index'lerle tutulur; yeni proteinler
+ * baseVertexCount'tan itibaren sırayla index alır. Dosyadan okuma PPIGraphLoader.readDelta'dadır.
+ *
+ * İşlemler eklenme sırasıyla uygulanır (aynı kenar için "sil, sonra ekle" gibi sıralar korunur).
+ * Bir delta, oluşturulduğu andaki vertex sayısına sahip grafa uygulanabilir (CSRGraph.applyDelta).
+ */
+public class GraphDelta {
+
+    public static final byte ADD = 0;
+    public static final byte REMOVE = 1;
+    public static final byte CHANGE = 2;
+
+    private final int baseVertexCount;
+    private final List<Protein> newProteins;
+
+    private byte[] kinds;
+    private int[] sources;
+    private int[] targets;
+    private float[] scores;
+    private int count;
+
+    public GraphDelta(int baseVertexCount) {
+        this.baseVertexCount = baseVertexCount;
+        this.newProteins = new ArrayList<>();
+        this.kinds = new byte[16];
+        this.sources = new int[16];
+        this.targets = new int[16];
+        this.scores = new float[16];
+    }
+
+    // Yeni proteini ekler ve delta içindeki index'ini döndürür.
+    public int addProtein(Protein p) {
+        newProteins.add(p);
+        return baseVertexCount + newProteins.size() - 1;
+    }
+
+    // Kenar ekleme. Kenar zaten varsa skoru güncellenir (STRING sürümleri arasında tekrar eklenen çiftler).
+    public void add(int source, int target, double score) {
+        append(ADD, source, target, (float) score);
+    }
+
+    // u -> v kenarının (tekrar eden kopyalarıyla birlikte) silinmesi.
+    public void remove(int source, int target) {
+        append(REMOVE, source, target, 0f);
+    }
+
+    // Var olan u -> v kenarının skorunun değiştirilmesi.
+    public void change(int source, int target, double score) {
+        append(CHANGE, source, target, (float) score);
+    }
+
+    private void append(byte kind, int source, int target, float score) {
+        int vertexCount = getVertexCount();
+        if (source < 0 || target < 0 || source >= vertexCount || target >= vertexCount) {
+            throw new IllegalArgumentException("Protein index out of range: " + source + " -> " + target);
+        }
+        if (count == kinds.length) {
+            int newCapacity = count * 2;
+            kinds = Arrays.copyOf(kinds, newCapacity);
+            sources = Arrays.copyOf(sources, newCapacity);
+            targets = Arrays.copyOf(targets, newCapacity);
+            scores = Arrays.copyOf(scores, newCapacity);
+        }
+        kinds[count] = kind;
+        sources[count] = source;
+        targets[count] = target;
+        scores[count] = score;
+        count++;
+    }
+
+    // Deltanın uygulanabileceği grafın vertex sayısı
+    public int getBaseVertexCount() {
+        return baseVertexCount;
+    }
+
+    // Delta uygulandıktan sonraki vertex sayısı
+    public int getVertexCount() {
+        return baseVertexCount + newProteins.size();
+    }
+
+    public List<Protein> getNewProteins() {
+        return Collections.unmodifiableList(newProteins);
+    }
+
+    // İşlem (kenar değişikliği) sayısı
+    public int size() {
+        return count;
+    }
+
+    public byte getKind(int i) {
+        return kinds[i];
+    }
+
+    public int getSource(int i) {
+        return sources[i];
+    }
+
+    public int getTarget(int i) {
+        return targets[i];
+    }
+
+    public float getScore(int i) {
+        return scores[i];
+    }
+}
@@ -5,26 +5,38 @@ import java.util.Objects;
 /**
  * Bu sınıf, Graph veri yapısındaki "Vertex" (Düğüm) birimini temsil eder.
  * Her protein benzersiz bir ID'ye sahiptir.
+ *
+ * ID, STRING kalıbına uyuyorsa (Örn: "9606.ENSP00000000233") String olarak değil, tek bir long
+ * olarak paketlenmiş tutulur (bkz. ProteinIds); getId() metni ihtiyaç anında geri üretir.
+ * Böylece protein başına ayrı bir ID String'i ve byte dizisi tutulmaz.
  */
 public class Protein {
-    private String id;    // Protein ID (Örn: "9606.ENSP00000000233")
-    private String name;  // Protein Name (info dosyasından parse edilecek)
+    private final long packedId; // Paketlenmiş ID, kalıba uymuyorsa ProteinIds.NOT_PACKED
+    private final String id;     // Sadece paketlenemeyen ID'ler için, aksi halde null
+    private String name;         // Protein Name (info dosyasından parse edilecek)
 
     public Protein(String id, String name) {
-        this.id = id;
+        long key = ProteinIds.encode(id);
+        this.packedId = key;
+        this.id = key == ProteinIds.NOT_PACKED ? id : null;
         this.name = name;
     }
 
-    public String getId() { return id; }
+    public String getId() {
+        return id != null ? id : ProteinIds.decode(packedId);
+    }
 
     public String getName() { return name; }
 
     public void setName(String name) { this.name = name; }
 
+    // ProteinIndex'in String üretmeden arama yapabilmesi için
+    long packedId() { return packedId; }
+
     @Override
     public String toString() {
         // Eğer isim varsa ismiyle, yoksa sadece ID ile string representation döner.
-        return name != null && !name.isEmpty() ? id + " (" + name + ")" : id;
+        return name != null && !name.isEmpty() ? getId() + " (" + name + ")" : getId();
     }
 
     @Override
@@ -32,15 +44,17 @@ public class Protein {
         if (this == o) return true; // Reference equality kontrolü
         if (o == null || getClass() != o.getClass()) return false; // Type check
         Protein protein = (Protein) o;
-        return Objects.equals(id, protein.id);
+        return packedId == protein.packedId && Objects.equals(id, protein.id);
     }
 
     /**
      * HashMap içinde "Key" olarak kullanıldığında bucket bulmak için gereklidir.
-     * ID üzerinden hash kodu üretilir.
+     * Paketlenmiş ID'den doğrudan üretilir (varargs Objects.hash gibi dizi oluşturmaz).
      */
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        if (id != null) return id.hashCode();
+        long h = packedId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
     }
-}
\ No newline at end of file
+}
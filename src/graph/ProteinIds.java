@@ -0,0 +1,165 @@
+package graph;
+
+import java.nio.ByteBuffer;
+
+/**
+ * STRING protein ID'lerini tek bir long değere paketleyen (encode/decode) yardımcı sınıf.
+ *
+ * "9606.ENSP00000000233" gibi ID'ler üç parçadan oluşur: taxon (9606), Ensembl prefix'i (ENSP) ve
+ * sıfırla doldurulmuş sayı (00000000233). Her protein için ayrı bir String tutmak yerine:
+ *   taxon  : 22 bit (en fazla 4.194.303)
+ *   prefix : 5 bit  (PREFIXES tablosundaki sıra)
+ *   width  : 4 bit  (sayının basamak sayısı; baştaki sıfırlar geri üretilebilsin diye)
+ *   value  : 33 bit (sayının kendisi)
+ * tek bir long'a yazılır. Bu kalıba uymayan ID'ler NOT_PACKED döner ve String olarak saklanmaya devam eder.
+ */
+public final class ProteinIds {
+
+    // Paketlenemeyen ID'ler için; hiçbir geçerli kod bu değeri üretmez (prefix kodu 31 kullanılmaz).
+    public static final long NOT_PACKED = -1L;
+
+    private static final String[] PREFIXES = {
+            "ENSP", "ENSMUSP", "ENSRNOP", "ENSDARP", "ENSGALP", "ENSBTAP", "ENSSSCP", "ENSCAFP",
+            "ENSXETP", "ENSPTRP", "ENSMMUP", "ENSOARP", "ENSECAP", "ENSTRUP", "ENSORLP", "ENSAPLP"
+    };
+
+    private static final int VALUE_BITS = 33;
+    private static final int WIDTH_BITS = 4;
+    private static final int PREFIX_BITS = 5;
+    private static final int TAXON_BITS = 22;
+    private static final long MAX_VALUE = (1L << VALUE_BITS) - 1;
+    private static final int MAX_WIDTH = (1 << WIDTH_BITS) - 1;
+    private static final long MAX_TAXON = (1L << TAXON_BITS) - 1;
+
+    private ProteinIds() {
+    }
+
+    /**
+     * ID'yi paketler; kalıba uymuyorsa NOT_PACKED döner.
+     * Time Complexity: O(ID uzunluğu), nesne üretmez.
+     */
+    public static long encode(CharSequence id) {
+        int length = id.length();
+        int pos = 0;
+
+        // 1. Taxon (baştaki sıfır kabul edilmez, aksi halde decode aynı metni üretmez)
+        long taxon = 0;
+        int taxonStart = pos;
+        while (pos < length && isDigit(id.charAt(pos))) {
+            taxon = taxon * 10 + (id.charAt(pos) - '0');
+            if (taxon > MAX_TAXON) return NOT_PACKED;
+            pos++;
+        }
+        if (pos == taxonStart || pos == length || id.charAt(pos) != '.') return NOT_PACKED;
+        if (id.charAt(taxonStart) == '0' && pos - taxonStart > 1) return NOT_PACKED;
+        pos++;
+
+        // 2. Prefix (harfler)
+        int prefixStart = pos;
+        while (pos < length && !isDigit(id.charAt(pos))) pos++;
+        int prefix = prefixCode(id, prefixStart, pos);
+        if (prefix < 0) return NOT_PACKED;
+
+        // 3. Sayı (ID'nin sonuna kadar sadece rakam)
+        int width = length - pos;
+        if (width == 0 || width > MAX_WIDTH) return NOT_PACKED;
+        long value = 0;
+        for (; pos < length; pos++) {
+            char c = id.charAt(pos);
+            if (!isDigit(c)) return NOT_PACKED;
+            value = value * 10 + (c - '0');
+            if (value > MAX_VALUE) return NOT_PACKED;
+        }
+        return pack(taxon, prefix, width, value);
+    }
+
+    /**
+     * buf[start, end) aralığındaki (ASCII) ID'yi String üretmeden paketler.
+     * Paralel links parser'ı memory-mapped buffer üzerinden doğrudan bunu kullanır.
+     */
+    public static long encode(ByteBuffer buf, int start, int end) {
+        int pos = start;
+
+        long taxon = 0;
+        while (pos < end && isDigit(buf.get(pos))) {
+            taxon = taxon * 10 + (buf.get(pos) - '0');
+            if (taxon > MAX_TAXON) return NOT_PACKED;
+            pos++;
+        }
+        if (pos == start || pos == end || buf.get(pos) != '.') return NOT_PACKED;
+        if (buf.get(start) == '0' && pos - start > 1) return NOT_PACKED;
+        pos++;
+
+        int prefixStart = pos;
+        while (pos < end && !isDigit(buf.get(pos))) pos++;
+        int prefix = prefixCode(buf, prefixStart, pos);
+        if (prefix < 0) return NOT_PACKED;
+
+        int width = end - pos;
+        if (width == 0 || width > MAX_WIDTH) return NOT_PACKED;
+        long value = 0;
+        for (; pos < end; pos++) {
+            byte b = buf.get(pos);
+            if (!isDigit(b)) return NOT_PACKED;
+            value = value * 10 + (b - '0');
+            if (value > MAX_VALUE) return NOT_PACKED;
+        }
+        return pack(taxon, prefix, width, value);
+    }
+
+    // Paketlenmiş değerden orijinal ID metnini geri üretir.
+    public static String decode(long key) {
+        long value = key & MAX_VALUE;
+        int width = (int) (key >>> VALUE_BITS) & MAX_WIDTH;
+        int prefix = (int) (key >>> (VALUE_BITS + WIDTH_BITS)) & ((1 << PREFIX_BITS) - 1);
+        long taxon = key >>> (VALUE_BITS + WIDTH_BITS + PREFIX_BITS);
+
+        StringBuilder sb = new StringBuilder(24);
+        sb.append(taxon).append('.').append(PREFIXES[prefix]);
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) sb.append('0');
+        return sb.append(digits).toString();
+    }
+
+    // Paketlenmiş ID'nin taxon kısmı
+    public static int taxonOf(long key) {
+        return (int) (key >>> (VALUE_BITS + WIDTH_BITS + PREFIX_BITS));
+    }
+
+    private static long pack(long taxon, int prefix, int width, long value) {
+        return (taxon << (VALUE_BITS + WIDTH_BITS + PREFIX_BITS))
+                | ((long) prefix << (VALUE_BITS + WIDTH_BITS))
+                | ((long) width << VALUE_BITS)
+                | value;
+    }
+
+    private static int prefixCode(CharSequence id, int start, int end) {
+        for (int code = 0; code < PREFIXES.length; code++) {
+            String prefix = PREFIXES[code];
+            if (prefix.length() != end - start) continue;
+            boolean match = true;
+            for (int i = 0; i < prefix.length() && match; i++) {
+                match = prefix.charAt(i) == id.charAt(start + i);
+            }
+            if (match) return code;
+        }
+        return -1;
+    }
+
+    private static int prefixCode(ByteBuffer buf, int start, int end) {
+        for (int code = 0; code < PREFIXES.length; code++) {
+            String prefix = PREFIXES[code];
+            if (prefix.length() != end - start) continue;
+            boolean match = true;
+            for (int i = 0; i < prefix.length() && match; i++) {
+                match = prefix.charAt(i) == buf.get(start + i);
+            }
+            if (match) return code;
+        }
+        return -1;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,136 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Protein ID -> dense index eşlemesi.
+ * Paketlenebilen ID'ler (bkz. ProteinIds) primitive long anahtarlı bir open-addressing tabloda tutulur;
+ * Map<String, Integer> gibi her kayıt için String, Integer ve Entry nesnesi oluşturulmaz.
+ * Kalıba uymayan nadir ID'ler için küçük bir HashMap yedeği (fallback) kullanılır.
+ *
+ * Thread-safe değildir; sahibi olan graf erişimi senkronize eder.
+ */
+public final class ProteinIndex {
+
+    private static final long EMPTY = ProteinIds.NOT_PACKED; // Paketlenmiş hiçbir ID bu değeri almaz
+    private static final double MAX_LOAD = 0.7;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int packedCount;
+    private Map<String, Integer> others; // Paketlenemeyen ID'ler (ilk ihtiyaçta oluşturulur)
+
+    public ProteinIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) (expectedSize / MAX_LOAD)) * 2 - 1);
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private ProteinIndex(ProteinIndex other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.mask = other.mask;
+        this.packedCount = other.packedCount;
+        this.others = other.others == null ? null : new HashMap<>(other.others);
+    }
+
+    // Bağımsız kopya (threshold görünümleri için)
+    public ProteinIndex copy() {
+        return new ProteinIndex(this);
+    }
+
+    /**
+     * Protein'i verilen index ile ekler.
+     * @return Protein zaten varsa mevcut index'i, yeni eklendiyse -1.
+     */
+    public int putIfAbsent(Protein p, int index) {
+        long key = p.packedId();
+        if (key == ProteinIds.NOT_PACKED) {
+            if (others == null) others = new HashMap<>();
+            Integer existing = others.putIfAbsent(p.getId(), index);
+            return existing == null ? -1 : existing;
+        }
+
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = index;
+        packedCount++;
+        if (packedCount > keys.length * MAX_LOAD) grow();
+        return -1;
+    }
+
+    // Protein'in index'i, yoksa -1
+    public int get(Protein p) {
+        long key = p.packedId();
+        return key == ProteinIds.NOT_PACKED ? getOther(p.getId()) : get(key);
+    }
+
+    // ID'nin index'i, yoksa -1
+    public int get(String id) {
+        long key = ProteinIds.encode(id);
+        return key == ProteinIds.NOT_PACKED ? getOther(id) : get(key);
+    }
+
+    // Paketlenmiş ID'nin index'i, yoksa -1
+    public int get(long key) {
+        int slot = slotOf(key);
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            if (k == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int getOther(String id) {
+        if (others == null) return -1;
+        Integer index = others.get(id);
+        return index == null ? -1 : index;
+    }
+
+    public int size() {
+        return packedCount + (others == null ? 0 : others.size());
+    }
+
+    // Paketlenemeyen (String olarak tutulan) ID sayısı
+    public int getUnpackedCount() {
+        return others == null ? 0 : others.size();
+    }
+
+    // Yaklaşık bellek kullanımı (byte); fallback kayıtları String + Entry + Integer olarak tahmin edilir
+    public long memoryBytes() {
+        long bytes = 16L + keys.length * 8L + 16L + values.length * 4L;
+        if (others != null) bytes += others.size() * 96L;
+        return bytes;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) continue;
+            int slot = slotOf(oldKeys[i]);
+            while (keys[slot] != EMPTY) slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    // Fibonacci hashing: ardışık ENSP numaraları tabloya dağılsın diye üst bitler kullanılır
+    private int slotOf(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
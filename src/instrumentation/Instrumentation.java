@@ -0,0 +1,222 @@
+package instrumentation;
+
+import graph.AdjacencyIndexStats;
+import graph.CSRGraph;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.WeakReference;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runtime metrics of the application: per-phase load timings (PhaseStats), latency histograms per query type
+ * (LatencyHistogram) and a heap estimate of the loaded graph. Everything is exposed as JMX MBeans under the
+ * "stringppi" domain and as a plain-text dump (menu, batch --metrics, server /metrics).
+ *
+ * Recording is off unless -Dppi.metrics=true is given or setEnabled(true) is called (menu, --metrics flag,
+ * JMX). Instrumented code follows one pattern:
+ *
+ *   private static final LatencyHistogram LATENCY = Instrumentation.latency("traversal.bfs");
+ *   long start = Instrumentation.start();
+ *   ... work ...
+ *   LATENCY.record(start);
+ *
+ * While disabled, start() is a single volatile read returning NOT_TIMED and record() returns on the first
+ * comparison: no clock reads, no allocation, no shared writes.
+ */
+public final class Instrumentation {
+
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+
+    static final String JMX_DOMAIN = "stringppi";
+
+    private static volatile boolean enabled = Boolean.getBoolean("ppi.metrics");
+
+    private static final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private static final Map<String, PhaseStats> phases = new ConcurrentHashMap<>();
+    private static volatile WeakReference<CSRGraph> watchedGraph = new WeakReference<>(null);
+    private static boolean jmxRegistered;
+
+    static {
+        if (enabled) registerMBeans();
+    }
+
+    private Instrumentation() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+        if (on) registerMBeans();
+    }
+
+    /**
+     * Start time for LatencyHistogram.record / PhaseStats.record, or NOT_TIMED while disabled.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * The histogram for a query type, created on first use. Callers keep it in a static final field.
+     */
+    public static LatencyHistogram latency(String name) {
+        LatencyHistogram histogram = latencies.get(name);
+        if (histogram != null) return histogram;
+        histogram = latencies.computeIfAbsent(name, LatencyHistogram::new);
+        registerIfActive("Latency", name, histogram);
+        return histogram;
+    }
+
+    public static PhaseStats phase(String name) {
+        PhaseStats stats = phases.get(name);
+        if (stats != null) return stats;
+        stats = phases.computeIfAbsent(name, PhaseStats::new);
+        registerIfActive("Phase", name, stats);
+        return stats;
+    }
+
+    /**
+     * The graph whose heap footprint is reported. Only a weak reference is kept, so a replaced graph can be
+     * collected; threshold views share storage with their base graph, so the base graph should be passed.
+     */
+    public static void watchGraph(CSRGraph graph) {
+        watchedGraph = new WeakReference<>(graph);
+    }
+
+    static CSRGraph getWatchedGraph() {
+        return watchedGraph.get();
+    }
+
+    public static void reset() {
+        latencies.values().forEach(LatencyHistogram::reset);
+        phases.values().forEach(PhaseStats::reset);
+    }
+
+    /**
+     * Human-readable report of everything recorded so far. Entries without data are left out.
+     */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Instrumentation (").append(enabled ? "enabled" : "disabled").append(") ===\n");
+
+        sb.append("Load / build phases:\n");
+        sb.append(String.format(Locale.ROOT, "  %-28s %6s %10s %12s %14s %10s %10s%n",
+                "phase", "runs", "last ms", "items", "items/sec", "MB", "MB/sec"));
+        int phaseRows = 0;
+        for (PhaseStats stats : new TreeMap<>(phases).values()) {
+            if (stats.getRuns() == 0) continue;
+            phaseRows++;
+            sb.append(String.format(Locale.ROOT, "  %-28s %6d %10.1f %12d %14.0f %10.1f %10.1f%n", stats.getName(), stats.getRuns(),
+                    stats.getLastMillis(), stats.getLastItems(), stats.getItemsPerSecond(),
+                    stats.getLastBytes() / 1e6, stats.getBytesPerSecond() / 1e6));
+        }
+        if (phaseRows == 0) sb.append("  (none recorded)\n");
+        sb.append("  ").append(AdjacencyIndexStats.summary()).append('\n');
+
+        sb.append("Query latencies (us):\n");
+        sb.append(String.format(Locale.ROOT, "  %-28s %8s %10s %10s %10s %10s %10s%n",
+                "query", "count", "mean", "p50", "p90", "p99", "max"));
+        int latencyRows = 0;
+        for (LatencyHistogram histogram : new TreeMap<>(latencies).values()) {
+            if (histogram.getCount() == 0) continue;
+            latencyRows++;
+            sb.append(String.format(Locale.ROOT, "  %-28s %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n", histogram.getName(),
+                    histogram.getCount(), histogram.getMeanMicros(), histogram.getP50Micros(),
+                    histogram.getP90Micros(), histogram.getP99Micros(), histogram.getMaxMicros()));
+        }
+        if (latencyRows == 0) sb.append("  (none recorded)\n");
+
+        sb.append("Memory:\n");
+        CSRGraph graph = getWatchedGraph();
+        if (graph != null) {
+            long bytes = graph.memoryBytes();
+            sb.append(String.format(Locale.ROOT, "  graph: %d proteins, %d interactions, ~%.1f MB (%.1f bytes/interaction)%n",
+                    graph.getVertexCount(), graph.getEdgeCount(), bytes / 1e6,
+                    (double) bytes / Math.max(1, graph.getEdgeCount())));
+        } else {
+            sb.append("  graph: not loaded\n");
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        sb.append(String.format(Locale.ROOT, "  JVM heap: %.1f MB used, %.1f MB committed, %.1f MB max%n",
+                heap.getUsed() / 1e6, heap.getCommitted() / 1e6, heap.getMax() / 1e6));
+        return sb.toString();
+    }
+
+    // The control bean and all existing entries are registered on the first enable; later entries on creation
+    private static synchronized void registerMBeans() {
+        if (jmxRegistered) return;
+        jmxRegistered = true;
+        register(JMX_DOMAIN + ":type=Instrumentation", new Control());
+        latencies.forEach((name, histogram) -> register(objectName("Latency", name), histogram));
+        phases.forEach((name, stats) -> register(objectName("Phase", name), stats));
+    }
+
+    private static synchronized void registerIfActive(String type, String name, Object bean) {
+        if (jmxRegistered) register(objectName(type, name), bean);
+    }
+
+    private static String objectName(String type, String name) {
+        return JMX_DOMAIN + ":type=" + type + ",name=" + name;
+    }
+
+    private static void register(String objectName, Object bean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (!server.isRegistered(name)) server.registerMBean(bean, name);
+        } catch (JMException | SecurityException e) {
+            System.err.println("DEBUG: MBean " + objectName + " could not be registered: " + e.getMessage());
+        }
+    }
+
+    private static final class Control implements InstrumentationControlMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return Instrumentation.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean on) {
+            Instrumentation.setEnabled(on);
+        }
+
+        @Override
+        public int getGraphVertexCount() {
+            CSRGraph graph = getWatchedGraph();
+            return graph == null ? 0 : graph.getVertexCount();
+        }
+
+        @Override
+        public int getGraphEdgeCount() {
+            CSRGraph graph = getWatchedGraph();
+            return graph == null ? 0 : graph.getEdgeCount();
+        }
+
+        @Override
+        public long getGraphHeapBytes() {
+            CSRGraph graph = getWatchedGraph();
+            return graph == null ? 0 : graph.memoryBytes();
+        }
+
+        @Override
+        public String dump() {
+            return Instrumentation.dump();
+        }
+
+        @Override
+        public void reset() {
+            Instrumentation.reset();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package instrumentation;
+
+/**
+ * Switch and summary registered as "stringppi:type=Instrumentation": turns recording on or off at runtime,
+ * reports the heap estimate of the loaded graph and returns the same text dump as the menu / server.
+ */
+public interface InstrumentationControlMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    int getGraphVertexCount();
+
+    int getGraphEdgeCount();
+
+    long getGraphHeapBytes();
+
+    String dump();
+
+    void reset();
+}
@@ -0,0 +1,25 @@
+package instrumentation;
+
+/**
+ * JMX view of a LatencyHistogram, registered as "stringppi:type=Latency,name=<query type>".
+ */
+public interface LatencyHistogramMXBean {
+
+    String getName();
+
+    long getCount();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getMaxMicros();
+
+    double getTotalMillis();
+
+    void reset();
+}
@@ -0,0 +1,91 @@
+package instrumentation;
+
+/**
+ * Timing of one load or build phase (for example "load.links"). Keeps the most recent run, which is what a
+ * throughput figure is wanted for, and totals over all runs.
+ *
+ * items are lines for parse phases and edges for build phases; bytes is the input size where there is one.
+ */
+public final class PhaseStats implements PhaseStatsMXBean {
+
+    private final String name;
+    private long runs;
+    private long lastNanos;
+    private long lastItems;
+    private long lastBytes;
+    private long totalNanos;
+
+    PhaseStats(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records a run that began at start (a value from Instrumentation.start()).
+     */
+    public void record(long start, long items, long bytes) {
+        if (start == Instrumentation.NOT_TIMED) return;
+        recordNanos(System.nanoTime() - start, items, bytes);
+    }
+
+    /**
+     * For callers that already measured the phase themselves; ignored while instrumentation is disabled.
+     */
+    public void recordNanos(long nanos, long items, long bytes) {
+        if (!Instrumentation.isEnabled()) return;
+        synchronized (this) {
+            runs++;
+            lastNanos = nanos;
+            lastItems = items;
+            lastBytes = bytes;
+            totalNanos += nanos;
+        }
+    }
+
+    @Override
+    public synchronized long getRuns() {
+        return runs;
+    }
+
+    @Override
+    public synchronized double getLastMillis() {
+        return lastNanos / 1_000_000.0;
+    }
+
+    @Override
+    public synchronized double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    @Override
+    public synchronized long getLastItems() {
+        return lastItems;
+    }
+
+    @Override
+    public synchronized long getLastBytes() {
+        return lastBytes;
+    }
+
+    @Override
+    public synchronized double getItemsPerSecond() {
+        return lastNanos == 0 ? 0.0 : lastItems * 1e9 / lastNanos;
+    }
+
+    @Override
+    public synchronized double getBytesPerSecond() {
+        return lastNanos == 0 ? 0.0 : lastBytes * 1e9 / lastNanos;
+    }
+
+    synchronized void reset() {
+        runs = 0;
+        lastNanos = 0;
+        lastItems = 0;
+        lastBytes = 0;
+        totalNanos = 0;
+    }
+}
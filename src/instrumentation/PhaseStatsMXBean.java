@@ -0,0 +1,23 @@
+package instrumentation;
+
+/**
+ * JMX view of a PhaseStats, registered as "stringppi:type=Phase,name=<phase>".
+ */
+public interface PhaseStatsMXBean {
+
+    String getName();
+
+    long getRuns();
+
+    double getLastMillis();
+
+    double getTotalMillis();
+
+    long getLastItems();
+
+    long getLastBytes();
+
+    double getItemsPerSecond();
+
+    double getBytesPerSecond();
+}
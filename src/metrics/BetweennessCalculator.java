@@ -0,0 +1,246 @@
+package metrics;
+
+import algorithms.IndexedMinHeap;
+import graph.CSRGraph;
+import instrumentation.Instrumentation;
+import instrumentation.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Betweenness centrality with Brandes' algorithm on the CSR arrays (directed shortest paths).
+ *
+ * Every source runs one shortest-path search (BFS for hop counts, Dijkstra for -log(confidence)
+ * weights) that counts shortest paths, then walks the settled proteins in reverse order and
+ * accumulates dependencies. Predecessor lists are not stored: an edge v -> w lies on a shortest path
+ * when w was settled after v and dist[w] == dist[v] + cost(v, w), which the backward pass re-checks
+ * on v's own row.
+ *
+ * Sources are processed in parallel. Every worker owns an Accumulator (scratch arrays + its own
+ * centrality vector), which are merged once at the end, so there is no sharing between threads.
+ *
+ * Sampling mode runs only k randomly chosen source proteins (pivots) and scales the sums by n / k.
+ * Per protein it also returns the standard error of that estimate, computed from the spread of the
+ * per-source dependencies (with finite-population correction, so it is 0 when k == n).
+ */
+public class BetweennessCalculator {
+
+    private static final LatencyHistogram EXACT_LATENCY = Instrumentation.latency("metrics.betweenness.exact");
+    private static final LatencyHistogram SAMPLED_LATENCY = Instrumentation.latency("metrics.betweenness.sampled");
+
+    private final boolean weighted;
+
+    public BetweennessCalculator(boolean weighted) {
+        this.weighted = weighted;
+    }
+
+    public BetweennessScores exact(CSRGraph csr) {
+        int n = csr.getVertexCount();
+        int[] sources = new int[n];
+        for (int v = 0; v < n; v++) sources[v] = v;
+        long timer = Instrumentation.start();
+        BetweennessScores scores = run(csr, sources, false);
+        EXACT_LATENCY.record(timer);
+        return scores;
+    }
+
+    /**
+     * Estimates betweenness from sampleCount distinct random sources.
+     * Falls back to the exact computation when sampleCount covers the whole graph.
+     */
+    public BetweennessScores sampled(CSRGraph csr, int sampleCount, long seed) {
+        int n = csr.getVertexCount();
+        if (sampleCount >= n) return exact(csr);
+
+        // Partial Fisher-Yates: the first sampleCount entries are a uniform sample without replacement
+        int[] all = new int[n];
+        for (int v = 0; v < n; v++) all[v] = v;
+        Random random = new Random(seed);
+        for (int i = 0; i < sampleCount; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = all[i];
+            all[i] = all[j];
+            all[j] = tmp;
+        }
+        long timer = Instrumentation.start();
+        BetweennessScores scores = run(csr, Arrays.copyOf(all, sampleCount), true);
+        SAMPLED_LATENCY.record(timer);
+        return scores;
+    }
+
+    private BetweennessScores run(CSRGraph csr, int[] sources, boolean sampled) {
+        int n = csr.getVertexCount();
+        String measure = (weighted ? "Weighted " : "") + "Betweenness" + (sampled ? " (sampled)" : "");
+
+        // Edge costs are shared by all workers; computed once
+        double[] costs = weighted ? edgeCosts(csr) : null;
+
+        long start = System.nanoTime();
+        Accumulator total = IntStream.range(0, sources.length).parallel().collect(
+                () -> new Accumulator(csr, costs, sampled),
+                (acc, i) -> acc.addSource(sources[i]),
+                Accumulator::merge);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double sourcesPerSecond = seconds > 0 ? sources.length / seconds : 0;
+
+        System.out.println("DEBUG: " + measure + ": " + sources.length + " sources in "
+                + String.format("%.0f", seconds * 1000) + " ms (" + String.format("%.0f", sourcesPerSecond)
+                + " sources/sec on " + Runtime.getRuntime().availableProcessors() + " cores).");
+
+        if (!sampled) {
+            return new BetweennessScores(csr, measure, total.centrality, null, sources.length, sourcesPerSecond);
+        }
+
+        // Estimate = n * mean(dependency); standard error from the sample variance of the dependencies
+        int k = sources.length;
+        double scale = (double) n / k;
+        double correction = n > 1 ? Math.sqrt((double) (n - k) / (n - 1)) : 0;
+        double[] estimate = new double[n];
+        double[] errors = new double[n];
+        for (int v = 0; v < n; v++) {
+            double sum = total.centrality[v];
+            double mean = sum / k;
+            double variance = k > 1 ? Math.max(0, (total.squares[v] - k * mean * mean) / (k - 1)) : 0;
+            estimate[v] = sum * scale;
+            errors[v] = n * Math.sqrt(variance / k) * correction;
+        }
+        return new BetweennessScores(csr, measure, estimate, errors, k, sourcesPerSecond);
+    }
+
+    private static double[] edgeCosts(CSRGraph csr) {
+        float[] scores = csr.scores();
+        double[] costs = new double[scores.length];
+        IntStream.range(0, scores.length).parallel().forEach(i -> costs[i] = -Math.log(scores[i]));
+        return costs;
+    }
+
+    // Per-worker scratch and partial sums
+    private static class Accumulator {
+        private final int[] offsets;
+        private final int[] rowEnds;
+        private final int[] targets;
+        private final double[] costs;   // null = unweighted
+
+        private final double[] centrality;
+        private final double[] squares; // sum of squared dependencies, only in sampling mode
+
+        private final double[] sigma;
+        private final double[] delta;
+        private final double[] dist;
+        private final int[] settledAt;  // position in the settle order, -1 = not reached
+        private final int[] order;
+        private final IndexedMinHeap heap;
+
+        Accumulator(CSRGraph csr, double[] costs, boolean sampled) {
+            int n = csr.getVertexCount();
+            this.offsets = csr.offsets();
+            this.rowEnds = csr.rowEnds();
+            this.targets = csr.targets();
+            this.costs = costs;
+            this.centrality = new double[n];
+            this.squares = sampled ? new double[n] : null;
+            this.sigma = new double[n];
+            this.delta = new double[n];
+            this.dist = new double[n];
+            this.settledAt = new int[n];
+            this.order = new int[n];
+            this.heap = costs != null ? new IndexedMinHeap(n) : null;
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(settledAt, -1);
+        }
+
+        void addSource(int source) {
+            int count = costs == null ? bfs(source) : dijkstra(source);
+
+            // Dependencies in reverse settle order: successors are always final before their predecessors
+            for (int k = count - 1; k >= 0; k--) {
+                int v = order[k];
+                double coefficient = 0;
+                for (int i = offsets[v]; i < rowEnds[v]; i++) {
+                    int w = targets[i];
+                    if (settledAt[w] > k && dist[w] == dist[v] + cost(i)) {
+                        coefficient += (1 + delta[w]) / sigma[w];
+                    }
+                }
+                delta[v] = sigma[v] * coefficient;
+                if (v != source) {
+                    centrality[v] += delta[v];
+                    if (squares != null) squares[v] += delta[v] * delta[v];
+                }
+            }
+
+            // Reset only what this source touched
+            for (int k = 0; k < count; k++) {
+                int v = order[k];
+                sigma[v] = 0;
+                delta[v] = 0;
+                dist[v] = Double.POSITIVE_INFINITY;
+                settledAt[v] = -1;
+            }
+        }
+
+        private double cost(int edge) {
+            return costs == null ? 1 : costs[edge];
+        }
+
+        // Hop-count shortest paths; the queue order is the settle order
+        private int bfs(int source) {
+            int head = 0;
+            int tail = 0;
+            dist[source] = 0;
+            sigma[source] = 1;
+            settledAt[source] = tail;
+            order[tail++] = source;
+            while (head < tail) {
+                int v = order[head++];
+                double next = dist[v] + 1;
+                for (int i = offsets[v]; i < rowEnds[v]; i++) {
+                    int w = targets[i];
+                    if (settledAt[w] == -1) {
+                        dist[w] = next;
+                        settledAt[w] = tail;
+                        order[tail++] = w;
+                    }
+                    if (dist[w] == next) sigma[w] += sigma[v];
+                }
+            }
+            return tail;
+        }
+
+        // -log(confidence) shortest paths
+        private int dijkstra(int source) {
+            int count = 0;
+            dist[source] = 0;
+            sigma[source] = 1;
+            heap.insertOrDecrease(source, 0);
+            while (!heap.isEmpty()) {
+                int v = heap.poll();
+                settledAt[v] = count;
+                order[count++] = v;
+                for (int i = offsets[v]; i < rowEnds[v]; i++) {
+                    int w = targets[i];
+                    if (settledAt[w] != -1) continue;
+                    double candidate = dist[v] + costs[i];
+                    if (candidate < dist[w]) {
+                        dist[w] = candidate;
+                        sigma[w] = sigma[v];
+                        heap.insertOrDecrease(w, candidate);
+                    } else if (candidate == dist[w]) {
+                        sigma[w] += sigma[v];
+                    }
+                }
+            }
+            return count;
+        }
+
+        Accumulator merge(Accumulator other) {
+            for (int v = 0; v < centrality.length; v++) {
+                centrality[v] += other.centrality[v];
+                if (squares != null) squares[v] += other.squares[v];
+            }
+            return this;
+        }
+    }
+}
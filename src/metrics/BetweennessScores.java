@@ -0,0 +1,34 @@
+package metrics;
+
+import graph.CSRGraph;
+
+/**
+ * Betweenness centrality of every protein. For sampled runs the scores are estimates of the exact
+ * values and every protein also has a standard error.
+ */
+public class BetweennessScores extends CentralityScores {
+
+    private final int sourceCount;
+    private final double[] standardErrors;
+    private final double sourcesPerSecond;
+
+    BetweennessScores(CSRGraph graph, String measure, double[] scores, double[] standardErrors,
+                      int sourceCount, double sourcesPerSecond) {
+        super(graph, measure, scores, new double[0], true);
+        this.standardErrors = standardErrors;
+        this.sourceCount = sourceCount;
+        this.sourcesPerSecond = sourcesPerSecond;
+    }
+
+    // Number of source proteins the dependencies were accumulated from
+    public int getSourceCount() { return sourceCount; }
+
+    public boolean isExact() { return standardErrors == null; }
+
+    // Standard error of the estimate (0 for exact runs)
+    public double getStandardError(int protein) {
+        return standardErrors == null ? 0 : standardErrors[protein];
+    }
+
+    public double getSourcesPerSecond() { return sourcesPerSecond; }
+}
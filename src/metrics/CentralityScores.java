@@ -0,0 +1,76 @@
+package metrics;
+
+import graph.CSRGraph;
+import graph.Protein;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Result of one CentralityCalculator run: a score per protein index plus the convergence history.
+ */
+public class CentralityScores {
+
+    private final CSRGraph graph;
+    private final String measure;
+    private final double[] scores;
+    private final double[] residuals;
+    private final boolean converged;
+
+    CentralityScores(CSRGraph graph, String measure, double[] scores, double[] residuals, boolean converged) {
+        this.graph = graph;
+        this.measure = measure;
+        this.scores = scores;
+        this.residuals = residuals;
+        this.converged = converged;
+    }
+
+    public String getMeasure() { return measure; }
+
+    // Score per protein index. The array is not copied.
+    public double[] getScores() { return scores; }
+
+    public double getScore(int protein) { return scores[protein]; }
+
+    public int getIterations() { return residuals.length; }
+
+    // residuals[i] = L1 change of the score vector in iteration i + 1
+    public double[] getResiduals() { return residuals.clone(); }
+
+    public boolean isConverged() { return converged; }
+
+    /**
+     * Indices of the n highest scoring proteins, best first (ties: lower index first).
+     * Uses a size-n heap, so it does not sort the whole vector.
+     */
+    public int[] topIndices(int n) {
+        n = Math.min(n, scores.length);
+        if (n <= 0) return new int[0];
+
+        // Min-heap on score: the root is the weakest of the current top n
+        PriorityQueue<Integer> heap = new PriorityQueue<>(n, (a, b) -> {
+            int c = Double.compare(scores[a], scores[b]);
+            return c != 0 ? c : Integer.compare(b, a);
+        });
+        for (int v = 0; v < scores.length; v++) {
+            if (heap.size() < n) {
+                heap.add(v);
+            } else if (scores[v] > scores[heap.peek()]) {
+                heap.poll();
+                heap.add(v);
+            }
+        }
+
+        int[] top = new int[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) top[i] = heap.poll();
+        return top;
+    }
+
+    public List<Protein> top(int n) {
+        int[] indices = topIndices(n);
+        List<Protein> proteins = new ArrayList<>(indices.length);
+        for (int v : indices) proteins.add(graph.getProtein(v));
+        return proteins;
+    }
+}
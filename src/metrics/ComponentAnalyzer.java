@@ -0,0 +1,156 @@
+package metrics;
+
+import graph.CSRGraph;
+import instrumentation.Instrumentation;
+import instrumentation.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Connected component analysis on the CSR rows.
+ *
+ * Weakly connected components: parallel, lock-free union-find. Every edge is a union; roots are linked
+ * with a CAS from the larger to the smaller index (so links never form cycles) and finds use path
+ * halving, also with CAS. The rows are processed in parallel, then every protein is mapped to a
+ * dense component id.
+ *
+ * Strongly connected components: Tarjan's algorithm with explicit stacks (protein + row position per
+ * frame) instead of recursion, so deep paths in large, low-threshold graphs can not overflow the stack.
+ */
+public class ComponentAnalyzer {
+
+    private static final LatencyHistogram WEAK_LATENCY = Instrumentation.latency("metrics.components.weak");
+    private static final LatencyHistogram STRONG_LATENCY = Instrumentation.latency("metrics.components.strong");
+
+    public Components weaklyConnected(CSRGraph csr) {
+        long timer = Instrumentation.start();
+        int vertexCount = csr.getVertexCount();
+        int[] offsets = csr.offsets();
+        int[] rowEnds = csr.rowEnds();
+        int[] targets = csr.targets();
+
+        AtomicIntegerArray parent = new AtomicIntegerArray(vertexCount);
+        for (int v = 0; v < vertexCount; v++) parent.set(v, v);
+
+        IntStream.range(0, vertexCount).parallel().forEach(u -> {
+            for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                union(parent, u, targets[i]);
+            }
+        });
+
+        // Dense ids in order of the first protein of every component
+        int[] labels = new int[vertexCount];
+        int[] rootLabel = new int[vertexCount];
+        Arrays.fill(rootLabel, -1);
+        int count = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            int root = find(parent, v);
+            if (rootLabel[root] == -1) rootLabel[root] = count++;
+            labels[v] = rootLabel[root];
+        }
+        Components components = new Components(csr, labels, count);
+        WEAK_LATENCY.record(timer);
+        return components;
+    }
+
+    private static int find(AtomicIntegerArray parent, int v) {
+        while (true) {
+            int p = parent.get(v);
+            if (p == v) return v;
+            int grandParent = parent.get(p);
+            // Path halving; losing the race only means the path is not shortened this time
+            if (p != grandParent) parent.compareAndSet(v, p, grandParent);
+            v = p;
+        }
+    }
+
+    private static void union(AtomicIntegerArray parent, int a, int b) {
+        while (true) {
+            a = find(parent, a);
+            b = find(parent, b);
+            if (a == b) return;
+            // The larger root is linked under the smaller one; retry if it stopped being a root meanwhile
+            if (a < b) {
+                int tmp = a;
+                a = b;
+                b = tmp;
+            }
+            if (parent.compareAndSet(a, a, b)) return;
+        }
+    }
+
+    public Components stronglyConnected(CSRGraph csr) {
+        long timer = Instrumentation.start();
+        int vertexCount = csr.getVertexCount();
+        int[] offsets = csr.offsets();
+        int[] rowEnds = csr.rowEnds();
+        int[] targets = csr.targets();
+
+        int[] index = new int[vertexCount];   // discovery order + 1, 0 = not visited
+        int[] lowLink = new int[vertexCount];
+        boolean[] onStack = new boolean[vertexCount];
+        int[] labels = new int[vertexCount];
+
+        int[] sccStack = new int[vertexCount];
+        int sccTop = 0;
+        int[] callVertex = new int[vertexCount];
+        int[] callEdge = new int[vertexCount]; // next row position to look at for that frame
+        int nextIndex = 1;
+        int count = 0;
+
+        for (int root = 0; root < vertexCount; root++) {
+            if (index[root] != 0) continue;
+
+            int callTop = 0;
+            callVertex[callTop] = root;
+            callEdge[callTop] = offsets[root];
+            callTop++;
+            index[root] = lowLink[root] = nextIndex++;
+            sccStack[sccTop++] = root;
+            onStack[root] = true;
+
+            while (callTop > 0) {
+                int u = callVertex[callTop - 1];
+                int i = callEdge[callTop - 1];
+
+                if (i < rowEnds[u]) {
+                    callEdge[callTop - 1] = i + 1;
+                    int v = targets[i];
+                    if (index[v] == 0) {
+                        // "Recursive call": push a new frame for v
+                        index[v] = lowLink[v] = nextIndex++;
+                        sccStack[sccTop++] = v;
+                        onStack[v] = true;
+                        callVertex[callTop] = v;
+                        callEdge[callTop] = offsets[v];
+                        callTop++;
+                    } else if (onStack[v]) {
+                        lowLink[u] = Math.min(lowLink[u], index[v]);
+                    }
+                    continue;
+                }
+
+                // All edges of u done: u is a root if nothing below reached higher up
+                if (lowLink[u] == index[u]) {
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        onStack[w] = false;
+                        labels[w] = count;
+                    } while (w != u);
+                    count++;
+                }
+                callTop--;
+                if (callTop > 0) {
+                    int caller = callVertex[callTop - 1];
+                    lowLink[caller] = Math.min(lowLink[caller], lowLink[u]);
+                }
+            }
+        }
+        Components components = new Components(csr, labels, count);
+        STRONG_LATENCY.record(timer);
+        return components;
+    }
+}
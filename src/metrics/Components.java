@@ -0,0 +1,66 @@
+package metrics;
+
+import graph.CSRGraph;
+import graph.Protein;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Component labelling of one graph view: every protein gets a component id in 0 .. count-1.
+ * Used for both weakly and strongly connected components.
+ */
+public class Components {
+
+    private final CSRGraph graph;
+    private final int[] labels;
+    private final int[] sizes;
+    private final int largest;
+
+    Components(CSRGraph graph, int[] labels, int count) {
+        this.graph = graph;
+        this.labels = labels;
+        this.sizes = new int[count];
+        for (int label : labels) sizes[label]++;
+
+        int best = -1;
+        for (int c = 0; c < count; c++) {
+            if (best == -1 || sizes[c] > sizes[best]) best = c;
+        }
+        this.largest = best;
+    }
+
+    public int getCount() { return sizes.length; }
+
+    // Component id per protein index. The array is not copied.
+    public int[] getLabels() { return labels; }
+
+    public int getSize(int component) { return sizes[component]; }
+
+    public int getLargestSize() { return largest < 0 ? 0 : sizes[largest]; }
+
+    // Component size -> number of components with that size (ascending sizes)
+    public Map<Integer, Integer> getSizeDistribution() {
+        Map<Integer, Integer> distribution = new TreeMap<>();
+        for (int size : sizes) distribution.merge(size, 1, Integer::sum);
+        return distribution;
+    }
+
+    // Proteins of the largest component, in index order
+    public List<Protein> getLargestMembers() {
+        List<Protein> members = new ArrayList<>(getLargestSize());
+        for (int v = 0; v < labels.length; v++) {
+            if (labels[v] == largest) members.add(graph.getProtein(v));
+        }
+        return members;
+    }
+
+    // Number of proteins that are alone in their component
+    public int getSingletonCount() {
+        int count = 0;
+        for (int size : sizes) if (size == 1) count++;
+        return count;
+    }
+}
@@ -0,0 +1,305 @@
+package metrics;
+
+import algorithms.BfsLevels;
+import algorithms.DirectionOptimizingBFS;
+import graph.CSRGraph;
+import graph.EdgeSet;
+import instrumentation.Instrumentation;
+import instrumentation.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Exact diameter engine (largest finite BFS distance) working on primitive CSR arrays.
+ *
+ * Symmetric graphs (every u -> v has v -> u, as in STRING) are handled per connected component with
+ * iFUB (iterative Fringe Upper Bound): a 4-sweep picks a central vertex u, and the vertices of the
+ * BFS levels of u are processed from the deepest level upwards. The eccentricities of level i give a
+ * lower bound, every vertex above level i has eccentricity at most 2(i - 1), so the search stops as soon
+ * as the lower bound exceeds that value. Usually only a small number of BFS runs is needed.
+ *
+ * Non-symmetric graphs have no such bound, so every vertex is a BFS source (as before), but the runs
+ * are spread across cores.
+ *
+ * The sweeps of large components use the parallel direction-optimizing BFS engine; the many BFS runs
+ * of one iFUB level run in parallel with per-thread scratch arrays.
+ */
+public class DiameterCalculator {
+
+    // Components at least this large are swept with the parallel direction-optimizing BFS
+    private static final int PARALLEL_SWEEP_SIZE = 10_000;
+
+    private static final LatencyHistogram LATENCY = Instrumentation.latency("metrics.diameter");
+
+    private CSRGraph csr;
+    private int[] offsets;
+    private int[] rowEnds;
+    private int[] targets;
+    private int vertexCount;
+    private ThreadLocal<BfsScratch> scratch;
+
+    private final AtomicInteger bfsRuns = new AtomicInteger();
+
+    public int calculate(CSRGraph csr) {
+        long timer = Instrumentation.start();
+        this.csr = csr;
+        this.offsets = csr.offsets();
+        this.rowEnds = csr.rowEnds();
+        this.targets = csr.targets();
+        this.vertexCount = csr.getVertexCount();
+        this.scratch = ThreadLocal.withInitial(() -> new BfsScratch(vertexCount));
+        bfsRuns.set(0);
+
+        if (vertexCount == 0) return 0;
+
+        long start = System.currentTimeMillis();
+        int diameter;
+        if (isSymmetric(csr)) {
+            System.out.println("DEBUG: Graph is symmetric, using iFUB per connected component.");
+            diameter = symmetricDiameter();
+        } else {
+            System.out.println("DEBUG: Graph is not symmetric, running parallel BFS from every vertex.");
+            diameter = directedDiameter();
+        }
+        System.out.println("DEBUG: Diameter " + diameter + " found with " + bfsRuns.get() + " BFS runs in "
+                + (System.currentTimeMillis() - start) + " ms.");
+        LATENCY.record(timer);
+        return diameter;
+    }
+
+    // --- Symmetric graphs: iFUB ---
+
+    private int symmetricDiameter() {
+        int[] component = new int[vertexCount];
+        Arrays.fill(component, -1);
+        int[] queue = new int[vertexCount];
+
+        int diameter = 0;
+        int componentCount = 0;
+        for (int s = 0; s < vertexCount; s++) {
+            if (component[s] != -1) continue;
+
+            // Collect the component of s (queue[0..size) holds its members)
+            int size = 0;
+            int head = 0;
+            component[s] = componentCount;
+            queue[size++] = s;
+            int hub = s;
+            while (head < size) {
+                int u = queue[head++];
+                if (degree(u) > degree(hub)) hub = u;
+                for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                    int v = targets[i];
+                    if (component[v] == -1) {
+                        component[v] = componentCount;
+                        queue[size++] = v;
+                    }
+                }
+            }
+            componentCount++;
+
+            // A component can not beat the current diameter if it has too few vertices
+            if (size - 1 <= diameter) continue;
+
+            int componentDiameter = size <= 2 ? size - 1 : iFub(hub, size);
+            if (componentDiameter > diameter) diameter = componentDiameter;
+        }
+        System.out.println("DEBUG: " + componentCount + " connected components scanned.");
+        return diameter;
+    }
+
+    private int iFub(int hub, int componentSize) {
+        // Sweeps over big components use the parallel direction-optimizing BFS, small ones a plain BFS
+        boolean parallel = componentSize >= PARALLEL_SWEEP_SIZE;
+        // Small components reuse this thread's stamp-based scratch (no per-component V-sized arrays); the sweeps and
+        // the center BFS below are read out before the level loop runs BFS on the same scratch again
+        BfsScratch local = parallel ? null : scratch.get();
+
+        // 4-sweep: two double sweeps, each starting from the middle of the previous diametral path
+        int[] sweep = sweep(hub, parallel, local);
+        int a1 = sweep[1];
+        sweep = sweep(a1, parallel, local);
+        int lowerBound = sweep[0];
+        int r2 = sweep[2];
+
+        sweep = sweep(r2, parallel, local);
+        int a2 = sweep[1];
+        sweep = sweep(a2, parallel, local);
+        lowerBound = Math.max(lowerBound, sweep[0]);
+        int center = sweep[2];
+
+        // Levels of the BFS tree rooted at the center
+        int[] levelStart;
+        int[] byLevel;
+        int eccentricity;
+        if (parallel) {
+            bfsRuns.incrementAndGet();
+            BfsLevels levels = new DirectionOptimizingBFS(csr).run(center);
+            eccentricity = levels.getEccentricity();
+            levelStart = new int[eccentricity + 2];
+            for (int d = 0; d <= eccentricity; d++) levelStart[d + 1] = levelStart[d] + levels.getLevelCount(d);
+            byLevel = new int[levels.getReachedCount()];
+            int[] cursor = Arrays.copyOf(levelStart, eccentricity + 1);
+            int[] distances = levels.getDistances();
+            for (int v = 0; v < vertexCount; v++) {
+                if (distances[v] >= 0) byLevel[cursor[distances[v]]++] = v;
+            }
+        } else {
+            eccentricity = bfs(center, local);
+            levelStart = new int[eccentricity + 2];
+            for (int k = 0; k < local.visitedCount; k++) {
+                levelStart[local.dist[local.order[k]] + 1]++;
+            }
+            for (int d = 0; d <= eccentricity; d++) levelStart[d + 1] += levelStart[d];
+            byLevel = new int[local.visitedCount];
+            int[] cursor = Arrays.copyOf(levelStart, eccentricity + 1);
+            for (int k = 0; k < local.visitedCount; k++) {
+                int v = local.order[k];
+                byLevel[cursor[local.dist[v]]++] = v;
+            }
+        }
+        lowerBound = Math.max(lowerBound, eccentricity);
+
+        int upperBound = 2 * eccentricity;
+        System.out.println("DEBUG: iFUB component of " + componentSize + " proteins, center ecc " + eccentricity
+                + ", bounds [" + lowerBound + ", " + upperBound + "]");
+
+        for (int level = eccentricity; level > 0 && upperBound > lowerBound; level--) {
+            int from = levelStart[level];
+            int to = levelStart[level + 1];
+
+            int levelMax = IntStream.range(from, to).parallel()
+                    .map(k -> bfs(byLevel[k], scratch.get()))
+                    .max().orElse(0);
+            lowerBound = Math.max(lowerBound, levelMax);
+
+            if (lowerBound > 2 * (level - 1)) {
+                upperBound = lowerBound;
+            } else {
+                upperBound = 2 * (level - 1);
+            }
+            System.out.println("DEBUG: iFUB level " + level + " (" + (to - from) + " proteins), bounds ["
+                    + lowerBound + ", " + upperBound + "], BFS runs " + bfsRuns.get());
+        }
+        return lowerBound;
+    }
+
+    /**
+     * One sweep from source.
+     * @return {eccentricity, a farthest vertex, the middle vertex of the BFS path to that farthest vertex}
+     */
+    private int[] sweep(int source, boolean parallel, BfsScratch local) {
+        int eccentricity;
+        int farthest;
+        int[] parent;
+        if (parallel) {
+            bfsRuns.incrementAndGet();
+            BfsLevels levels = new DirectionOptimizingBFS(csr).run(source, Integer.MAX_VALUE, true);
+            eccentricity = levels.getEccentricity();
+            farthest = levels.getFarthest();
+            parent = levels.getParents();
+        } else {
+            eccentricity = bfs(source, local);
+            farthest = local.lastVisited;
+            parent = local.parent;
+        }
+
+        // Walk the BFS parents back half of the way from the farthest vertex
+        int middle = farthest;
+        for (int k = 0; k < eccentricity / 2; k++) middle = parent[middle];
+        return new int[] {eccentricity, farthest, middle};
+    }
+
+    // --- Non-symmetric graphs: parallel BFS from every vertex ---
+
+    private int directedDiameter() {
+        AtomicInteger lowerBound = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        int reportEvery = Math.max(100, vertexCount / 20);
+
+        IntStream.range(0, vertexCount).parallel().forEach(s -> {
+            int ecc = bfs(s, scratch.get());
+            lowerBound.accumulateAndGet(ecc, Math::max);
+            int done = processed.incrementAndGet();
+            if (done % reportEvery == 0) {
+                System.out.println("DEBUG: " + done + "/" + vertexCount + " sources, lower bound " + lowerBound.get());
+            }
+        });
+        return lowerBound.get();
+    }
+
+    // --- Shared helpers ---
+
+    private int degree(int u) {
+        return rowEnds[u] - offsets[u];
+    }
+
+    /**
+     * Checks that every visible edge u -> v has a visible reverse edge v -> u (O(1) edge set lookups).
+     */
+    private boolean isSymmetric(CSRGraph csr) {
+        EdgeSet edgeSet = csr.edgeSet();
+        return IntStream.range(0, vertexCount).parallel().allMatch(u -> {
+            for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                int v = targets[i];
+                int reverse = edgeSet.slotOf(v, u);
+                if (reverse < 0 || reverse >= rowEnds[v]) return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * BFS from source on primitive arrays; returns the eccentricity (largest finite distance).
+     * Distances are valid only for vertices stamped with the current run, so nothing is cleared between runs.
+     */
+    private int bfs(int source, BfsScratch s) {
+        bfsRuns.incrementAndGet();
+        int stamp = ++s.stamp;
+        int head = 0;
+        int tail = 0;
+        s.order[tail++] = source;
+        s.seen[source] = stamp;
+        s.dist[source] = 0;
+        s.parent[source] = -1;
+        int max = 0;
+
+        while (head < tail) {
+            int u = s.order[head++];
+            int d = s.dist[u];
+            if (d > max) max = d;
+            for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                int v = targets[i];
+                if (s.seen[v] != stamp) {
+                    s.seen[v] = stamp;
+                    s.dist[v] = d + 1;
+                    s.parent[v] = u;
+                    s.order[tail++] = v;
+                }
+            }
+        }
+        s.visitedCount = tail;
+        s.lastVisited = s.order[tail - 1];
+        return max;
+    }
+
+    // Per-thread BFS state, reused between runs
+    private static class BfsScratch {
+        final int[] seen;
+        final int[] dist;
+        final int[] parent;
+        final int[] order;
+        int stamp;
+        int visitedCount;
+        int lastVisited;
+
+        BfsScratch(int vertexCount) {
+            this.seen = new int[vertexCount];
+            this.dist = new int[vertexCount];
+            this.parent = new int[vertexCount];
+            this.order = new int[vertexCount];
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package metrics;
+
+import graph.CSRGraph;
+import graph.EdgeSet;
+import graph.GraphDelta;
+import instrumentation.Instrumentation;
+import instrumentation.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * The cheap metrics of one threshold view (edge count, average degree, reciprocity and weakly connected
+ * component membership), kept up to date across CSRGraph.applyDelta instead of being recomputed.
+ *
+ * - Reciprocity: only the unordered pairs {u, v} touched by a delta can change how many of their edges are
+ *   mutual, so each pair's contribution is evaluated on the old and the new view and the difference applied.
+ * - Components: a protein -> component label array plus per-label sizes. A pair that becomes adjacent merges
+ *   two components by relabelling the smaller one. A pair that stops being adjacent may split its component:
+ *   two BFS run in lock step from both endpoints and stop as soon as they meet (still connected) or one of
+ *   them runs out, in which case the exhausted side is the split-off part and gets a new label. Either way the
+ *   work is bounded by the smaller side, not by the component.
+ *
+ * A delta produces new arrays and leaves the old ones untouched, so the view these metrics were last
+ * synchronised with still describes the graph before the delta and serves as the "before" state.
+ * Component labels are not dense (freed labels are reused) and stay stable for components a delta did not touch.
+ */
+public class IncrementalMetrics {
+
+    private static final LatencyHistogram UPDATE_LATENCY = Instrumentation.latency("metrics.incremental.update");
+
+    private CSRGraph view;
+    private long mutualEdges;
+
+    private int[] labels;
+    private int[] sizes; // Component size per label, 0 for unused labels
+    private int[] freeLabels;
+    private int freeCount;
+    private int componentCount;
+    private final TreeMap<Integer, Integer> sizeCounts = new TreeMap<>(); // Component size -> number of components
+
+    // BFS scratch space: a visit stamp per protein and one queue per search direction
+    private int[] visited;
+    private int stamp;
+    private int[] queueA;
+    private int[] queueB;
+
+    // Pairs that stopped being adjacent in the update in progress; processed ones are skipped by the split BFS
+    private long[] splitPairs = new long[0];
+    private boolean[] splitDone = new boolean[0];
+
+    /**
+     * Computes the metrics of the graph once (the base graph is replaced by a read-only view of its current arrays).
+     * Time Complexity: O(V + E)
+     */
+    public IncrementalMetrics(CSRGraph graph) {
+        this.view = graph.getAdjacencyIndex();
+        int vertexCount = view.getVertexCount();
+
+        int[] offsets = view.offsets();
+        int[] rowEnds = view.rowEnds();
+        int[] targets = view.targets();
+        EdgeSet edgeSet = view.edgeSet();
+        this.mutualEdges = IntStream.range(0, vertexCount).parallel().mapToLong(u -> {
+            long mutual = 0;
+            for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                int reverse = edgeSet.slotOf(targets[i], u);
+                if (reverse >= 0 && reverse < rowEnds[targets[i]]) mutual++;
+            }
+            return mutual;
+        }).sum();
+
+        Components weak = new ComponentAnalyzer().weaklyConnected(view);
+        this.labels = Arrays.copyOf(weak.getLabels(), Math.max(16, vertexCount));
+        this.sizes = new int[Math.max(16, weak.getCount())];
+        for (int c = 0; c < weak.getCount(); c++) setSize(c, weak.getSize(c));
+        this.freeLabels = new int[16];
+        this.componentCount = weak.getCount();
+        for (int c = sizes.length - 1; c >= weak.getCount(); c--) pushFree(c);
+
+        this.visited = new int[vertexCount];
+        this.queueA = new int[16];
+        this.queueB = new int[16];
+        view.inOffsets(); // The split/merge searches follow edges in both directions
+    }
+
+    /**
+     * Brings the metrics to the graph after `delta` was applied to the graph these metrics were last synchronised
+     * with (CSRGraph.applyDelta). For a threshold view, pass the new view at the same threshold.
+     * Time Complexity: O(changed pairs) lookups plus the split / merge searches described above
+     */
+    public void update(CSRGraph graph, GraphDelta delta) {
+        CSRGraph next = graph.getAdjacencyIndex();
+        if (next.getVertexCount() != delta.getVertexCount() || view.getVertexCount() != delta.getBaseVertexCount()) {
+            throw new IllegalArgumentException("Delta does not connect the tracked graph to the given graph");
+        }
+        long timer = Instrumentation.start();
+        CSRGraph previous = view;
+
+        // New proteins start as singleton components
+        int vertexCount = next.getVertexCount();
+        if (vertexCount > labels.length) labels = Arrays.copyOf(labels, Math.max(vertexCount, labels.length * 2));
+        for (int v = previous.getVertexCount(); v < vertexCount; v++) {
+            labels[v] = newLabel();
+            setSize(labels[v], 1);
+            componentCount++;
+        }
+        if (visited.length < vertexCount) visited = Arrays.copyOf(visited, labels.length);
+
+        // Distinct unordered pairs touched by the delta
+        long[] pairs = new long[delta.size()];
+        for (int i = 0; i < pairs.length; i++) {
+            int a = delta.getSource(i);
+            int b = delta.getTarget(i);
+            pairs[i] = pack(Math.min(a, b), Math.max(a, b));
+        }
+        pairs = Arrays.stream(pairs).sorted().distinct().toArray();
+
+        PairCounter before = new PairCounter(previous);
+        PairCounter after = new PairCounter(next);
+        long[] splits = new long[pairs.length];
+        long[] joins = new long[pairs.length];
+        int splitCount = 0;
+        int joinCount = 0;
+        for (long pair : pairs) {
+            int a = (int) (pair >>> 32);
+            int b = (int) pair;
+            int ab0 = before.count(a, b);
+            int ba0 = a == b ? ab0 : before.count(b, a);
+            int ab1 = after.count(a, b);
+            int ba1 = a == b ? ab1 : after.count(b, a);
+            mutualEdges += mutual(a, b, ab1, ba1) - mutual(a, b, ab0, ba0);
+
+            if (a == b) continue;
+            boolean adjacentBefore = ab0 + ba0 > 0;
+            boolean adjacentAfter = ab1 + ba1 > 0;
+            if (adjacentBefore && !adjacentAfter) splits[splitCount++] = pair;
+            if (!adjacentBefore && adjacentAfter) joins[joinCount++] = pair;
+        }
+
+        Adjacency oldEdges = splitCount > 0 ? new Adjacency(previous) : null;
+        Adjacency newEdges = joinCount > 0 ? new Adjacency(next) : null;
+
+        // 1. Removals, one edge at a time on the old view (minus the removals handled so far)
+        splitPairs = Arrays.copyOf(splits, splitCount);
+        splitDone = new boolean[splitCount];
+        for (int s = 0; s < splitCount; s++) {
+            splitDone[s] = true;
+            int a = (int) (splitPairs[s] >>> 32);
+            int b = (int) splitPairs[s];
+            if (labels[a] == labels[b]) split(oldEdges, a, b);
+        }
+        splitPairs = new long[0];
+        splitDone = new boolean[0];
+
+        // 2. Additions on the new view: merging relabels the smaller component
+        for (int j = 0; j < joinCount; j++) {
+            int a = (int) (joins[j] >>> 32);
+            int b = (int) joins[j];
+            if (labels[a] != labels[b]) merge(newEdges, a, b);
+        }
+
+        this.view = next;
+        UPDATE_LATENCY.record(timer);
+    }
+
+    // Edges of the pair {a, b} that count as mutual: each direction counts if the other direction exists
+    private static int mutual(int a, int b, int ab, int ba) {
+        if (a == b) return ab;
+        return (ba > 0 ? ab : 0) + (ab > 0 ? ba : 0);
+    }
+
+    // Unordered pair key (smaller index in the high half), sorted for binary search
+    private static long pack(int a, int b) {
+        return ((long) a << 32) | (b & 0xffffffffL);
+    }
+
+    /**
+     * a and b are no longer adjacent. Lock-step BFS from both sides on `graph` without the removed pairs handled so
+     * far; if one side runs out before meeting the other, it is a component of its own.
+     */
+    private void split(Adjacency graph, int a, int b) {
+        int label = labels[a];
+        int sideA = nextStamp();
+        int sideB = nextStamp();
+        visited[a] = sideA;
+        visited[b] = sideB;
+        queueA[0] = a;
+        queueB[0] = b;
+        int headA = 0;
+        int tailA = 1;
+        int headB = 0;
+        int tailB = 1;
+
+        while (true) {
+            if (headA == tailA) {
+                relabel(queueA, tailA, label);
+                return;
+            }
+            if (headB == tailB) {
+                relabel(queueB, tailB, label);
+                return;
+            }
+            tailA = expand(graph, true, queueA[headA++], tailA, sideA, sideB);
+            if (tailA < 0) return; // Met the other side: still connected
+            tailB = expand(graph, false, queueB[headB++], tailB, sideB, sideA);
+            if (tailB < 0) return;
+        }
+    }
+
+    // Queues the unvisited neighbours of u; returns the new queue tail, or -1 if a vertex of the other side was reached
+    private int expand(Adjacency graph, boolean first, int u, int tail, int own, int other) {
+        int[] queue = first ? queueA : queueB;
+        for (int pass = 0; pass < 2; pass++) {
+            int[] row = pass == 0 ? graph.targets : graph.inSources;
+            int start = pass == 0 ? graph.offsets[u] : graph.inOffsets[u];
+            int end = pass == 0 ? graph.rowEnds[u] : graph.inRowEnds[u];
+            for (int i = start; i < end; i++) {
+                int v = row[i];
+                if (visited[v] == own || isRemoved(u, v)) continue;
+                if (visited[v] == other) return -1;
+                visited[v] = own;
+                if (tail == queue.length) {
+                    queue = Arrays.copyOf(queue, tail * 2);
+                    if (first) queueA = queue; else queueB = queue;
+                }
+                queue[tail++] = v;
+            }
+        }
+        return tail;
+    }
+
+    private boolean isRemoved(int u, int v) {
+        if (splitPairs.length == 0) return false;
+        int s = Arrays.binarySearch(splitPairs, pack(Math.min(u, v), Math.max(u, v)));
+        return s >= 0 && splitDone[s];
+    }
+
+    // The split-off proteins leave `label` for a new one
+    private void relabel(int[] members, int count, int label) {
+        int fresh = newLabel();
+        for (int i = 0; i < count; i++) labels[members[i]] = fresh;
+        setSize(label, sizes[label] - count);
+        setSize(fresh, count);
+        componentCount++;
+    }
+
+    // a and b became adjacent: the smaller component is relabelled by a BFS over its own proteins in the new view
+    private void merge(Adjacency graph, int a, int b) {
+        int small = labels[a];
+        int large = labels[b];
+        int start = a;
+        if (sizes[small] > sizes[large]) {
+            small = labels[b];
+            large = labels[a];
+            start = b;
+        }
+        int moved = sizes[small];
+        labels[start] = large;
+        queueA[0] = start;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int u = queueA[head++];
+            for (int pass = 0; pass < 2; pass++) {
+                int[] row = pass == 0 ? graph.targets : graph.inSources;
+                int from = pass == 0 ? graph.offsets[u] : graph.inOffsets[u];
+                int to = pass == 0 ? graph.rowEnds[u] : graph.inRowEnds[u];
+                for (int i = from; i < to; i++) {
+                    int v = row[i];
+                    if (labels[v] != small) continue;
+                    labels[v] = large;
+                    if (tail == queueA.length) queueA = Arrays.copyOf(queueA, tail * 2);
+                    queueA[tail++] = v;
+                }
+            }
+        }
+        setSize(large, sizes[large] + moved);
+        setSize(small, 0);
+        pushFree(small);
+        componentCount--;
+    }
+
+    private int nextStamp() {
+        if (stamp >= Integer.MAX_VALUE - 2) {
+            Arrays.fill(visited, 0);
+            stamp = 0;
+        }
+        return ++stamp;
+    }
+
+    private int newLabel() {
+        if (freeCount == 0) {
+            int old = sizes.length;
+            sizes = Arrays.copyOf(sizes, old * 2);
+            for (int c = sizes.length - 1; c >= old; c--) pushFree(c);
+        }
+        return freeLabels[--freeCount];
+    }
+
+    private void pushFree(int label) {
+        if (freeCount == freeLabels.length) freeLabels = Arrays.copyOf(freeLabels, freeCount * 2);
+        freeLabels[freeCount++] = label;
+    }
+
+    // Keeps the size distribution in step with the per-label sizes
+    private void setSize(int label, int size) {
+        int old = sizes[label];
+        if (old > 0) sizeCounts.computeIfPresent(old, (k, n) -> n == 1 ? null : n - 1);
+        if (size > 0) sizeCounts.merge(size, 1, Integer::sum);
+        sizes[label] = size;
+    }
+
+    // Outgoing and incoming rows of one view, read once per update
+    private static final class Adjacency {
+        final int[] offsets;
+        final int[] rowEnds;
+        final int[] targets;
+        final int[] inOffsets;
+        final int[] inRowEnds;
+        final int[] inSources;
+
+        Adjacency(CSRGraph graph) {
+            this.offsets = graph.offsets();
+            this.rowEnds = graph.rowEnds();
+            this.targets = graph.targets();
+            this.inOffsets = graph.inOffsets();
+            this.inRowEnds = graph.inRowEnds();
+            this.inSources = graph.inSources();
+        }
+    }
+
+    /**
+     * Visible u -> v edges of one view, counted by scanning the shorter of the out-row of u and the in-row of v.
+     * The EdgeSet is not used here: applyDelta leaves it to be rebuilt lazily, and an O(E) rebuild per update
+     * would cost more than the whole incremental step. The transpose is patched by applyDelta instead.
+     */
+    private static final class PairCounter {
+        private final CSRGraph graph;
+        private final int[] offsets;
+        private final int[] rowEnds;
+        private final int[] targets;
+        private final int[] inOffsets;
+        private final int[] inRowEnds;
+        private final int[] inSources;
+
+        PairCounter(CSRGraph graph) {
+            this.graph = graph;
+            this.offsets = graph.offsets();
+            this.rowEnds = graph.rowEnds();
+            this.targets = graph.targets();
+            this.inOffsets = graph.inOffsets();
+            this.inRowEnds = graph.inRowEnds();
+            this.inSources = graph.inSources();
+        }
+
+        int count(int u, int v) {
+            int vertexCount = graph.getVertexCount();
+            if (u >= vertexCount || v >= vertexCount) return 0;
+            int count = 0;
+            if (rowEnds[u] - offsets[u] <= inRowEnds[v] - inOffsets[v]) {
+                for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                    if (targets[i] == v) count++;
+                }
+            } else {
+                for (int i = inOffsets[v]; i < inRowEnds[v]; i++) {
+                    if (inSources[i] == u) count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    // The view the metrics currently describe
+    public CSRGraph getGraph() { return view; }
+
+    public int getVertexCount() { return view.getVertexCount(); }
+
+    public int getEdgeCount() { return view.getEdgeCount(); }
+
+    public double getAverageDegree() {
+        return getVertexCount() == 0 ? 0 : (double) getEdgeCount() / getVertexCount();
+    }
+
+    public long getMutualEdgeCount() { return mutualEdges; }
+
+    // Share of edges whose reverse edge is also visible
+    public double getReciprocity() {
+        return getEdgeCount() == 0 ? 0.0 : (double) mutualEdges / getEdgeCount();
+    }
+
+    public int getComponentCount() { return componentCount; }
+
+    public int getLargestComponentSize() { return sizeCounts.isEmpty() ? 0 : sizeCounts.lastKey(); }
+
+    // Component label of a protein (not dense; equal labels mean the same weakly connected component)
+    public int getComponentOf(int protein) { return labels[protein]; }
+
+    public int getComponentSize(int protein) { return sizes[labels[protein]]; }
+
+    public boolean sameComponent(int a, int b) { return labels[a] == labels[b]; }
+
+    // Component size -> number of components with that size (ascending sizes)
+    public Map<Integer, Integer> getSizeDistribution() { return new TreeMap<>(sizeCounts); }
+}
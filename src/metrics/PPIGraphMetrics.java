@@ -1,22 +1,38 @@
 package metrics;
 
 import graph.*;
-import java.util.*;
+import instrumentation.Instrumentation;
+import instrumentation.LatencyHistogram;
+
+import java.util.stream.IntStream;
 
 public class PPIGraphMetrics {
 
+    private static final LatencyHistogram REPORT_LATENCY = Instrumentation.latency("metrics.report");
+    private static final LatencyHistogram RECIPROCITY_LATENCY = Instrumentation.latency("metrics.reciprocity");
+
     public void calculateMetrics(Graph graph) {
+        calculateMetrics(graph, null);
+    }
+
+    /**
+     * Same report; when `live` tracks this graph view, edge count, average degree, reciprocity and the weakly
+     * connected components are read from its incrementally maintained values instead of being recomputed.
+     */
+    public void calculateMetrics(Graph graph, IncrementalMetrics live) {
+        long timer = Instrumentation.start();
         System.out.println("DEBUG: Starting metric calculations...");
 
-        List<Protein> vertices = graph.getVertices();
-        List<Edge> edges = graph.getEdges();
+        // All metrics work on the CSR rows directly
+        CSRGraph csr = graph.getAdjacencyIndex();
+        if (live != null && live.getGraph() != csr) live = null;
 
         // 1. Vertex Count
-        int vertexCount = vertices.size();
+        int vertexCount = csr.getVertexCount();
         System.out.println("1. Vertex Count: " + vertexCount);
 
         // 2. Edge Count
-        int edgeCount = edges.size();
+        int edgeCount = csr.getEdgeCount();
         System.out.println("2. Edge Count: " + edgeCount);
 
         // 3. Average Degree
@@ -24,79 +40,72 @@ public class PPIGraphMetrics {
         System.out.println("3. Average Degree: " + String.format("%.2f", avgDegree));
 
         // 4. Reciprocity
-        System.out.println("DEBUG: Calculating Reciprocity...");
-        double reciprocity = calculateReciprocity(edges);
+        double reciprocity;
+        if (live != null) {
+            reciprocity = live.getReciprocity();
+        } else {
+            System.out.println("DEBUG: Calculating Reciprocity...");
+            reciprocity = calculateReciprocity(csr);
+        }
         System.out.println("4. Reciprocity: " + String.format("%.4f", reciprocity));
 
         // 5. Diameter
-        System.out.println("DEBUG: Calculating Diameter (Iterating all nodes)...");
-        int diameter = calculateDiameter(graph);
+        System.out.println("DEBUG: Calculating Diameter...");
+        int diameter = calculateDiameter(csr);
         System.out.println("5. Diameter: " + diameter);
-    }
-
-    private double calculateReciprocity(List<Edge> edges) {
-        if (edges.isEmpty()) return 0.0;
 
-        Set<String> edgeSet = new HashSet<>();
-        for (Edge e : edges) {
-            edgeSet.add(e.getSource().getId() + "|" + e.getDestination().getId());
+        // 6-7. Fragmentation at the active threshold
+        ComponentAnalyzer analyzer = new ComponentAnalyzer();
+        if (live != null) {
+            System.out.println("6. Weakly Connected Components: " + live.getComponentCount()
+                    + " (largest: " + live.getLargestComponentSize() + " proteins)");
+        } else {
+            Components weak = analyzer.weaklyConnected(csr);
+            System.out.println("6. Weakly Connected Components: " + weak.getCount()
+                    + " (largest: " + weak.getLargestSize() + " proteins)");
         }
-
-        int mutualEdges = 0;
-        for (Edge e : edges) {
-            String reverseKey = e.getDestination().getId() + "|" + e.getSource().getId();
-            if (edgeSet.contains(reverseKey)) {
-                mutualEdges++;
-            }
-        }
-        return (double) mutualEdges / edges.size();
+        Components strong = analyzer.stronglyConnected(csr);
+        System.out.println("7. Strongly Connected Components: " + strong.getCount()
+                + " (largest: " + strong.getLargestSize() + " proteins)");
+
+        // 8-9. Clustering (edge direction ignored)
+        System.out.println("DEBUG: Counting Triangles...");
+        TriangleCounts triangles = new TriangleCounter().count(csr);
+        System.out.println("8. Global Transitivity: " + String.format("%.4f", triangles.getTransitivity())
+                + " (" + triangles.getTriangleCount() + " triangles)");
+        System.out.println("9. Average Local Clustering: " + String.format("%.4f", triangles.getAverageClustering()));
+        REPORT_LATENCY.record(timer);
     }
 
-    private int calculateDiameter(Graph graph) {
-        Map<Protein, List<Protein>> adjMap = new HashMap<>();
-        for (Edge e : graph.getEdges()) {
-            adjMap.putIfAbsent(e.getSource(), new ArrayList<>());
-            adjMap.get(e.getSource()).add(e.getDestination());
-        }
-
-        int maxDistance = 0;
-        int processed = 0;
-
-        for (Protein startNode : graph.getVertices()) {
-            int maxFromNode = bfsMaxDist(startNode, adjMap);
-            if (maxFromNode > maxDistance) {
-                maxDistance = maxFromNode;
+    private double calculateReciprocity(CSRGraph csr) {
+        int[] offsets = csr.offsets();
+        int[] rowEnds = csr.rowEnds();
+        int[] targets = csr.targets();
+        int edgeCount = csr.getEdgeCount();
+        if (edgeCount == 0) return 0.0;
+        long timer = Instrumentation.start();
+
+        // For every edge u -> v, the reverse edge is looked up in the packed-long edge set (O(1), no strings)
+        EdgeSet edgeSet = csr.edgeSet();
+        System.out.println("DEBUG: Edge set " + String.format("%.1f", edgeSet.memoryBytes() / (1024.0 * 1024.0))
+                + " MB (" + String.format("%.1f", (double) edgeSet.memoryBytes() / Math.max(1, edgeSet.size()))
+                + " bytes/edge)");
+
+        long mutualEdges = IntStream.range(0, csr.getVertexCount()).parallel().mapToLong(u -> {
+            long mutual = 0;
+            for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                int v = targets[i];
+                int reverse = edgeSet.slotOf(v, u);
+                if (reverse >= 0 && reverse < rowEnds[v]) mutual++;
             }
-
-            processed++;
-            if (processed % 100 == 0) System.out.print(".");
-        }
-        System.out.println();
-        return maxDistance;
+            return mutual;
+        }).sum();
+        RECIPROCITY_LATENCY.record(timer);
+        return (double) mutualEdges / edgeCount;
     }
 
-    private int bfsMaxDist(Protein start, Map<Protein, List<Protein>> adjMap) {
-        Map<Protein, Integer> distances = new HashMap<>();
-        Queue<Protein> queue = new LinkedList<>();
-
-        queue.add(start);
-        distances.put(start, 0);
-        int localMax = 0;
-
-        while (!queue.isEmpty()) {
-            Protein u = queue.poll();
-            int d = distances.get(u);
-            if (d > localMax) localMax = d;
-
-            if (adjMap.containsKey(u)) {
-                for (Protein v : adjMap.get(u)) {
-                    if (!distances.containsKey(v)) {
-                        distances.put(v, d + 1);
-                        queue.add(v);
-                    }
-                }
-            }
-        }
-        return localMax;
+    private int calculateDiameter(CSRGraph csr) {
+        // Exact, pruned (iFUB) and multi-core; see DiameterCalculator
+        return new DiameterCalculator().calculate(csr);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package metrics;
+
+/**
+ * Triangles of the undirected interaction graph (edge direction ignored, duplicates and self loops
+ * removed), with the clustering coefficients derived from them.
+ */
+public class TriangleCounts {
+
+    private final long[] triangles;
+    private final int[] degrees;
+    private final long total;
+
+    TriangleCounts(long[] triangles, int[] degrees) {
+        this.triangles = triangles;
+        this.degrees = degrees;
+        long sum = 0;
+        for (long t : triangles) sum += t;
+        this.total = sum / 3; // every triangle is counted at each of its three corners
+    }
+
+    public long getTriangleCount() { return total; }
+
+    // Triangles the protein takes part in
+    public long getTriangles(int protein) { return triangles[protein]; }
+
+    // Number of distinct partners (in or out) of the protein
+    public int getDegree(int protein) { return degrees[protein]; }
+
+    // Fraction of the protein's partner pairs that interact themselves (0 when it has fewer than 2 partners)
+    public double getLocalClustering(int protein) {
+        long d = degrees[protein];
+        return d < 2 ? 0.0 : 2.0 * triangles[protein] / (d * (d - 1));
+    }
+
+    // Mean of the local clustering coefficients over all proteins
+    public double getAverageClustering() {
+        if (degrees.length == 0) return 0.0;
+        double sum = 0;
+        for (int v = 0; v < degrees.length; v++) sum += getLocalClustering(v);
+        return sum / degrees.length;
+    }
+
+    // Global transitivity: 3 * triangles / connected triples
+    public double getTransitivity() {
+        long triples = 0;
+        for (int d : degrees) triples += (long) d * (d - 1) / 2;
+        return triples == 0 ? 0.0 : 3.0 * total / triples;
+    }
+}
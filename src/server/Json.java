@@ -0,0 +1,58 @@
+package server;
+
+/**
+ * Minimal JSON writer for the query server: appends values to a StringBuilder without an
+ * intermediate object tree. Callers are responsible for commas and brackets.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    // Appends s as a quoted JSON string ("null" for null)
+    static StringBuilder string(StringBuilder sb, String s) {
+        if (s == null) return sb.append("null");
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"');
+    }
+
+    // "name": prefix of an object member
+    static StringBuilder key(StringBuilder sb, String name) {
+        return string(sb, name).append(':');
+    }
+
+    // Finite doubles only; NaN / infinity are not valid JSON
+    static StringBuilder number(StringBuilder sb, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return sb.append("null");
+        return sb.append(value);
+    }
+
+    // Scores are stored as floats; printing them as float keeps "0.999" instead of "0.9990000128746033"
+    static StringBuilder number(StringBuilder sb, float value) {
+        if (Float.isNaN(value) || Float.isInfinite(value)) return sb.append("null");
+        return sb.append(value);
+    }
+
+    static String error(String message) {
+        StringBuilder sb = new StringBuilder("{");
+        key(sb, "error");
+        string(sb, message);
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,577 @@
+package server;
+
+import algorithms.ConfidentPathEngine;
+import algorithms.GraphTraversal;
+import algorithms.PathResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import graph.CSRGraph;
+import graph.EdgeSet;
+import graph.Protein;
+import graph.ProteinIndex;
+import instrumentation.Instrumentation;
+import utils.PPIGraphLoader;
+import utils.ProteinSearchIndex;
+import utils.SearchHit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTP/JSON query server over one loaded graph, so several clients can share a single heap
+ * instead of each running its own Menu process.
+ *
+ * Endpoints (GET, JSON responses; proteins can be given by STRING id, name or alias):
+ *   /search?q=TP53&limit=10                   ranked name / alias / prefix / fuzzy matches
+ *   /interaction?source=A&target=B            direct interaction and its score
+ *   /neighbors?id=A&limit=100                 partners in descending score order
+ *   /path?source=A&target=B                   most confident path
+ *   /traverse?id=A&type=bfs|dfs&maxDepth=3&maxNodes=500
+ *   /health                                   graph size and request counters
+ *   /metrics                                  instrumentation dump (plain text, not JSON)
+ *
+ * The graph is treated as immutable: everything the handlers read (CSR arrays, id table, EdgeSet,
+ * transpose, search index) is prepared in the constructor and published through final fields, so
+ * requests never touch CSRGraph's synchronized methods. Each request runs on a virtual thread when the
+ * runtime has them (Java 21+, looked up reflectively so the code still builds on 17), otherwise on a
+ * fixed pool. Per-request work is bounded: result sizes are capped by maxNodes / MAX_SEARCH_RESULTS
+ * and path / traversal requests are limited to maxInFlight concurrent computations (503 beyond that).
+ */
+public class QueryServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_MAX_NODES = 10_000;
+    public static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_QUERY_LENGTH = 2048;
+
+    private final Protein[] proteins;
+    private final ProteinIndex idTable;
+    private final ProteinSearchIndex searchIndex; // may be null: lookups by id only
+    private final EdgeSet edges;
+    private final int[] offsets;
+    private final int[] rowEnds;
+    private final int[] targets;
+    private final float[] scores;
+    private final int edgeCount;
+    private final ConfidentPathEngine pathEngine;
+    private final GraphTraversal traversal;
+
+    private final int maxNodes;
+    private final Semaphore heavyPermits;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private HttpServer http;
+    private ExecutorService executor;
+    private boolean virtualThreads;
+
+    /**
+     * @param maxNodes    upper bound on proteins returned by /neighbors and visited by /traverse
+     * @param maxInFlight concurrent /path and /traverse computations
+     */
+    public QueryServer(CSRGraph graph, ProteinSearchIndex searchIndex, int maxNodes, int maxInFlight) {
+        CSRGraph csr = graph.getAdjacencyIndex();
+        this.proteins = csr.getVertices().toArray(new Protein[0]);
+        this.idTable = new ProteinIndex(proteins.length);
+        for (int i = 0; i < proteins.length; i++) {
+            idTable.putIfAbsent(proteins[i], i);
+        }
+        this.searchIndex = searchIndex;
+        this.edges = csr.edgeSet();
+        this.offsets = csr.offsets();
+        this.rowEnds = csr.rowEnds();
+        this.targets = csr.targets();
+        this.scores = csr.scores();
+        this.edgeCount = csr.getEdgeCount();
+        this.pathEngine = new ConfidentPathEngine(csr); // builds the transpose up front
+        this.traversal = new GraphTraversal(csr);
+        this.maxNodes = maxNodes;
+        this.heavyPermits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Starts listening on the loopback interface (port 0 picks a free port).
+     * @param fallbackThreads pool size when virtual threads are not available
+     */
+    public synchronized void start(int port, int fallbackThreads) throws IOException {
+        start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), fallbackThreads);
+    }
+
+    public synchronized void start(InetSocketAddress address, int fallbackThreads) throws IOException {
+        if (http != null) throw new IllegalStateException("Server already started");
+        executor = newVirtualThreadExecutor();
+        virtualThreads = executor != null;
+        if (executor == null) executor = Executors.newFixedThreadPool(fallbackThreads);
+
+        // Small JSON responses on keep-alive connections otherwise wait ~40 ms for Nagle / delayed ACK.
+        // Read once when the JDK server's configuration class loads, so it has to be set before create().
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        http = HttpServer.create(address, 0);
+        http.createContext("/search", exchange -> handle(exchange, this::search, false));
+        http.createContext("/interaction", exchange -> handle(exchange, this::interaction, false));
+        http.createContext("/neighbors", exchange -> handle(exchange, this::neighbors, false));
+        http.createContext("/path", exchange -> handle(exchange, this::path, true));
+        http.createContext("/traverse", exchange -> handle(exchange, this::traverse, true));
+        http.createContext("/health", exchange -> handle(exchange, params -> health(), false));
+        http.createContext("/metrics", this::metrics);
+        http.setExecutor(executor);
+        http.start();
+    }
+
+    public synchronized void stop() {
+        if (http == null) return;
+        http.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        http = null;
+    }
+
+    public synchronized int getPort() {
+        return http == null ? -1 : http.getAddress().getPort();
+    }
+
+    public synchronized boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() on Java 21+, null before that
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // --- Request handling ---
+
+    @FunctionalInterface
+    private interface Endpoint {
+        String handle(Map<String, String> params) throws RequestException;
+    }
+
+    // Client error carrying its HTTP status
+    private static class RequestException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        RequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint, boolean heavy) throws IOException {
+        requests.increment();
+        long timer = Instrumentation.start();
+        int status = 200;
+        String body;
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) throw new RequestException(405, "Only GET is supported");
+            String rawQuery = exchange.getRequestURI().getRawQuery();
+            if (rawQuery != null && rawQuery.length() > MAX_QUERY_LENGTH) {
+                throw new RequestException(414, "Query string too long");
+            }
+            Map<String, String> params = parseQuery(rawQuery);
+
+            if (heavy && !heavyPermits.tryAcquire()) {
+                rejected.increment();
+                throw new RequestException(503, "Too many path / traversal requests in flight, retry later");
+            }
+            try {
+                body = endpoint.handle(params);
+            } finally {
+                if (heavy) heavyPermits.release();
+            }
+        } catch (RequestException e) {
+            status = e.status;
+            body = Json.error(e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Query server: request " + exchange.getRequestURI() + " failed: " + e);
+            status = 500;
+            body = Json.error("Internal error");
+        }
+
+        send(exchange, status, body, "application/json; charset=utf-8");
+        if (timer != Instrumentation.NOT_TIMED) {
+            // One histogram per endpoint, e.g. "server.search"
+            Instrumentation.latency("server" + exchange.getHttpContext().getPath().replace('/', '.')).record(timer);
+        }
+    }
+
+    // Plain-text instrumentation dump (same text as the menu), so it can be read with curl or scraped as is
+    private void metrics(HttpExchange exchange) throws IOException {
+        requests.increment();
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            send(exchange, 405, Json.error("Only GET is supported"), "application/json; charset=utf-8");
+            return;
+        }
+        send(exchange, 200, Instrumentation.dump(), "text/plain; charset=utf-8");
+    }
+
+    private static void send(HttpExchange exchange, int status, String body, String contentType) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String required(Map<String, String> params, String name) throws RequestException {
+        String value = params.get(name);
+        if (value == null || value.trim().isEmpty()) throw new RequestException(400, "Missing parameter '" + name + "'");
+        return value.trim();
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue, int min, int max)
+            throws RequestException {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < min || parsed > max) {
+                throw new RequestException(400, "Parameter '" + name + "' must be between " + min + " and " + max);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new RequestException(400, "Parameter '" + name + "' is not a number");
+        }
+    }
+
+    // Protein by STRING id, otherwise by an exact name / alias match of the search index
+    private int resolve(String query) throws RequestException {
+        int index = idTable.get(query);
+        if (index >= 0) return index;
+        if (searchIndex != null) {
+            List<SearchHit> hits = searchIndex.search(query, 1, 0);
+            if (!hits.isEmpty() && hits.get(0).getMatchType() == SearchHit.MatchType.EXACT) return hits.get(0).getIndex();
+        }
+        throw new RequestException(404, "Unknown protein " + query);
+    }
+
+    private void protein(StringBuilder sb, int v) {
+        sb.append('{');
+        Json.key(sb, "id");
+        Json.string(sb, proteins[v].getId());
+        sb.append(',');
+        Json.key(sb, "name");
+        Json.string(sb, proteins[v].getName());
+        sb.append('}');
+    }
+
+    // --- Endpoints ---
+
+    private String search(Map<String, String> params) throws RequestException {
+        String query = required(params, "q");
+        int limit = intParam(params, "limit", 10, 1, MAX_SEARCH_RESULTS);
+
+        StringBuilder sb = new StringBuilder("{");
+        Json.key(sb, "query");
+        Json.string(sb, query);
+        sb.append(',');
+        Json.key(sb, "hits");
+        sb.append('[');
+        if (searchIndex != null) {
+            List<SearchHit> hits = searchIndex.search(query, limit);
+            for (int i = 0; i < hits.size(); i++) {
+                SearchHit hit = hits.get(i);
+                int v = hit.getIndex();
+                if (i > 0) sb.append(',');
+                sb.append('{');
+                Json.key(sb, "id");
+                Json.string(sb, proteins[v].getId());
+                sb.append(',');
+                Json.key(sb, "name");
+                Json.string(sb, proteins[v].getName());
+                sb.append(',');
+                Json.key(sb, "key");
+                Json.string(sb, hit.getKey());
+                sb.append(',');
+                Json.key(sb, "kind");
+                Json.string(sb, hit.getKind().name().toLowerCase(Locale.ROOT));
+                sb.append(',');
+                Json.key(sb, "match");
+                Json.string(sb, hit.getMatchType().name().toLowerCase(Locale.ROOT));
+                sb.append(',');
+                Json.key(sb, "distance").append(hit.getDistance()).append(',');
+                Json.key(sb, "degree").append(rowEnds[v] - offsets[v]);
+                sb.append('}');
+            }
+        } else {
+            int v = idTable.get(query);
+            if (v >= 0) protein(sb, v);
+        }
+        return sb.append("]}").toString();
+    }
+
+    private String interaction(Map<String, String> params) throws RequestException {
+        int source = resolve(required(params, "source"));
+        int target = resolve(required(params, "target"));
+        // Same visibility rule as CSRGraph.hasEdge
+        int slot = edges.slotOf(source, target);
+        boolean exists = slot >= 0 && slot < rowEnds[source];
+
+        StringBuilder sb = new StringBuilder("{");
+        Json.key(sb, "source");
+        protein(sb, source);
+        sb.append(',');
+        Json.key(sb, "target");
+        protein(sb, target);
+        sb.append(',');
+        Json.key(sb, "exists").append(exists);
+        if (exists) {
+            sb.append(',');
+            Json.key(sb, "score");
+            Json.number(sb, scores[slot]);
+        }
+        return sb.append('}').toString();
+    }
+
+    private String neighbors(Map<String, String> params) throws RequestException {
+        int v = resolve(required(params, "id"));
+        int limit = intParam(params, "limit", 100, 0, maxNodes);
+        int degree = rowEnds[v] - offsets[v];
+        int shown = Math.min(limit, degree);
+
+        StringBuilder sb = new StringBuilder("{");
+        Json.key(sb, "protein");
+        protein(sb, v);
+        sb.append(',');
+        Json.key(sb, "degree").append(degree).append(',');
+        Json.key(sb, "truncated").append(shown < degree).append(',');
+        Json.key(sb, "neighbors");
+        sb.append('[');
+        // Rows are sorted by descending score, so the first entries are the most confident partners
+        for (int i = offsets[v]; i < offsets[v] + shown; i++) {
+            if (i > offsets[v]) sb.append(',');
+            sb.append('{');
+            Json.key(sb, "id");
+            Json.string(sb, proteins[targets[i]].getId());
+            sb.append(',');
+            Json.key(sb, "name");
+            Json.string(sb, proteins[targets[i]].getName());
+            sb.append(',');
+            Json.key(sb, "score");
+            Json.number(sb, scores[i]);
+            sb.append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private String path(Map<String, String> params) throws RequestException {
+        int source = resolve(required(params, "source"));
+        int target = resolve(required(params, "target"));
+        PathResult result = pathEngine.findPath(source, target);
+
+        StringBuilder sb = new StringBuilder("{");
+        Json.key(sb, "source");
+        protein(sb, source);
+        sb.append(',');
+        Json.key(sb, "target");
+        protein(sb, target);
+        sb.append(',');
+        Json.key(sb, "found").append(result.isFound()).append(',');
+        Json.key(sb, "settledNodes").append(result.getSettledNodes());
+        if (result.isFound()) {
+            sb.append(',');
+            Json.key(sb, "confidence");
+            Json.number(sb, result.getConfidence());
+            sb.append(',');
+            Json.key(sb, "path");
+            sb.append('[');
+            List<Protein> path = result.getPath();
+            for (int i = 0; i < path.size(); i++) {
+                if (i > 0) sb.append(',');
+                protein(sb, idTable.get(path.get(i)));
+            }
+            sb.append("],");
+            Json.key(sb, "hopScores");
+            sb.append('[');
+            double[] hops = result.getHopScores();
+            for (int i = 0; i < hops.length; i++) {
+                if (i > 0) sb.append(',');
+                Json.number(sb, hops[i]);
+            }
+            sb.append(']');
+        }
+        return sb.append('}').toString();
+    }
+
+    private String traverse(Map<String, String> params) throws RequestException {
+        int start = resolve(required(params, "id"));
+        String type = params.getOrDefault("type", "bfs").toLowerCase(Locale.ROOT);
+        if (!type.equals("bfs") && !type.equals("dfs")) throw new RequestException(400, "type must be bfs or dfs");
+        int maxDepth = intParam(params, "maxDepth", GraphTraversal.UNLIMITED, 0, GraphTraversal.UNLIMITED);
+        int limit = intParam(params, "maxNodes", maxNodes, 1, maxNodes);
+
+        StringBuilder order = new StringBuilder();
+        int visited = type.equals("bfs")
+                ? traversal.bfs(start, maxDepth, limit, (v, depth, parent) -> step(order, v, depth, parent))
+                : traversal.dfs(start, maxDepth, limit, (v, depth, parent) -> step(order, v, depth, parent));
+
+        StringBuilder sb = new StringBuilder("{");
+        Json.key(sb, "start");
+        protein(sb, start);
+        sb.append(',');
+        Json.key(sb, "type");
+        Json.string(sb, type);
+        sb.append(',');
+        Json.key(sb, "visited").append(visited).append(',');
+        Json.key(sb, "truncated").append(visited == limit).append(',');
+        Json.key(sb, "order");
+        return sb.append('[').append(order).append("]}").toString();
+    }
+
+    private boolean step(StringBuilder order, int v, int depth, int parent) {
+        if (order.length() > 0) order.append(',');
+        order.append('{');
+        Json.key(order, "id");
+        Json.string(order, proteins[v].getId());
+        order.append(',');
+        Json.key(order, "depth").append(depth).append(',');
+        Json.key(order, "parent");
+        Json.string(order, parent < 0 ? null : proteins[parent].getId());
+        order.append('}');
+        return true;
+    }
+
+    private String health() {
+        StringBuilder sb = new StringBuilder("{");
+        Json.key(sb, "status");
+        Json.string(sb, "ok");
+        sb.append(',');
+        Json.key(sb, "proteins").append(proteins.length).append(',');
+        Json.key(sb, "interactions").append(edgeCount).append(',');
+        Json.key(sb, "searchIndex").append(searchIndex != null).append(',');
+        Json.key(sb, "virtualThreads").append(usesVirtualThreads()).append(',');
+        Json.key(sb, "requests").append(requests.sum()).append(',');
+        Json.key(sb, "rejected").append(rejected.sum());
+        return sb.append('}').toString();
+    }
+
+    // --- Command line (app.Main --serve) ---
+
+    /**
+     * Loads the graph once and serves it until the process is stopped.
+     * Usage: --serve port [--organism taxon] [--info path] [--links path] [--threshold 0.4]
+     *        [--loader standard|parallel|snapshot] [--bind address] [--threads N] [--max-nodes N] [--max-inflight N]
+     *        [--metrics]
+     * --metrics turns on instrumentation (GET /metrics, JMX); without it /metrics only shows what was recorded.
+     * @return 0 when the server is running, otherwise a non-zero exit code.
+     */
+    public static int run(String[] args) {
+        String organism = PPIGraphLoader.DEFAULT_ORGANISM;
+        String infoPath = null;
+        String linksPath = null;
+        String loader = "parallel";
+        String bind = InetAddress.getLoopbackAddress().getHostAddress();
+        double threshold = 0.0;
+        int port = DEFAULT_PORT;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threads = 4 * cores;
+        int maxNodes = DEFAULT_MAX_NODES;
+        int maxInFlight = 2 * cores;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (option.equals("--metrics")) {
+                    Instrumentation.setEnabled(true);
+                    continue;
+                }
+                if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + option);
+                String value = args[++i];
+                switch (option) {
+                    case "--serve": port = Integer.parseInt(value); break;
+                    case "--organism": organism = value; break;
+                    case "--info": infoPath = value; break;
+                    case "--links": linksPath = value; break;
+                    case "--loader": loader = value; break;
+                    case "--bind": bind = value; break;
+                    case "--threshold": threshold = Double.parseDouble(value); break;
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    case "--max-nodes": maxNodes = Integer.parseInt(value); break;
+                    case "--max-inflight": maxInFlight = Integer.parseInt(value); break;
+                    default: throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+            if (threshold < 0.0 || threshold > 1.0) throw new IllegalArgumentException("Threshold must be between 0.0 and 1.0");
+            if (port < 0 || port > 65535) throw new IllegalArgumentException("Invalid port " + port);
+            if (threads <= 0 || maxNodes <= 0 || maxInFlight <= 0) {
+                throw new IllegalArgumentException("--threads, --max-nodes and --max-inflight must be positive");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: --serve port [--organism taxon] [--info path] [--links path] [--threshold 0.4] "
+                    + "[--loader standard|parallel|snapshot] [--bind address] [--threads N] [--max-nodes N] [--max-inflight N] "
+                    + "[--metrics]");
+            return 1;
+        }
+
+        if (infoPath == null) infoPath = PPIGraphLoader.defaultInfoPath(organism);
+        if (linksPath == null) linksPath = PPIGraphLoader.defaultLinksPath(organism);
+        infoPath = PPIGraphLoader.withGzipFallback(infoPath);
+        linksPath = PPIGraphLoader.withGzipFallback(linksPath);
+        long loadStart = System.currentTimeMillis();
+        CSRGraph graph = PPIGraphLoader.load(loader, infoPath, linksPath, threshold);
+        if (graph.getVertexCount() == 0) {
+            System.err.println("Graph could not be loaded, no proteins in " + infoPath);
+            return 1;
+        }
+        ProteinSearchIndex searchIndex = ProteinSearchIndex.build(graph, ProteinSearchIndex.aliasesPathFor(infoPath));
+        System.out.println("✓ Graph loaded in " + (System.currentTimeMillis() - loadStart) + " ms: "
+                + graph.getVertexCount() + " proteins, " + graph.getEdgeCount() + " interactions");
+
+        QueryServer server = new QueryServer(graph, searchIndex, maxNodes, maxInFlight);
+        try {
+            server.start(new InetSocketAddress(bind, port), threads);
+        } catch (IOException e) {
+            System.err.println("Query server could not start: " + e.getMessage());
+            return 1;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "query-server-shutdown"));
+        System.out.println("✓ Query server listening on http://" + bind + ":" + server.getPort() + " ("
+                + (server.usesVirtualThreads() ? "virtual threads" : threads + " pooled threads") + ", max "
+                + maxNodes + " nodes / " + maxInFlight + " path+traversal requests in flight)");
+        return 0;
+    }
+}
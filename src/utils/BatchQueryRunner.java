@@ -0,0 +1,349 @@
+package utils;
+
+import algorithms.ConfidentPathEngine;
+import algorithms.GraphTraversal;
+import algorithms.PathResult;
+import graph.CSRGraph;
+import graph.EdgeSet;
+import graph.Protein;
+import graph.ProteinIndex;
+import instrumentation.Instrumentation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Menü olmadan (non-interactive) toplu sorgu çalıştırma modu: graf bir kez yüklenir, sorgu dosyası satır satır
+ * okunur, sorgular değişmeyen graf üzerinde bir worker havuzunda paralel çalıştırılır ve sonuçlar girdi sırasıyla
+ * TSV olarak yazılır. Sonunda toplam throughput ve sorgu türü başına gecikme (latency) yüzdelikleri raporlanır.
+ *
+ * Sorgu dosyası (boşluk veya tab ile ayrılmış, '#' ile başlayan satırlar ve boş satırlar atlanır):
+ *   INTERACTION  proteinA  proteinB            -> doğrudan etkileşim var mı, varsa skoru
+ *   PATH         proteinA  proteinB            -> en güvenilir yol ve güven skoru
+ *   KHOP         protein   k                   -> k adım içindeki proteinler (başlangıç hariç)
+ *   BFS          protein   [maxDepth [maxNodes]] -> ziyaret sırası
+ *   DFS          protein   [maxDepth [maxNodes]] -> ziyaret sırası
+ *
+ * Çıktı sütunları: line, type, source, target, status (OK / NOT_FOUND / NO_PATH / ERROR), value, detail.
+ * Bellek sınırlıdır: aynı anda en fazla threads * WINDOW_PER_THREAD sorgu bekler.
+ */
+public class BatchQueryRunner {
+
+    private static final int WINDOW_PER_THREAD = 64;
+    private static final String HEADER = "#line\ttype\tsource\ttarget\tstatus\tvalue\tdetail";
+
+    enum QueryType { INTERACTION, PATH, KHOP, BFS, DFS }
+
+    private final Protein[] proteins;
+    private final ProteinIndex idTable;
+    private final EdgeSet edges;
+    private final int[] rowEnds;
+    private final float[] scores;
+    private final ConfidentPathEngine pathEngine;
+    private final GraphTraversal traversal;
+
+    public BatchQueryRunner(CSRGraph graph) {
+        this.proteins = graph.getVertices().toArray(new Protein[0]);
+
+        // Worker'lar grafın synchronized metodlarında sıraya girmesin diye paylaşılan yapılar baştan hazırlanır
+        // (ParallelLinksParser'daki gibi sadece okunan bir ID tablosu, EdgeSet ve transpose).
+        this.idTable = new ProteinIndex(proteins.length);
+        for (int i = 0; i < proteins.length; i++) {
+            idTable.putIfAbsent(proteins[i], i);
+        }
+        this.edges = graph.edgeSet();
+        this.rowEnds = graph.rowEnds();
+        this.scores = graph.scores();
+        this.pathEngine = new ConfidentPathEngine(graph);
+        this.traversal = new GraphTraversal(graph);
+    }
+
+    /**
+     * app.Main'in "--batch" giriş noktası.
+     * Kullanım: --batch queries.tsv [--organism taxon] [--info path] [--links path] [--threshold 0.4]
+     *           [--out results.tsv] [--threads N] [--loader standard|parallel|snapshot] [--metrics]
+     * --metrics: yükleme fazları ve sorgu gecikmeleri ölçülür, sonunda instrumentation dökümü basılır.
+     * @return Process çıkış kodu (0 başarılı).
+     */
+    public static int run(String[] args) {
+        String queriesPath = null;
+        String organism = PPIGraphLoader.DEFAULT_ORGANISM;
+        String infoPath = null;
+        String linksPath = null;
+        String outPath = null;
+        String loader = "parallel";
+        double threshold = 0.0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean metrics = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (option.equals("--metrics")) {
+                    metrics = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + option);
+                String value = args[++i];
+                switch (option) {
+                    case "--batch": queriesPath = value; break;
+                    case "--organism": organism = value; break;
+                    case "--info": infoPath = value; break;
+                    case "--links": linksPath = value; break;
+                    case "--out": outPath = value; break;
+                    case "--loader": loader = value; break;
+                    case "--threshold": threshold = Double.parseDouble(value); break;
+                    case "--threads": threads = Integer.parseInt(value); break;
+                    default: throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+            if (queriesPath == null) throw new IllegalArgumentException("--batch queries file is required");
+            if (threshold < 0.0 || threshold > 1.0) throw new IllegalArgumentException("Threshold must be between 0.0 and 1.0");
+            if (threads <= 0) throw new IllegalArgumentException("--threads must be positive");
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: --batch queries.tsv [--organism taxon] [--info path] [--links path] [--threshold 0.4] "
+                    + "[--out results.tsv] [--threads N] [--loader standard|parallel|snapshot] [--metrics]");
+            return 1;
+        }
+        if (metrics) Instrumentation.setEnabled(true);
+        if (outPath == null) outPath = queriesPath + ".results.tsv";
+        if (infoPath == null) infoPath = PPIGraphLoader.defaultInfoPath(organism);
+        if (linksPath == null) linksPath = PPIGraphLoader.defaultLinksPath(organism);
+
+        long loadStart = System.currentTimeMillis();
+        CSRGraph graph = PPIGraphLoader.load(loader, infoPath, linksPath, threshold);
+        if (graph.getVertexCount() == 0) {
+            System.err.println("Graph could not be loaded, no proteins in " + infoPath);
+            return 1;
+        }
+        System.out.println("✓ Graph loaded in " + (System.currentTimeMillis() - loadStart) + " ms: "
+                + graph.getVertexCount() + " proteins, " + graph.getEdgeCount() + " interactions");
+
+        try {
+            new BatchQueryRunner(graph).execute(queriesPath, outPath, threads);
+            if (Instrumentation.isEnabled()) System.out.print(Instrumentation.dump());
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Batch query failed: " + e.getMessage());
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch query interrupted: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Sorgu dosyasını çalıştırır ve sonuçları girdi sırasıyla outPath'e yazar.
+     * Okuma ve yazma çağıran thread'de yapılır; sorgular havuzda paralel çalışır.
+     */
+    public void execute(String queriesPath, String outPath, int threads) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<Outcome>> window = new ArrayDeque<>();
+        int maxPending = threads * WINDOW_PER_THREAD;
+        LatencyLog latencies = new LatencyLog();
+        int queries = 0;
+
+        System.out.println("Running batch queries from " + queriesPath + " on " + threads + " worker threads...");
+        long start = System.nanoTime();
+        try (BufferedReader in = PPIGraphLoader.openReader(queriesPath);
+             BufferedWriter out = Files.newBufferedWriter(Paths.get(outPath))) {
+            out.write(HEADER);
+            out.newLine();
+
+            String line;
+            int lineNo = 0;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+
+                int number = lineNo;
+                window.add(pool.submit(() -> answer(number, trimmed)));
+                queries++;
+                // Pencere dolduysa en eski sonuç yazılır (sıra korunur, bellek sınırlı kalır)
+                if (window.size() >= maxPending) write(window.poll(), out, latencies);
+            }
+            while (!window.isEmpty()) write(window.poll(), out, latencies);
+        } finally {
+            pool.shutdownNow();
+        }
+        long nanos = System.nanoTime() - start;
+
+        System.out.println("✓ " + queries + " queries in " + String.format("%.2f", nanos / 1_000_000_000.0) + " s ("
+                + ParallelLinksParser.perSecond(queries, nanos) + " queries/sec), results written to " + outPath);
+        latencies.print();
+    }
+
+    private void write(Future<Outcome> future, BufferedWriter out, LatencyLog latencies)
+            throws IOException, InterruptedException {
+        Outcome outcome;
+        try {
+            outcome = future.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Query failed", e.getCause());
+        }
+        out.write(outcome.row);
+        out.newLine();
+        latencies.record(outcome.type, outcome.nanos);
+    }
+
+    // Tek bir sorgu satırını çalıştırır (worker thread'inde).
+    private Outcome answer(int lineNo, String line) {
+        long start = System.nanoTime();
+        String[] parts = line.split("\\s+");
+        QueryType type = null;
+        String row;
+        try {
+            type = parseType(parts[0]);
+            row = run(type, parts);
+        } catch (IllegalArgumentException e) {
+            // Bilinmeyen tür, eksik argüman veya sayı olmayan parametre (NumberFormatException dahil)
+            type = null;
+            row = cells(parts.length > 0 ? parts[0] : "", parts.length > 1 ? parts[1] : "",
+                    parts.length > 2 ? parts[2] : "", "ERROR", "", e.getMessage());
+        }
+        return new Outcome(lineNo + "\t" + row, type, System.nanoTime() - start);
+    }
+
+    private static QueryType parseType(String name) {
+        try {
+            return QueryType.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown query type " + name);
+        }
+    }
+
+    private String run(QueryType type, String[] parts) {
+        int needed = type == QueryType.BFS || type == QueryType.DFS ? 2 : 3;
+        if (parts.length < needed) throw new IllegalArgumentException(type + " needs " + (needed - 1) + " argument(s)");
+        String sourceId = parts[1];
+        String second = parts.length > 2 ? parts[2] : "";
+
+        int source = idTable.get(sourceId);
+        if (source < 0) return cells(type.name(), sourceId, second, "NOT_FOUND", "", "Unknown protein " + sourceId);
+
+        switch (type) {
+            case INTERACTION: {
+                int target = idTable.get(second);
+                if (target < 0) return cells(type.name(), sourceId, second, "NOT_FOUND", "", "Unknown protein " + second);
+                // Aynı görünürlük kuralı: CSRGraph.hasEdge
+                int slot = edges.slotOf(source, target);
+                boolean exists = slot >= 0 && slot < rowEnds[source];
+                return cells(type.name(), sourceId, second, "OK", String.valueOf(exists),
+                        exists ? String.format(Locale.ROOT, "%.3f", scores[slot]) : "");
+            }
+            case PATH: {
+                int target = idTable.get(second);
+                if (target < 0) return cells(type.name(), sourceId, second, "NOT_FOUND", "", "Unknown protein " + second);
+                PathResult result = pathEngine.findPath(source, target);
+                if (!result.isFound()) return cells(type.name(), sourceId, second, "NO_PATH", "", "");
+                StringBuilder path = new StringBuilder();
+                for (Protein p : result.getPath()) {
+                    if (path.length() > 0) path.append(',');
+                    path.append(p.getId());
+                }
+                return cells(type.name(), sourceId, second, "OK",
+                        String.format(Locale.ROOT, "%.6f", result.getConfidence()), path.toString());
+            }
+            case KHOP: {
+                int k = Integer.parseInt(second);
+                if (k < 0) throw new IllegalArgumentException("k must not be negative");
+                StringBuilder members = new StringBuilder();
+                int[] count = new int[1];
+                traversal.bfs(source, k, GraphTraversal.UNLIMITED, (v, depth, parent) -> {
+                    if (depth == 0) return true; // Başlangıç proteini komşuluğa dahil değil
+                    if (count[0]++ > 0) members.append(',');
+                    members.append(proteins[v].getId());
+                    return true;
+                });
+                return cells(type.name(), sourceId, second, "OK", String.valueOf(count[0]), members.toString());
+            }
+            default: { // BFS, DFS
+                int maxDepth = parts.length > 2 ? Integer.parseInt(parts[2]) : GraphTraversal.UNLIMITED;
+                int maxNodes = parts.length > 3 ? Integer.parseInt(parts[3]) : GraphTraversal.UNLIMITED;
+                StringBuilder order = new StringBuilder();
+                int visited = type == QueryType.BFS
+                        ? traversal.bfs(source, maxDepth, maxNodes, (v, depth, parent) -> append(order, v))
+                        : traversal.dfs(source, maxDepth, maxNodes, (v, depth, parent) -> append(order, v));
+                return cells(type.name(), sourceId, second, "OK", String.valueOf(visited), order.toString());
+            }
+        }
+    }
+
+    private boolean append(StringBuilder order, int v) {
+        if (order.length() > 0) order.append(',');
+        order.append(proteins[v].getId());
+        return true;
+    }
+
+    private static String cells(String... values) {
+        return String.join("\t", values);
+    }
+
+    private static final class Outcome {
+        final String row;
+        final QueryType type; // Geçersiz satırlar için null
+        final long nanos;
+
+        Outcome(String row, QueryType type, long nanos) {
+            this.row = row;
+            this.type = type;
+            this.nanos = nanos;
+        }
+    }
+
+    // Sorgu türü başına gecikmeler; sadece yazan (tek) thread tarafından kullanılır.
+    private static final class LatencyLog {
+        private final Map<QueryType, long[]> samples = new EnumMap<>(QueryType.class);
+        private final Map<QueryType, Integer> counts = new EnumMap<>(QueryType.class);
+        private int invalid;
+
+        void record(QueryType type, long nanos) {
+            if (type == null) {
+                invalid++;
+                return;
+            }
+            long[] values = samples.computeIfAbsent(type, t -> new long[1024]);
+            int count = counts.getOrDefault(type, 0);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                samples.put(type, values);
+            }
+            values[count] = nanos;
+            counts.put(type, count + 1);
+        }
+
+        void print() {
+            System.out.println("Latency per query type (ms):");
+            System.out.println(String.format("  %-12s %8s %10s %10s %10s %10s", "type", "count", "p50", "p90", "p99", "max"));
+            for (Map.Entry<QueryType, long[]> entry : samples.entrySet()) {
+                int count = counts.get(entry.getKey());
+                long[] sorted = Arrays.copyOf(entry.getValue(), count);
+                Arrays.sort(sorted);
+                System.out.println(String.format("  %-12s %8d %10.3f %10.3f %10.3f %10.3f", entry.getKey(), count,
+                        percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted[count - 1] / 1e6));
+            }
+            if (invalid > 0) System.out.println("  Invalid query lines: " + invalid);
+        }
+
+        // Nearest-rank yüzdelik (ms)
+        private static double percentile(long[] sorted, int p) {
+            int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+}
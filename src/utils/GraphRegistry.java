@@ -0,0 +1,393 @@
+package utils;
+
+import graph.CSRGraph;
+import graph.Protein;
+import instrumentation.Instrumentation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Birden fazla organizmanın (Örn: 9606 insan, 10090 fare, 4932 maya) grafını aynı anda bellekte tutan kayıt (registry).
+ * Her organizma NCBI taxon ID'si ile adlandırılır; sorgular hedefledikleri organizmayı get(organism) ile seçer.
+ *
+ * 1. loadAll ile birden fazla organizma eşzamanlı (concurrently) yüklenir.
+ * 2. Protein isimleri tek bir havuzda paylaşılır (intern): organizmalar arasında ve bir organizma içinde tekrar eden
+ *    isimler için tek String tutulur. ID'ler zaten long olarak paketlenmiştir (ProteinIds).
+ * 3. Bellekteki grafların toplam heap kullanımı (CSRGraph.memoryBytes) bütçeyi aşarsa en uzun süredir kullanılmayan
+ *    (LRU) graf binary snapshot olarak diske yazılır ve bellekten çıkarılır (evict). Tekrar istendiğinde snapshot'tan
+ *    açılır; böylece delta ile yapılan değişiklikler de kaybolmaz.
+ *
+ * Bütçe yaklaşık bir sınırdır: memoryBytes paylaşılan isimleri her grafta ayrıca sayar, eşzamanlı yüklemede bütçe her
+ * yükleme bittiğinde uygulanır ve en son kullanılan graf (tek başına bütçeyi aşsa bile) bellekten çıkarılmaz.
+ * Çıkarılan bir grafın threshold görünümlerini tutan kod onu kullanmaya devam edebilir; bellek ancak o referanslar
+ * bırakıldığında geri kazanılır.
+ */
+public class GraphRegistry {
+
+    private final double threshold;
+    private final Path spillDir;
+    private long budgetBytes;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(); // Kayıt sırasıyla
+    private final Map<String, String> names = new HashMap<>();       // Paylaşılan protein isimleri
+    private long clock;                                               // LRU sırası için erişim sayacı
+
+    // Tek bir organizmanın kaynak dosyaları ve durumu
+    private static class Entry {
+        final String organism;
+        final String infoPath;
+        final String linksPath;
+        final String loader;
+        CSRGraph graph;    // Bellekte değilse null
+        Path snapshot;     // Çıkarıldığında yazıldığı snapshot (hiç çıkarılmadıysa null)
+        long bytes;        // Son ölçülen heap kullanımı
+        int vertexCount;
+        int edgeCount;
+        long lastUsed;
+        CompletableFuture<CSRGraph> loading; // Devam eden yükleme (yoksa null)
+
+        Entry(String organism, String infoPath, String linksPath, String loader) {
+            this.organism = organism;
+            this.infoPath = infoPath;
+            this.linksPath = linksPath;
+            this.loader = loader;
+        }
+    }
+
+    /**
+     * @param threshold   grafların yüklendiği threshold (görünümler bunun üzerine alınır)
+     * @param budgetBytes bellekteki grafların toplam heap bütçesi
+     * @param spillDir    çıkarılan grafların snapshot'larının yazıldığı klasör
+     */
+    public GraphRegistry(double threshold, long budgetBytes, Path spillDir) {
+        this.threshold = threshold;
+        this.budgetBytes = budgetBytes;
+        this.spillDir = spillDir;
+    }
+
+    // Varsayılan bütçe: JVM'in en fazla heap'inin yarısı (geri kalanı index'ler ve sorgular için)
+    public static long defaultBudgetBytes() {
+        return Runtime.getRuntime().maxMemory() / 2;
+    }
+
+    /**
+     * Organizmayı kaynak dosyalarıyla kaydeder (yüklemez). Aynı organizma tekrar kaydedilirse eski grafı ve
+     * snapshot'ı bırakılır.
+     * @param loader PPIGraphLoader.load'a verilen loader adı ("standard", "parallel", "snapshot")
+     */
+    public synchronized void register(String organism, String infoPath, String linksPath, String loader) {
+        Entry old = entries.remove(organism);
+        if (old != null && old.snapshot != null) deleteSnapshot(old);
+        entries.put(organism, new Entry(organism, infoPath, linksPath, loader));
+        if (old != null && old.graph != null) rebuildNames();
+    }
+
+    /**
+     * Kayıtlı organizmaları eşzamanlı olarak yükler (her organizma ayrı bir thread'de; parallel loader kendi içinde de
+     * çekirdekleri kullanır). Zaten bellekte olanlar tekrar yüklenmez, yüklenmekte olanlar beklenir.
+     * Her yükleme bittiğinde bütçe uygulanır.
+     * @return Başarıyla yüklenen organizmalar (verilen sırayla).
+     */
+    public List<String> loadAll(List<String> organisms, int threads) throws InterruptedException {
+        List<String> requested = new ArrayList<>();
+        List<CompletableFuture<CSRGraph>> futures = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, organisms.size())));
+        try {
+            for (String organism : organisms) {
+                Entry entry;
+                CompletableFuture<CSRGraph> load;
+                boolean owner = false;
+                synchronized (this) {
+                    entry = entries.get(organism);
+                    if (entry == null) {
+                        System.err.println("Organism is not registered: " + organism);
+                        continue;
+                    }
+                    if (entry.graph != null) {
+                        load = CompletableFuture.completedFuture(entry.graph);
+                    } else {
+                        if (entry.loading == null) {
+                            entry.loading = new CompletableFuture<>();
+                            owner = true;
+                        }
+                        load = entry.loading;
+                    }
+                }
+                if (owner) pool.execute(() -> load(entry, load));
+                requested.add(organism);
+                futures.add(load);
+            }
+
+            List<String> loaded = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    if (futures.get(i).get() != null) loaded.add(requested.get(i));
+                } catch (ExecutionException e) {
+                    System.err.println("Organism " + requested.get(i) + " could not be loaded: " + e.getCause());
+                }
+            }
+            return loaded;
+        } finally {
+            pool.shutdown(); // Başlamış yüklemeler bitsin (bekleyen get çağrıları aynı future'ı bekler)
+        }
+    }
+
+    /**
+     * Organizmanın grafını döndürür; bellekte değilse snapshot'ından (hiç yüklenmediyse kaynak dosyalarından) açar.
+     * Yükleme registry kilidi dışında yapılır: diğer organizmalara erişim beklemez, aynı organizmayı aynı anda
+     * isteyenler (get veya loadAll) tek bir yüklemeyi paylaşır.
+     * Graf en son kullanılan olarak işaretlenir ve bütçe aşılıyorsa diğer graflar çıkarılır.
+     * @return Graf, organizma kayıtlı değilse veya yüklenemezse null.
+     */
+    public CSRGraph get(String organism) {
+        Entry entry;
+        CompletableFuture<CSRGraph> load;
+        boolean owner = false;
+        synchronized (this) {
+            entry = entries.get(organism);
+            if (entry == null) {
+                System.err.println("Organism is not registered: " + organism);
+                return null;
+            }
+            if (entry.graph != null) {
+                entry.lastUsed = ++clock;
+                return entry.graph;
+            }
+            if (entry.loading == null) {
+                entry.loading = new CompletableFuture<>();
+                owner = true;
+            }
+            load = entry.loading;
+        }
+        if (owner) load(entry, load);
+
+        try {
+            CSRGraph graph = load.join();
+            if (graph != null && !owner) {
+                synchronized (this) {
+                    if (entry.graph == graph) entry.lastUsed = ++clock;
+                }
+            }
+            return graph;
+        } catch (CompletionException e) {
+            System.err.println("Organism " + organism + " could not be loaded: " + e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Tek bir yüklemeyi çalıştırır (kilit dışında): önce çıkarıldığında yazılan snapshot, yoksa kaynak dosyalar.
+     * Sonuç install ile kaydedilir ve future tamamlanır; hata olursa future da hatayla tamamlanır.
+     */
+    private void load(Entry entry, CompletableFuture<CSRGraph> future) {
+        CSRGraph graph = null;
+        try {
+            Path snapshot;
+            synchronized (this) {
+                snapshot = entry.snapshot;
+            }
+            if (snapshot != null) {
+                try {
+                    graph = PPIGraphLoader.openSnapshot(snapshot.toString());
+                } catch (IOException e) {
+                    System.err.println("Evicted snapshot could not be opened, reloading sources: " + e.getMessage());
+                }
+            }
+            if (graph == null) graph = loadSources(entry);
+            install(entry, graph);
+        } catch (Throwable t) {
+            synchronized (this) {
+                entry.loading = null;
+            }
+            future.completeExceptionally(t);
+            return;
+        }
+        future.complete(graph);
+    }
+
+    private CSRGraph loadSources(Entry entry) {
+        CSRGraph graph = PPIGraphLoader.load(entry.loader, entry.infoPath, entry.linksPath, threshold);
+        if (graph.getVertexCount() == 0) {
+            System.err.println("Graph could not be loaded, no proteins in " + entry.infoPath);
+            return null;
+        }
+        return graph;
+    }
+
+    // Yüklenen grafı kaydeder (graph null ise sadece yükleme bitmiş sayılır). Bu arada organizma tekrar
+    // kaydedildiyse (register) eski kayda ait graf registry'ye alınmaz, sadece çağırana döner.
+    private synchronized void install(Entry entry, CSRGraph graph) {
+        entry.loading = null;
+        if (graph == null || entries.get(entry.organism) != entry) return;
+        shareNames(graph);
+        entry.graph = graph;
+        entry.lastUsed = ++clock;
+        evictOverBudget(entry);
+    }
+
+    /**
+     * Toplam heap kullanımı bütçenin altına inene kadar en uzun süredir kullanılmayan grafları diske yazar.
+     * keep (en son kullanılan) hiçbir zaman çıkarılmaz. Kullanım her seferinde yeniden ölçülür: index'ler ve
+     * delta'lar grafın boyutunu yüklemeden sonra da değiştirir.
+     */
+    private void evictOverBudget(Entry keep) {
+        long total = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.graph == null) continue;
+            measure(entry);
+            total += entry.bytes;
+        }
+
+        boolean evicted = false;
+        while (total > budgetBytes) {
+            Entry victim = null;
+            for (Entry entry : entries.values()) {
+                if (entry.graph == null || entry == keep) continue;
+                if (victim == null || entry.lastUsed < victim.lastUsed) victim = entry;
+            }
+            if (victim == null || !spill(victim)) break;
+            total -= victim.bytes;
+            evicted = true;
+        }
+        if (evicted) rebuildNames();
+    }
+
+    private static void measure(Entry entry) {
+        entry.bytes = entry.graph.memoryBytes();
+        entry.vertexCount = entry.graph.getVertexCount();
+        entry.edgeCount = entry.graph.getEdgeCount();
+    }
+
+    // Grafı snapshot olarak yazar ve bırakır. Yazılamazsa graf bellekte kalır (bütçe aşılmış olur).
+    private boolean spill(Entry entry) {
+        long start = Instrumentation.start();
+        Path file = spillDir.resolve(entry.organism + ".snapshot");
+        try {
+            Files.createDirectories(spillDir);
+            PPIGraphLoader.saveSnapshot(entry.graph, file.toString(), entry.infoPath, entry.linksPath, threshold);
+        } catch (IOException e) {
+            System.err.println("Organism " + entry.organism + " could not be evicted: " + e.getMessage());
+            return false;
+        }
+        Instrumentation.phase("registry.evict").record(start, entry.edgeCount, PPIGraphLoader.fileBytes(file.toString()));
+        System.out.println("Evicted organism " + entry.organism + " (" + (entry.bytes >> 20) + " MB) to " + file);
+        entry.graph = null;
+        entry.snapshot = file;
+        return true;
+    }
+
+    private void deleteSnapshot(Entry entry) {
+        try {
+            Files.deleteIfExists(entry.snapshot);
+        } catch (IOException e) {
+            System.err.println("Evicted snapshot could not be deleted: " + e.getMessage());
+        }
+    }
+
+    // Grafın isimlerini havuzdaki eşit String'lerle değiştirir (ilk gelen isim paylaşılan kopya olur).
+    private void shareNames(CSRGraph graph) {
+        for (Protein p : graph.getVertices()) {
+            String name = p.getName();
+            if (name == null) continue;
+            String shared = names.putIfAbsent(name, name);
+            if (shared != null && shared != name) p.setName(shared);
+        }
+    }
+
+    // Havuz sadece bellekteki grafların isimlerini tutar; çıkarılan grafların isimleri bırakılır.
+    private void rebuildNames() {
+        names.clear();
+        for (Entry entry : entries.values()) {
+            if (entry.graph != null) shareNames(entry.graph);
+        }
+    }
+
+    public synchronized boolean isRegistered(String organism) {
+        return entries.containsKey(organism);
+    }
+
+    public synchronized List<String> getOrganisms() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    public synchronized String getInfoPath(String organism) {
+        Entry entry = entries.get(organism);
+        return entry == null ? null : entry.infoPath;
+    }
+
+    public synchronized String getLinksPath(String organism) {
+        Entry entry = entries.get(organism);
+        return entry == null ? null : entry.linksPath;
+    }
+
+    /**
+     * STRING protein ID'sinin taxon önekinden (Örn: "10090.ENSMUSP..." -> "10090") kayıtlı organizmayı bulur.
+     * @return Organizma, önek yoksa veya kayıtlı değilse null.
+     */
+    public synchronized String organismOf(String proteinId) {
+        int dot = proteinId.indexOf('.');
+        if (dot <= 0) return null;
+        String organism = proteinId.substring(0, dot);
+        return entries.containsKey(organism) ? organism : null;
+    }
+
+    public synchronized long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    // Yeni bütçe hemen uygulanır; en son kullanılan graf bellekte kalır.
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        Entry latest = null;
+        for (Entry entry : entries.values()) {
+            if (entry.graph != null && (latest == null || entry.lastUsed > latest.lastUsed)) latest = entry;
+        }
+        evictOverBudget(latest);
+    }
+
+    // Bellekteki grafların toplam heap kullanımı (byte)
+    public synchronized long residentBytes() {
+        long total = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.graph != null) total += entry.graph.memoryBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Organizma başına durum tablosu: bellekte / diske çıkarılmış / yüklenmemiş, boyutlar ve paylaşılan isimler.
+     */
+    public synchronized String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-10s %-10s %10s %14s %10s%n", "organism", "state", "proteins", "interactions", "MB"));
+        long total = 0;
+        int proteins = 0;
+        for (Entry entry : entries.values()) {
+            String state = entry.graph != null ? "resident" : entry.loading != null ? "loading"
+                    : entry.snapshot != null ? "evicted" : "not loaded";
+            if (entry.graph != null) {
+                measure(entry);
+                total += entry.bytes;
+                proteins += entry.vertexCount;
+            }
+            sb.append(String.format(Locale.ROOT, "%-10s %-10s %10d %14d %10s%n", entry.organism, state, entry.vertexCount,
+                    entry.edgeCount, entry.graph != null ? String.format(Locale.ROOT, "%.1f", entry.bytes / 1048576.0) : "-"));
+        }
+        sb.append(String.format(Locale.ROOT, "Resident: %.1f MB of %.1f MB budget; %d distinct names shared by %d proteins%n",
+                total / 1048576.0, budgetBytes / 1048576.0, names.size(), proteins));
+        return sb.toString();
+    }
+}
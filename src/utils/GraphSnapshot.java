@@ -0,0 +1,233 @@
+package utils;
+
+import graph.CSRGraph;
+import graph.Protein;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * CSRGraph'ın versiyonlu ve checksum'lı binary snapshot formatı.
+ *
+ * Dosya düzeni (big-endian):
+ *   Header : magic, version, threshold, info/links dosyalarının boyut ve mtime değerleri, V, E
+ *   Body   : protein sözlüğü (id, name), offsets[V + 1], targets[E], scores[E]
+ *   Trailer: Header + Body üzerinden hesaplanan CRC32 (long)
+ *
+ * Açılışta dosya memory-mapped olarak okunur, checksum doğrulanır ve diziler toplu (bulk) kopyalanır.
+ */
+class GraphSnapshot {
+
+    private static final int MAGIC = 0x50504953; // "PPIS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 * 4 + 4 + 4;
+    private static final int BLOCK_BYTES = 1 << 20;
+
+    /** Snapshot'ın hangi kaynak dosyalardan ve hangi threshold ile üretildiğini tutar. */
+    static class SourceStamp {
+        final double threshold;
+        final long infoSize;
+        final long infoModified;
+        final long linksSize;
+        final long linksModified;
+
+        SourceStamp(double threshold, long infoSize, long infoModified, long linksSize, long linksModified) {
+            this.threshold = threshold;
+            this.infoSize = infoSize;
+            this.infoModified = infoModified;
+            this.linksSize = linksSize;
+            this.linksModified = linksModified;
+        }
+
+        static SourceStamp of(Path infoFile, Path linksFile, double threshold) throws IOException {
+            return new SourceStamp(threshold,
+                    Files.size(infoFile), Files.getLastModifiedTime(infoFile).toMillis(),
+                    Files.size(linksFile), Files.getLastModifiedTime(linksFile).toMillis());
+        }
+
+        boolean sameSources(SourceStamp other) {
+            return infoSize == other.infoSize && infoModified == other.infoModified
+                    && linksSize == other.linksSize && linksModified == other.linksModified;
+        }
+    }
+
+    /**
+     * Grafı snapshot dosyasına yazar. Önce geçici dosyaya yazılır, ardından atomik olarak taşınır;
+     * böylece yarıda kalan bir yazma eski snapshot'ı bozmaz.
+     */
+    static void write(CSRGraph graph, SourceStamp stamp, Path snapshotFile) throws IOException {
+        int[] offsets = graph.offsets();
+        int[] rowEnds = graph.rowEnds();
+        int[] targets = graph.targets();
+        float[] scores = graph.scores();
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_BYTES);
+
+            block.putInt(MAGIC);
+            block.putInt(VERSION);
+            block.putDouble(stamp.threshold);
+            block.putLong(stamp.infoSize);
+            block.putLong(stamp.infoModified);
+            block.putLong(stamp.linksSize);
+            block.putLong(stamp.linksModified);
+            block.putInt(vertexCount);
+            block.putInt(edgeCount);
+
+            // Protein sözlüğü: (int uzunluk + UTF-8 byte) çiftleri
+            for (int i = 0; i < vertexCount; i++) {
+                Protein p = graph.getProtein(i);
+                putString(channel, block, crc, p.getId());
+                putString(channel, block, crc, p.getName());
+            }
+
+            // Sadece görünen (threshold üstü) satır aralıkları yazılır; offsets yeniden hesaplanır.
+            int offset = 0;
+            for (int u = 0; u < vertexCount; u++) {
+                ensureRemaining(channel, block, crc, 4);
+                block.putInt(offset);
+                offset += rowEnds[u] - offsets[u];
+            }
+            ensureRemaining(channel, block, crc, 4);
+            block.putInt(offset);
+
+            for (int u = 0; u < vertexCount; u++) {
+                for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                    ensureRemaining(channel, block, crc, 4);
+                    block.putInt(targets[i]);
+                }
+            }
+            for (int u = 0; u < vertexCount; u++) {
+                for (int i = offsets[u]; i < rowEnds[u]; i++) {
+                    ensureRemaining(channel, block, crc, 4);
+                    block.putFloat(scores[i]);
+                }
+            }
+            flush(channel, block, crc);
+
+            // Trailer: checksum
+            block.putLong(crc.getValue());
+            block.flip();
+            while (block.hasRemaining()) channel.write(block);
+        }
+
+        Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Sadece header'ı okur (checksum doğrulamadan). Snapshot'ın güncel olup olmadığına karar vermek için yeterlidir.
+     * @return Header geçersizse veya versiyon farklıysa null.
+     */
+    static SourceStamp readStamp(Path snapshotFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES + 8) return null;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) > 0) { }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) return null;
+            return new SourceStamp(header.getDouble(), header.getLong(), header.getLong(),
+                    header.getLong(), header.getLong());
+        }
+    }
+
+    /**
+     * Snapshot'ı memory-mapped olarak açar, checksum'ı doğrular ve CSRGraph oluşturur.
+     * @throws IOException Dosya bozuksa (magic/version/checksum uyuşmazlığı).
+     */
+    static CSRGraph read(Path snapshotFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB is not supported: " + size);
+            }
+            if (size < HEADER_BYTES + 8) {
+                throw new IOException("Snapshot is truncated");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            // Checksum doğrulaması (trailer hariç tüm içerik)
+            CRC32 crc = new CRC32();
+            ByteBuffer content = buffer.duplicate();
+            content.limit((int) size - 8);
+            crc.update(content);
+            if (crc.getValue() != buffer.getLong((int) size - 8)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+
+            if (buffer.getInt() != MAGIC) throw new IOException("Not a graph snapshot");
+            int version = buffer.getInt();
+            if (version != VERSION) throw new IOException("Unsupported snapshot version: " + version);
+            buffer.position(buffer.position() + 8 + 8 * 4); // threshold ve kaynak damgası
+
+            int vertexCount = buffer.getInt();
+            int edgeCount = buffer.getInt();
+
+            List<Protein> proteins = new ArrayList<>(vertexCount);
+            for (int i = 0; i < vertexCount; i++) {
+                String id = getString(buffer);
+                String name = getString(buffer);
+                proteins.add(new Protein(id, name));
+            }
+
+            int[] offsets = new int[vertexCount + 1];
+            int[] targets = new int[edgeCount];
+            float[] scores = new float[edgeCount];
+
+            buffer.asIntBuffer().get(offsets);
+            buffer.position(buffer.position() + offsets.length * 4);
+            buffer.asIntBuffer().get(targets);
+            buffer.position(buffer.position() + targets.length * 4);
+            buffer.asFloatBuffer().get(scores);
+
+            return new CSRGraph(proteins, offsets, targets, scores);
+        } catch (IllegalArgumentException | BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IOException("Snapshot is corrupted: " + e.getMessage(), e);
+        }
+    }
+
+    private static void putString(FileChannel channel, ByteBuffer block, CRC32 crc, String value) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        ensureRemaining(channel, block, crc, 4 + bytes.length);
+        block.putInt(bytes.length);
+        block.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer block, CRC32 crc, int bytes) throws IOException {
+        if (block.remaining() < bytes) {
+            flush(channel, block, crc);
+        }
+    }
+
+    // Buffer'daki veriyi checksum'a ekler ve dosyaya yazar.
+    private static void flush(FileChannel channel, ByteBuffer block, CRC32 crc) throws IOException {
+        block.flip();
+        crc.update(block.duplicate());
+        while (block.hasRemaining()) channel.write(block);
+        block.clear();
+    }
+}
@@ -0,0 +1,229 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * .gz dosyalarını ayrı bir thread'de açar (inflate) ve parse eden tarafa büyük byte blokları halinde iletir;
+ * böylece decompression ile parse aynı anda ilerler ve açılmış dosyanın diske yazılmasına gerek kalmaz.
+ *
+ * Bloklar satır sınırında biter: bloğun sonunda yarım kalan satır bir sonraki bloğun başına taşınır,
+ * dolayısıyla her blok bağımsız olarak (ayrı thread'lerde) parse edilebilir.
+ * Sabit sayıda buffer dolaşır (free -> inflater -> full -> parser -> free); parser geride kalırsa inflater
+ * boş buffer bekler. Bellek kullanımı yaklaşık blockSize * depth ile sınırlıdır.
+ */
+class GzipBlockReader implements Closeable {
+
+    static final int DEFAULT_BLOCK_SIZE = 4 << 20;
+    static final int DEFAULT_DEPTH = 4;
+    // Tek bir satır bundan uzunsa dosya bozuk sayılır (STRING satırları birkaç yüz byte'tır)
+    static final int MAX_LINE_BYTES = 64 << 20;
+
+    // Kuyrukta dolaşan buffer: data[0, length) aralığı geçerli veridir.
+    static final class Block {
+        byte[] data;
+        int length;
+
+        Block(int size) {
+            this.data = new byte[size];
+        }
+    }
+
+    private static final Block END = new Block(0); // Dosya sonu işareti
+
+    private final InputStream in;
+    private final BlockingQueue<Block> free;
+    private final BlockingQueue<Block> full;
+    private final Thread inflater;
+
+    private volatile IOException failure;
+    private volatile long inflatedBytes;
+    private long waitNanos; // Parser'ın veri beklediği süre (inflate darboğaz mı?)
+
+    private GzipBlockReader(InputStream in, int blockSize, int depth) {
+        this.in = in;
+        this.free = new ArrayBlockingQueue<>(depth);
+        this.full = new ArrayBlockingQueue<>(depth + 1); // + END
+        for (int i = 0; i < depth; i++) free.add(new Block(blockSize));
+
+        this.inflater = new Thread(this::inflateLoop, "gzip-inflater");
+        this.inflater.setDaemon(true);
+        this.inflater.start();
+    }
+
+    static GzipBlockReader open(String path) throws IOException {
+        return open(path, DEFAULT_DEPTH);
+    }
+
+    /**
+     * @param depth Aynı anda dolaşan blok sayısı (inflater'ın ne kadar önden gidebileceği).
+     */
+    static GzipBlockReader open(String path, int depth) throws IOException {
+        InputStream in = new GZIPInputStream(new FileInputStream(path), 1 << 16);
+        return new GzipBlockReader(in, DEFAULT_BLOCK_SIZE, Math.max(2, depth));
+    }
+
+    // STRING indirmeleri ".txt.gz" uzantısıyla gelir
+    static boolean isGzip(String path) {
+        return path.endsWith(".gz");
+    }
+
+    /**
+     * Bir sonraki bloğu döndürür; dosya bittiyse null. İşi biten blok release ile geri verilmelidir.
+     * @throws IOException Inflate sırasında hata oluştuysa (bozuk/eksik .gz dosyası).
+     */
+    Block take() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Block block = full.take();
+        waitNanos += System.nanoTime() - start;
+        if (block == END) {
+            full.offer(END); // Tekrar çağrılırsa yine null dönsün
+            if (failure != null) throw failure;
+            return null;
+        }
+        return block;
+    }
+
+    // Parse edilen bloğu inflater'a geri verir (herhangi bir thread'den çağrılabilir).
+    void release(Block block) {
+        block.length = 0;
+        free.offer(block);
+    }
+
+    long getInflatedBytes() {
+        return inflatedBytes;
+    }
+
+    long getWaitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * Blokları sıralı bir InputStream olarak sunar (BufferedReader ile satır satır okuyan loader'lar için).
+     * Stream kapatılınca reader da kapanır.
+     */
+    InputStream asInputStream() {
+        return new InputStream() {
+            private Block current;
+            private int pos;
+            private boolean done;
+
+            // Mevcut blok bittiyse sıradakini alır; dosya sonunda false döner.
+            private boolean ensureData() throws IOException {
+                while (current == null || pos == current.length) {
+                    if (done) return false;
+                    if (current != null) release(current);
+                    try {
+                        current = take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for gzip data");
+                    }
+                    pos = 0;
+                    if (current == null) {
+                        done = true;
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public int read() throws IOException {
+                return ensureData() ? current.data[pos++] & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) return 0;
+                if (!ensureData()) return -1;
+                int n = Math.min(len, current.length - pos);
+                System.arraycopy(current.data, pos, b, off, n);
+                pos += n;
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                GzipBlockReader.this.close();
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.interrupt();
+        in.close();
+    }
+
+    private void inflateLoop() {
+        try {
+            Block current = free.take();
+            int length = 0; // current.data[0, length): önceki bloktan taşınan yarım satır + yeni veri
+            while (true) {
+                boolean eof = false;
+                while (length < current.data.length) {
+                    int n = in.read(current.data, length, current.data.length - length);
+                    if (n < 0) {
+                        eof = true;
+                        break;
+                    }
+                    length += n;
+                    inflatedBytes += n;
+                }
+                if (eof) {
+                    if (length > 0) { // Son satır '\n' ile bitmeyebilir
+                        current.length = length;
+                        full.put(current);
+                    }
+                    break;
+                }
+
+                int lineEnd = lastLineEnd(current.data, length);
+                if (lineEnd == 0) {
+                    // Tek bir satır bloktan uzun: buffer büyütülüp okumaya devam edilir
+                    if (current.data.length >= MAX_LINE_BYTES) {
+                        throw new IOException("Line longer than " + (MAX_LINE_BYTES >> 20)
+                                + " MB in gzip stream, file is probably corrupted");
+                    }
+                    current.data = Arrays.copyOf(current.data, current.data.length * 2);
+                    continue;
+                }
+
+                Block next = free.take();
+                int tail = length - lineEnd;
+                if (next.data.length <= tail) next.data = new byte[Math.max(next.data.length, tail) * 2];
+                System.arraycopy(current.data, lineEnd, next.data, 0, tail);
+                current.length = lineEnd;
+                full.put(current);
+
+                current = next;
+                length = tail;
+            }
+        } catch (InterruptedException e) {
+            // close() çağrıldı
+        } catch (IOException e) {
+            failure = e;
+        } catch (Throwable t) {
+            // RuntimeException / Error (Örn: OutOfMemoryError) de parser'a iletilir, aksi halde parser sonsuza kadar bekler
+            failure = new IOException("Gzip inflater failed: " + t, t);
+        } finally {
+            full.offer(END);
+        }
+    }
+
+    // data[0, length) içindeki son '\n' karakterinden sonraki offset, yoksa 0
+    private static int lastLineEnd(byte[] data, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (data[i] == '\n') return i + 1;
+        }
+        return 0;
+    }
+}
@@ -1,17 +1,55 @@
 package utils;
 
-import graph.Graph;
+import graph.AdjacencyIndexStats;
+import graph.CSRGraph;
+import graph.DeltaResult;
+import graph.GraphDelta;
 import graph.Protein;
+import algorithms.GraphTraversal;
+import algorithms.KConfidentPaths;
+import algorithms.LandmarkIndex;
 import algorithms.MostConfidentPath;
+import algorithms.PathResult;
 import algorithms.ProteinBFS;
 import algorithms.ProteinDFS;
+import metrics.BetweennessCalculator;
+import metrics.BetweennessScores;
+import metrics.CentralityCalculator;
+import metrics.CentralityScores;
+import metrics.ComponentAnalyzer;
+import metrics.Components;
+import metrics.IncrementalMetrics;
 import metrics.PPIGraphMetrics;
-
+import metrics.TriangleCounter;
+import metrics.TriangleCounts;
+import instrumentation.Instrumentation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.stream.IntStream;
 
 public class Menu {
+    // Yükleme sırasında tüm kenarlar alınır; aktif threshold bir görünümle uygulanır.
+    private static final double MIN_THRESHOLD = 0.0;
+
     private Scanner scanner;
-    private Graph graph;
+    private GraphRegistry registry; // Yüklenen tüm organizmaların grafları (bellek bütçesiyle)
+    private String organism;    // Aktif organizma (NCBI taxon ID'si); sorgular bu organizmanın grafında çalışır
+    private CSRGraph baseGraph; // Aktif organizmanın tüm kenarlarını tutan depolama
+    private CSRGraph graph;     // Aktif threshold görünümü
+    private String infoPath;    // Delta yeni protein eklerse arama index'i aliases dosyasıyla yeniden kurulur
+    private String linksPath;   // Landmark dosyası bu dosyanın yanına yazılır
+    private LandmarkIndex landmarks;
+    private CSRGraph landmarkGraph; // Landmark index'in ait olduğu görünüm
+    private ProteinSearchIndex searchIndex; // İsim / alias / prefix araması (tüm görünümlerde aynı index'ler)
+    private IncrementalMetrics liveMetrics; // Aktif görünümün ucuz metrikleri; delta güncellemelerinde artımlı tutulur
 
     public Menu() {
         this.scanner = new Scanner(System.in);
@@ -28,7 +66,7 @@ public class Menu {
         while (running) {
             try {
                 displayOptions();
-                System.out.print("Your Choice (1-7): ");
+                System.out.print("Your Choice (0-16): ");
 
                 String input = scanner.next();
                 scanner.nextLine(); // Buffer temizleme
@@ -53,11 +91,41 @@ public class Menu {
                         handleTraversals();
                         break;
                     case "7":
+                        handleChangeThreshold();
+                        break;
+                    case "8":
+                        handleLandmarkIndex();
+                        break;
+                    case "9":
+                        handleTopPaths();
+                        break;
+                    case "10":
+                        handleComponents();
+                        break;
+                    case "11":
+                        handleCentrality();
+                        break;
+                    case "12":
+                        handleBetweenness();
+                        break;
+                    case "13":
+                        handleTriangles();
+                        break;
+                    case "14":
+                        handleInstrumentation();
+                        break;
+                    case "15":
+                        handleApplyDelta();
+                        break;
+                    case "16":
+                        handleOrganisms();
+                        break;
+                    case "0":
                         System.out.println("Exiting program... Goodbye!");
                         running = false;
                         break;
                     default:
-                        System.out.println(">> [WARNING] Invalid choice! Please enter 1-7.");
+                        System.out.println(">> [WARNING] Invalid choice! Please enter 0-16.");
                 }
 
                 if (running) {
@@ -76,95 +144,201 @@ public class Menu {
 
     private void displayOptions() {
         System.out.println("\n=== STRING PPI GRAPH SYSTEM MENU ===");
+        if (organism != null) {
+            System.out.println("Active Organism: " + organism + " (threshold " + graph.getActiveThreshold() + ")");
+        }
         System.out.println("1. Load Graph (Start Here)");
         System.out.println("2. Search for Protein");
         System.out.println("3. Check Interaction Between Two Proteins");
         System.out.println("4. Find Most Confident Path");
         System.out.println("5. Calculate Graph Metrics");
         System.out.println("6. BFS & DFS Traversal");
-        System.out.println("7. Exit");
+        System.out.println("7. Change Active Threshold");
+        System.out.println("8. Build / Load Landmark Index (Faster Paths)");
+        System.out.println("9. Find Top-K Most Confident Paths");
+        System.out.println("10. Connected Components Analysis");
+        System.out.println("11. Hub Ranking (PageRank / Eigenvector Centrality)");
+        System.out.println("12. Bottleneck Ranking (Betweenness Centrality)");
+        System.out.println("13. Triangles & Clustering Coefficients");
+        System.out.println("14. Runtime Metrics (Load Phases, Query Latencies, Memory)");
+        System.out.println("15. Apply Update (STRING Version Diff / Delta File)");
+        System.out.println("16. Organisms (Switch Organism / Loaded Graphs / Memory Budget)");
+        System.out.println("0. Exit");
         System.out.println("------------------------------------");
     }
 
     // --- 1. Load Graph ---
+    // Birden fazla organizma eşzamanlı yüklenebilir; daha önce yüklenen organizmalar registry'de kalır.
     private void handleLoadGraph() {
         System.out.println("\n--- LOAD GRAPH ---");
         try {
+            System.out.print("Organisms (NCBI taxon IDs, comma separated, e.g., 9606,10090,4932; default "
+                    + PPIGraphLoader.DEFAULT_ORGANISM + "): ");
+            List<String> organisms = new ArrayList<>();
+            for (String taxon : scanner.nextLine().split(",")) {
+                if (!taxon.trim().isEmpty() && !organisms.contains(taxon.trim())) organisms.add(taxon.trim());
+            }
+            if (organisms.isEmpty()) organisms.add(PPIGraphLoader.DEFAULT_ORGANISM);
+
             System.out.println("Use default file paths? (Y/N)");
             String choice = scanner.nextLine();
 
-            String infoPath = "data/9606.protein.info.v12.0.txt";
-            String linksPath = "data/9606.protein.links.v12.0.txt";
+            List<String[]> paths = new ArrayList<>();
+            for (String taxon : organisms) {
+                String infoPath = PPIGraphLoader.defaultInfoPath(taxon);
+                String linksPath = PPIGraphLoader.defaultLinksPath(taxon);
 
-            if (choice.equalsIgnoreCase("N")) {
-                System.out.print("Enter Protein Info File Path: ");
-                infoPath = scanner.nextLine().trim();
-                System.out.print("Enter Links File Path: ");
-                linksPath = scanner.nextLine().trim();
+                if (choice.equalsIgnoreCase("N")) {
+                    System.out.print("Enter Protein Info File Path for " + taxon + ": ");
+                    infoPath = scanner.nextLine().trim();
+                    System.out.print("Enter Links File Path for " + taxon + ": ");
+                    linksPath = scanner.nextLine().trim();
+                }
+                // Sadece sıkıştırılmış STRING indirmesi (.txt.gz) varsa doğrudan o okunur
+                paths.add(new String[] { PPIGraphLoader.withGzipFallback(infoPath),
+                        PPIGraphLoader.withGzipFallback(linksPath) });
             }
 
             // Threshold Alma - Doğrulama
-            double threshold = -1;
-            boolean validInput = false;
-
-            while (!validInput) {
-                System.out.print("Enter Confidence Score Threshold (0.0 - 1.0): ");
-                String input = scanner.nextLine().trim();
-
-                try {
-                    if (input.isEmpty()) {
-                        System.out.println(">> [WARNING] Threshold cannot be empty. Please enter a value.");
-                        continue;
-                    }
-
-                    double val = Double.parseDouble(input);
-                    if (val < 0.0 || val > 1.0) {
-                        System.out.println(">> [WARNING] Please enter a value between 0.0 and 1.0.");
-                    } else {
-                        threshold = val;
-                        validInput = true;
-                    }
-                } catch (NumberFormatException e) {
-                    System.out.println(">> [WARNING] Invalid number format. Please enter a decimal number (e.g., 0.5).");
-                }
+            double threshold = readThreshold();
+
+            System.out.println("Select Loader: 1. Standard  2. Parallel memory-mapped  3. Binary snapshot cache");
+            String loaderChoice = scanner.nextLine().trim();
+            String loader = loaderChoice.equals("2") ? "parallel" : loaderChoice.equals("3") ? "snapshot" : "standard";
+
+            if (registry == null) {
+                registry = new GraphRegistry(MIN_THRESHOLD, GraphRegistry.defaultBudgetBytes(),
+                        Paths.get(System.getProperty("java.io.tmpdir"), "string-ppi-graphs"));
             }
+            // Aynı organizma tekrar yüklenirse aktif görünüm eski grafı tutmasın
+            if (organisms.contains(organism)) clearActive();
 
-            System.out.println("Loading graph with threshold " + threshold + ", please wait...");
+            System.out.println("Loading " + organisms.size() + " organism(s) with threshold " + threshold
+                    + ", please wait...");
             long start = System.currentTimeMillis();
 
-            // Loaderı çağır ve grafiği yükle
-            this.graph = PPIGraphLoader.loadGraph(infoPath, linksPath, threshold);
+            // Graflar en düşük threshold ile bir kez yüklenir; girilen threshold sadece aktif görünümü belirler.
+            // Böylece Option 7 ile threshold değiştirmek yeniden yükleme gerektirmez.
+            for (int i = 0; i < organisms.size(); i++) {
+                registry.register(organisms.get(i), paths.get(i)[0], paths.get(i)[1], loader);
+            }
+            List<String> loaded = registry.loadAll(organisms, organisms.size());
+            if (loaded.isEmpty() || !activate(loaded.get(0), threshold)) {
+                System.out.println(">> [ERROR] Graph could not be loaded.");
+                return;
+            }
 
             long end = System.currentTimeMillis();
             System.out.println("✓ Loading Completed in " + (end - start) + " ms.");
-
-            if (graph != null) {
-                System.out.println("Total Proteins (Vertices): " + graph.getVertices().size());
-                System.out.println("Total Interactions (Edges): " + graph.getEdges().size());
-            } else {
-                System.out.println(">> [ERROR] Graph could not be loaded (returned null).");
+            if (loaded.size() > 1) {
+                System.out.print(registry.describe());
             }
+            System.out.println("Active Organism: " + organism);
+            System.out.println("Total Proteins (Vertices): " + graph.getVertexCount());
+            System.out.println("Total Interactions (Edges): " + graph.getEdgeCount());
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println(">> [ERROR] Loading interrupted.");
         } catch (Exception e) {
             System.out.println(">> [ERROR] Failed to load graph.");
             e.printStackTrace();
         }
     }
+
+    /**
+     * Organizmayı aktif yapar: grafı registry'den alınır (diske çıkarıldıysa tekrar açılır), verilen threshold
+     * görünümü oluşturulur ve organizmaya özel index'ler (arama, landmark, metrikler) sıfırlanır.
+     * @return Graf alınamazsa false (önceki aktif organizma değişmez).
+     */
+    private boolean activate(String taxon, double threshold) {
+        CSRGraph base = registry.get(taxon);
+        if (base == null) return false;
+
+        this.organism = taxon;
+        this.baseGraph = base;
+        this.graph = base.withThreshold(threshold);
+        this.infoPath = registry.getInfoPath(taxon);
+        this.linksPath = registry.getLinksPath(taxon);
+        this.landmarks = null;
+        this.landmarkGraph = null;
+        this.liveMetrics = null;
+        Instrumentation.watchGraph(base);
+
+        // STRING aliases dosyası info dosyasının yanındaysa (Örn: 9606.protein.aliases.v12.0.txt) o da eklenir
+        this.searchIndex = ProteinSearchIndex.build(baseGraph, ProteinSearchIndex.aliasesPathFor(infoPath));
+        return true;
+    }
+
+    // Aktif organizmanın graf ve index referanslarını bırakır (registry'deki graf bellekten çıkarılabilsin)
+    private void clearActive() {
+        this.organism = null;
+        this.baseGraph = null;
+        this.graph = null;
+        this.landmarks = null;
+        this.landmarkGraph = null;
+        this.liveMetrics = null;
+        this.searchIndex = null;
+    }
+
+    // Threshold okuma ve doğrulama (0.0 - 1.0)
+    private double readThreshold() {
+        while (true) {
+            System.out.print("Enter Confidence Score Threshold (0.0 - 1.0): ");
+            String input = scanner.nextLine().trim();
+
+            try {
+                if (input.isEmpty()) {
+                    System.out.println(">> [WARNING] Threshold cannot be empty. Please enter a value.");
+                    continue;
+                }
+
+                double val = Double.parseDouble(input);
+                if (val < 0.0 || val > 1.0) {
+                    System.out.println(">> [WARNING] Please enter a value between 0.0 and 1.0.");
+                } else {
+                    return val;
+                }
+            } catch (NumberFormatException e) {
+                System.out.println(">> [WARNING] Invalid number format. Please enter a decimal number (e.g., 0.5).");
+            }
+        }
+    }
+
     // --- 2. Search Protein ---
     private void handleSearchProtein() {
         if (!isGraphLoaded()) return;
 
         System.out.println("\n--- SEARCH PROTEIN ---");
-        System.out.print("Enter Protein ID (e.g., 9606.ENSP00000000233): ");
-        String id = scanner.nextLine().trim();
+        System.out.print("Enter Protein ID, Name or Alias (prefix and typos allowed, e.g., TP53): ");
+        String query = scanner.nextLine().trim();
 
-        Protein p = graph.searchProtein(id);
+        Protein p = graph.searchProtein(query);
         if (p != null) {
             System.out.println("✓ FOUND: " + p);
             var neighbors = graph.getNeighbors(p);
             System.out.println("Connection Count (Out-Degree): " + neighbors.size());
-        } else {
-            System.out.println("✗ Protein NOT found with ID: " + id);
+            return;
+        }
+        if (query.isEmpty() || searchIndex == null) {
+            System.out.println("✗ Protein NOT found with ID: " + query);
+            printOrganismHint(query);
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<SearchHit> hits = searchIndex.search(query, 10);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        if (hits.isEmpty()) {
+            System.out.println("✗ No protein matches: " + query);
+            printOrganismHint(query);
+            return;
+        }
+        System.out.println("✓ " + hits.size() + " candidate(s) in " + String.format("%.2f", millis) + " ms:");
+        int rank = 1;
+        for (SearchHit hit : hits) {
+            System.out.println(rank++ + ". " + hit + "  out-degree " + graph.outDegree(hit.getIndex()));
         }
     }
 
@@ -181,8 +355,8 @@ public class Menu {
         Protein p1 = graph.searchProtein(id1);
         Protein p2 = graph.searchProtein(id2);
 
-        if (p1 == null) { System.out.println("✗ Source protein not found."); return; }
-        if (p2 == null) { System.out.println("✗ Destination protein not found."); return; }
+        if (p1 == null) { System.out.println("✗ Source protein not found."); printOrganismHint(id1); return; }
+        if (p2 == null) { System.out.println("✗ Destination protein not found."); printOrganismHint(id2); return; }
 
         boolean interaction = graph.hasInteraction(p1, p2);
         if (interaction) {
@@ -206,7 +380,8 @@ public class Menu {
             System.out.println("Running Algorithm...");
 
             MostConfidentPath mcp = new MostConfidentPath();
-            mcp.findMostConfidentPath(graph, id1, id2);
+            // Landmark index sadece oluşturulduğu threshold görünümünde geçerlidir
+            mcp.findMostConfidentPath(graph, id1, id2, landmarkGraph == graph ? landmarks : null);
 
         } catch (Exception e) {
             System.out.println(">> [ERROR] Algorithm failed.");
@@ -222,8 +397,16 @@ public class Menu {
         try {
             System.out.println("Calculating metrics (This might take a while for large graphs)...");
 
+            // Ucuz metrikler bir kez hesaplanır, sonraki delta güncellemelerinde artımlı olarak tutulur
+            if (liveMetrics == null || liveMetrics.getGraph() != graph) {
+                liveMetrics = new IncrementalMetrics(graph);
+            }
             PPIGraphMetrics metrics = new PPIGraphMetrics();
-            metrics.calculateMetrics(graph);
+            metrics.calculateMetrics(graph, liveMetrics);
+            System.out.println("DEBUG: " + AdjacencyIndexStats.summary());
+            for (String build : AdjacencyIndexStats.getRecentBuilds()) {
+                System.out.println("DEBUG:   " + build);
+            }
 
         } catch (Exception e) {
             System.out.println(">> [ERROR] Metrics calculation failed.");
@@ -238,7 +421,8 @@ public class Menu {
         System.out.println("\n--- GRAPH TRAVERSALS ---");
         System.out.println("1. Breadth-First Search (BFS)");
         System.out.println("2. Depth-First Search (DFS)");
-        System.out.print("Select Traversal Type (1 or 2): ");
+        System.out.println("3. Hop-Distance Levels (Parallel BFS)");
+        System.out.print("Select Traversal Type (1-3): ");
 
         String type = scanner.nextLine();
 
@@ -250,15 +434,26 @@ public class Menu {
             return;
         }
 
+        if (type.equals("3")) {
+            new ProteinBFS().printLevels(graph, startId);
+            return;
+        }
+
+        // Boş bırakılırsa çıktı konsola (buffered) yazılır
+        System.out.print("Output File (leave empty for console): ");
+        String output = scanner.nextLine().trim();
+        Path outputFile = output.isEmpty() ? null : Paths.get(output);
+        int max = GraphTraversal.UNLIMITED;
+
         try {
             if (type.equals("1")) {
                 System.out.println("Running BFS...");
                 ProteinBFS bfs = new ProteinBFS();
-                bfs.traverse(graph, startId);
+                bfs.traverse(graph, startId, max, max, outputFile);
             } else if (type.equals("2")) {
                 System.out.println("Running DFS...");
                 ProteinDFS dfs = new ProteinDFS();
-                dfs.traverse(graph, startId);
+                dfs.traverse(graph, startId, max, max, outputFile);
             } else {
                 System.out.println(">> Invalid traversal type selected.");
             }
@@ -268,6 +463,425 @@ public class Menu {
         }
     }
 
+    // --- 7. Change Active Threshold ---
+    private void handleChangeThreshold() {
+        if (!isGraphLoaded()) return;
+
+        System.out.println("\n--- CHANGE ACTIVE THRESHOLD ---");
+        System.out.println("Current Threshold: " + graph.getActiveThreshold());
+        double threshold = readThreshold();
+
+        long start = System.nanoTime();
+        this.graph = baseGraph.withThreshold(threshold);
+        this.liveMetrics = null; // Eski görünümün dizilerini tutmasın; metrikler yeni görünüm için tekrar hesaplanır
+        long end = System.nanoTime();
+
+        System.out.println("✓ Threshold changed in " + String.format("%.2f", (end - start) / 1_000_000.0) + " ms.");
+        System.out.println("Total Interactions (Edges): " + graph.getEdgeCount());
+    }
+
+    // --- 8. Landmark Index (ALT) ---
+    private void handleLandmarkIndex() {
+        if (!isGraphLoaded()) return;
+
+        System.out.println("\n--- LANDMARK INDEX ---");
+        Path indexPath = Paths.get(linksPath + ".landmarks");
+        try {
+            long start = System.currentTimeMillis();
+            if (Files.exists(indexPath)) {
+                LandmarkIndex loaded = LandmarkIndex.load(indexPath, graph);
+                if (loaded != null) {
+                    useLandmarks(loaded);
+                    System.out.println("✓ Landmark index loaded from " + indexPath + " in "
+                            + (System.currentTimeMillis() - start) + " ms.");
+                    return;
+                }
+                System.out.println("Saved landmark index belongs to another threshold, rebuilding...");
+            }
+
+            System.out.print("Number of Landmarks (e.g., 16): ");
+            int count = Integer.parseInt(scanner.nextLine().trim());
+            if (count <= 0) {
+                System.out.println(">> [WARNING] Landmark count must be positive.");
+                return;
+            }
+
+            start = System.currentTimeMillis();
+            LandmarkIndex built = LandmarkIndex.build(graph, count);
+            useLandmarks(built);
+            System.out.println("✓ " + built.getLandmarkCount() + " landmarks built in "
+                    + (System.currentTimeMillis() - start) + " ms.");
+
+            built.save(indexPath);
+            System.out.println("Landmark index saved to " + indexPath);
+        } catch (NumberFormatException e) {
+            System.out.println(">> [WARNING] Invalid number format.");
+        } catch (IOException e) {
+            System.err.println("Landmark index I/O failed: " + e.getMessage());
+        }
+    }
+
+    private void useLandmarks(LandmarkIndex index) {
+        this.landmarks = index;
+        this.landmarkGraph = graph;
+    }
+
+    // --- 9. Top-K Most Confident Paths ---
+    private void handleTopPaths() {
+        if (!isGraphLoaded()) return;
+
+        System.out.println("\n--- TOP-K MOST CONFIDENT PATHS ---");
+        try {
+            System.out.print("Enter Source Protein ID: ");
+            String id1 = scanner.nextLine().trim();
+            System.out.print("Enter Destination Protein ID: ");
+            String id2 = scanner.nextLine().trim();
+            System.out.print("Number of Paths (k): ");
+            int k = Integer.parseInt(scanner.nextLine().trim());
+            System.out.print("Maximum Hop Count (0 = no limit): ");
+            int maxHops = Integer.parseInt(scanner.nextLine().trim());
+            if (maxHops > KConfidentPaths.MAX_HOPS) {
+                // Hop sınırı arama durumlarını (protein x hop) büyütür; sınırın üstü reddedilir
+                System.out.println(">> [WARNING] Maximum hop count is " + KConfidentPaths.MAX_HOPS + " (0 = no limit).");
+                return;
+            }
+
+            System.out.println("Running Algorithm...");
+            long start = System.currentTimeMillis();
+            List<PathResult> paths = new KConfidentPaths(graph).findPaths(id1, id2, k, maxHops);
+            long end = System.currentTimeMillis();
+
+            if (paths == null) {
+                System.out.println("✗ One of the proteins was not found.");
+                return;
+            }
+            if (paths.isEmpty()) {
+                System.out.println("✗ No path found between " + id1 + " and " + id2);
+                return;
+            }
+
+            System.out.println("\n--- Top " + paths.size() + " Most Confident Paths (" + (end - start) + " ms) ---");
+            for (int i = 0; i < paths.size(); i++) {
+                PathResult p = paths.get(i);
+                System.out.println("#" + (i + 1) + "  Confidence: " + String.format("%.4f", p.getConfidence())
+                        + "  Hops: " + p.getHopCount());
+                System.out.println("    " + p);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(">> [WARNING] Invalid number format.");
+        }
+    }
+
+    // --- 10. Connected Components ---
+    private void handleComponents() {
+        if (!isGraphLoaded()) return;
+
+        System.out.println("\n--- CONNECTED COMPONENTS ---");
+        System.out.println("1. Weakly Connected Components (direction ignored)");
+        System.out.println("2. Strongly Connected Components");
+        System.out.print("Select Type (1-2): ");
+        String type = scanner.nextLine().trim();
+
+        ComponentAnalyzer analyzer = new ComponentAnalyzer();
+        long start = System.currentTimeMillis();
+        Components components;
+        if (type.equals("1")) {
+            components = analyzer.weaklyConnected(graph);
+        } else if (type.equals("2")) {
+            components = analyzer.stronglyConnected(graph);
+        } else {
+            System.out.println(">> Invalid component type selected.");
+            return;
+        }
+        long end = System.currentTimeMillis();
+
+        System.out.println("✓ " + components.getCount() + " components found in " + (end - start) + " ms.");
+        System.out.println("Largest Component: " + components.getLargestSize() + " proteins");
+        System.out.println("Single-Protein Components: " + components.getSingletonCount());
+
+        // Boyut dağılımı: en büyük boyutlar en sonda
+        System.out.println("\nSize Distribution (size: number of components)");
+        for (Map.Entry<Integer, Integer> entry : components.getSizeDistribution().entrySet()) {
+            System.out.println("  " + entry.getKey() + ": " + entry.getValue());
+        }
+
+        List<Protein> members = components.getLargestMembers();
+        System.out.print("\nOutput File for Largest Component Members (leave empty for console): ");
+        String output = scanner.nextLine().trim();
+        if (output.isEmpty()) {
+            // Konsolda sadece ilk proteinler gösterilir
+            int shown = Math.min(members.size(), 50);
+            for (int i = 0; i < shown; i++) {
+                System.out.println("  " + members.get(i));
+            }
+            if (members.size() > shown) {
+                System.out.println("  ... (" + (members.size() - shown) + " more)");
+            }
+            return;
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(output))) {
+            for (Protein p : members) {
+                writer.write(p.getId());
+                writer.newLine();
+            }
+            System.out.println("✓ " + members.size() + " proteins written to " + output);
+        } catch (IOException e) {
+            System.err.println("Component output failed: " + e.getMessage());
+        }
+    }
+
+    // --- 11. Centrality (Hub Ranking) ---
+    private void handleCentrality() {
+        if (!isGraphLoaded()) return;
+
+        System.out.println("\n--- HUB RANKING ---");
+        System.out.println("1. PageRank (confidence-weighted)");
+        System.out.println("2. Eigenvector Centrality");
+        System.out.print("Select Measure (1-2): ");
+        String type = scanner.nextLine().trim();
+        if (!type.equals("1") && !type.equals("2")) {
+            System.out.println(">> Invalid measure selected.");
+            return;
+        }
+
+        try {
+            // Boş bırakılırsa varsayılan değerler kullanılır
+            System.out.print("Number of Top Proteins (default 20): ");
+            String topInput = scanner.nextLine().trim();
+            int topN = topInput.isEmpty() ? 20 : Integer.parseInt(topInput);
+            System.out.print("Tolerance (default " + CentralityCalculator.DEFAULT_TOLERANCE + "): ");
+            String tolInput = scanner.nextLine().trim();
+            double tolerance = tolInput.isEmpty() ? CentralityCalculator.DEFAULT_TOLERANCE : Double.parseDouble(tolInput);
+            System.out.print("Max Iterations (default " + CentralityCalculator.DEFAULT_MAX_ITERATIONS + "): ");
+            String iterInput = scanner.nextLine().trim();
+            int maxIterations = iterInput.isEmpty() ? CentralityCalculator.DEFAULT_MAX_ITERATIONS : Integer.parseInt(iterInput);
+
+            CentralityCalculator calculator = new CentralityCalculator(tolerance, maxIterations);
+            long start = System.currentTimeMillis();
+            CentralityScores result = type.equals("1") ? calculator.pageRank(graph) : calculator.eigenvector(graph);
+            long end = System.currentTimeMillis();
+
+            System.out.println("\n--- Top " + topN + " Proteins by " + result.getMeasure() + " ("
+                    + result.getIterations() + " iterations, " + (end - start) + " ms"
+                    + (result.isConverged() ? "" : ", NOT converged") + ") ---");
+            int[] top = result.topIndices(topN);
+            for (int i = 0; i < top.length; i++) {
+                System.out.println("#" + (i + 1) + "  " + graph.getProtein(top[i])
+                        + "  Score: " + String.format("%.6f", result.getScore(top[i]))
+                        + "  Degree: " + graph.outDegree(top[i]));
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(">> [WARNING] Invalid number format.");
+        }
+    }
+
+    // --- 12. Betweenness (Bottleneck Ranking) ---
+    private void handleBetweenness() {
+        if (!isGraphLoaded()) return;
+
+        System.out.println("\n--- BOTTLENECK RANKING ---");
+        System.out.println("1. Unweighted (hop count shortest paths)");
+        System.out.println("2. Weighted (-log confidence shortest paths)");
+        System.out.print("Select Path Type (1-2): ");
+        String type = scanner.nextLine().trim();
+        if (!type.equals("1") && !type.equals("2")) {
+            System.out.println(">> Invalid path type selected.");
+            return;
+        }
+
+        try {
+            // Boş bırakılırsa tüm proteinler kaynak olarak kullanılır (kesin sonuç)
+            System.out.print("Number of Sampled Sources (leave empty for exact): ");
+            String sampleInput = scanner.nextLine().trim();
+            System.out.print("Number of Top Proteins (default 20): ");
+            String topInput = scanner.nextLine().trim();
+            int topN = topInput.isEmpty() ? 20 : Integer.parseInt(topInput);
+
+            BetweennessCalculator calculator = new BetweennessCalculator(type.equals("2"));
+            System.out.println("Running Algorithm...");
+            BetweennessScores result = sampleInput.isEmpty()
+                    ? calculator.exact(graph)
+                    : calculator.sampled(graph, Integer.parseInt(sampleInput), System.nanoTime());
+
+            System.out.println("\n--- Top " + topN + " Proteins by " + result.getMeasure() + " ("
+                    + result.getSourceCount() + " sources, "
+                    + String.format("%.0f", result.getSourcesPerSecond()) + " sources/sec) ---");
+            int[] top = result.topIndices(topN);
+            for (int i = 0; i < top.length; i++) {
+                String score = String.format("%.1f", result.getScore(top[i]));
+                if (!result.isExact()) score += " ± " + String.format("%.1f", result.getStandardError(top[i]));
+                System.out.println("#" + (i + 1) + "  " + graph.getProtein(top[i]) + "  Score: " + score);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println(">> [WARNING] Invalid number format.");
+        }
+    }
+
+    // --- 13. Triangles & Clustering ---
+    private void handleTriangles() {
+        if (!isGraphLoaded()) return;
+
+        System.out.println("\n--- TRIANGLES & CLUSTERING ---");
+        TriangleCounts counts = new TriangleCounter().count(graph);
+        System.out.println("Total Triangles: " + counts.getTriangleCount());
+        System.out.println("Global Transitivity: " + String.format("%.4f", counts.getTransitivity()));
+        System.out.println("Average Local Clustering: " + String.format("%.4f", counts.getAverageClustering()));
+
+        // Boş bırakılırsa en çok üçgene katılan proteinler konsolda listelenir
+        System.out.print("Output File for Per-Protein Counts (leave empty for top 20 on console): ");
+        String output = scanner.nextLine().trim();
+        int n = graph.getVertexCount();
+        if (output.isEmpty()) {
+            int[] top = IntStream.range(0, n).boxed()
+                    .sorted((a, b) -> Long.compare(counts.getTriangles(b), counts.getTriangles(a)))
+                    .limit(20).mapToInt(Integer::intValue).toArray();
+            for (int i = 0; i < top.length; i++) {
+                int v = top[i];
+                System.out.println("#" + (i + 1) + "  " + graph.getProtein(v) + "  Triangles: " + counts.getTriangles(v)
+                        + "  Partners: " + counts.getDegree(v)
+                        + "  Clustering: " + String.format("%.4f", counts.getLocalClustering(v)));
+            }
+            return;
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(output))) {
+            writer.write("protein\ttriangles\tpartners\tclustering");
+            writer.newLine();
+            for (int v = 0; v < n; v++) {
+                writer.write(graph.getProtein(v).getId() + "\t" + counts.getTriangles(v) + "\t" + counts.getDegree(v)
+                        + "\t" + String.format("%.6f", counts.getLocalClustering(v)));
+                writer.newLine();
+            }
+            System.out.println("✓ " + n + " proteins written to " + output);
+        } catch (IOException e) {
+            System.err.println("Triangle output failed: " + e.getMessage());
+        }
+    }
+
+    // --- 14. Runtime Metrics ---
+    // Graf yüklü olmasa da çalışır: yükleme öncesi açılırsa yükleme fazları da ölçülür.
+    private void handleInstrumentation() {
+        System.out.println("\n--- RUNTIME METRICS ---");
+        System.out.println("Instrumentation is " + (Instrumentation.isEnabled() ? "ENABLED" : "DISABLED")
+                + " (also available over JMX under \"stringppi\")");
+        System.out.println("1. Show Report  2. " + (Instrumentation.isEnabled() ? "Disable" : "Enable") + "  3. Reset");
+        String choice = scanner.nextLine().trim();
+
+        if (choice.equals("2")) {
+            Instrumentation.setEnabled(!Instrumentation.isEnabled());
+            System.out.println("✓ Instrumentation " + (Instrumentation.isEnabled() ? "enabled." : "disabled."));
+        } else if (choice.equals("3")) {
+            Instrumentation.reset();
+            System.out.println("✓ Recorded metrics cleared.");
+        } else {
+            System.out.print(Instrumentation.dump());
+        }
+    }
+
+    // --- 15. Apply Update (Delta File) ---
+    // Delta base grafa uygulanır; aktif görünüm aynı threshold ile yeni dizilerden tekrar alınır.
+    // Değişiklikler sadece bellektedir: dosyalardan tekrar yüklemek (Option 1) onları geri alır.
+    private void handleApplyDelta() {
+        if (!isGraphLoaded()) return;
+
+        System.out.println("\n--- APPLY UPDATE ---");
+        System.out.println("Line format: '+ id1 id2 score' (add), '- id1 id2' (remove), '~ id1 id2 score' (change), "
+                + "'P id name' (new protein)");
+        System.out.print("Enter Delta File Path: ");
+        String deltaPath = PPIGraphLoader.withGzipFallback(scanner.nextLine().trim());
+
+        GraphDelta delta = PPIGraphLoader.readDelta(baseGraph, deltaPath, MIN_THRESHOLD);
+        if (delta == null) {
+            System.out.println(">> [ERROR] Delta file could not be read.");
+            return;
+        }
+
+        try {
+            DeltaResult result = baseGraph.applyDelta(delta);
+            Instrumentation.phase("update.apply").recordNanos(result.getNanos(), delta.size(), 0);
+
+            long start = System.nanoTime();
+            CSRGraph previous = graph;
+            this.graph = baseGraph.withThreshold(previous.getActiveThreshold());
+            if (liveMetrics != null && liveMetrics.getGraph() == previous) {
+                liveMetrics.update(graph, delta);
+            } else {
+                liveMetrics = null;
+            }
+            // Landmark mesafeleri eski grafa aittir; kaydedilmiş index de fingerprint ile reddedilir
+            this.landmarks = null;
+            this.landmarkGraph = null;
+            if (result.getNewProteins() > 0) {
+                this.searchIndex = ProteinSearchIndex.build(baseGraph, ProteinSearchIndex.aliasesPathFor(infoPath));
+            }
+
+            System.out.println("✓ Delta applied: " + result);
+            System.out.println("Views and indexes refreshed in "
+                    + String.format("%.2f", (System.nanoTime() - start) / 1_000_000.0) + " ms.");
+            System.out.println("Total Proteins (Vertices): " + graph.getVertexCount());
+            System.out.println("Total Interactions (Edges): " + graph.getEdgeCount());
+            if (liveMetrics != null) {
+                System.out.println("Reciprocity: " + String.format("%.4f", liveMetrics.getReciprocity())
+                        + ", Weakly Connected Components: " + liveMetrics.getComponentCount()
+                        + " (largest: " + liveMetrics.getLargestComponentSize() + " proteins)");
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(">> [ERROR] Delta could not be applied: " + e.getMessage());
+        }
+    }
+
+    // --- 16. Organisms (Multi-Organism Registry) ---
+    // Sorgular aktif organizmanın grafında çalışır; başka bir organizmaya geçmek onu registry'den alır.
+    private void handleOrganisms() {
+        if (!isGraphLoaded()) return;
+
+        System.out.println("\n--- ORGANISMS ---");
+        System.out.print(registry.describe());
+        System.out.println("Active Organism: " + organism);
+        System.out.println("1. Switch Organism  2. Set Memory Budget (MB)  (leave empty to return)");
+        String choice = scanner.nextLine().trim();
+
+        if (choice.equals("1")) {
+            System.out.print("Organism (NCBI taxon ID): ");
+            String taxon = scanner.nextLine().trim();
+            if (!registry.isRegistered(taxon)) {
+                System.out.println(">> [WARNING] Organism " + taxon + " is not loaded. Please load it with Option 1.");
+                return;
+            }
+            long start = System.currentTimeMillis();
+            if (!activate(taxon, graph.getActiveThreshold())) {
+                System.out.println(">> [ERROR] Graph of organism " + taxon + " could not be loaded.");
+                return;
+            }
+            System.out.println("✓ Active organism is " + organism + " (" + (System.currentTimeMillis() - start) + " ms).");
+            System.out.println("Total Proteins (Vertices): " + graph.getVertexCount());
+            System.out.println("Total Interactions (Edges): " + graph.getEdgeCount());
+        } else if (choice.equals("2")) {
+            System.out.print("Memory Budget in MB (current " + (registry.getBudgetBytes() >> 20) + "): ");
+            try {
+                long megabytes = Long.parseLong(scanner.nextLine().trim());
+                if (megabytes <= 0) {
+                    System.out.println(">> [WARNING] Budget must be positive.");
+                    return;
+                }
+                // Aktif organizma en son kullanılandır, bellekte kalır; diğerleri gerekirse diske yazılır
+                registry.setBudgetBytes(megabytes << 20);
+                System.out.print(registry.describe());
+            } catch (NumberFormatException e) {
+                System.out.println(">> [WARNING] Invalid number format.");
+            }
+        }
+    }
+
+    // Helper: Aranan ID başka bir yüklü organizmaya aitse (taxon öneki) hangi organizmaya geçileceğini söyler
+    private void printOrganismHint(String id) {
+        String owner = registry.organismOf(id);
+        if (owner != null && !owner.equals(organism)) {
+            System.out.println("   " + id + " belongs to organism " + owner + "; switch with Option 16.");
+        }
+    }
+
     // Helper: Check if graph is loaded
     private boolean isGraphLoaded() {
         if (this.graph == null) {
@@ -1,12 +1,20 @@
 package utils;
 
+import graph.CSRGraph;
 import graph.EdgeListGraph;
 import graph.Graph;
+import graph.GraphDelta;
 import graph.Protein;
+import instrumentation.Instrumentation;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,6 +26,8 @@ import java.util.Map;
  * 2. Veri Temizleme (Data Parsing)
  * 3. Threshold Filtering
  * 4. Graph Construction
+ *
+ * STRING'in ".txt.gz" indirmeleri de doğrudan okunabilir; açılmış (decompressed) kopyaya gerek yoktur.
  */
 public class PPIGraphLoader {
 
@@ -31,54 +41,144 @@ public class PPIGraphLoader {
     public static Graph loadGraph(String infoFilePath, String linksFilePath, double threshold) {
         // Concrete class (EdgeListGraph) oluşturuyoruz ama interface (Graph) referansıyla döndürüyoruz.
         Graph graph = new EdgeListGraph();
+        populateGraph(graph, infoFilePath, linksFilePath, threshold);
+        return graph;
+    }
 
-        // Proteinleri geçici olarak hafızada tutmak için bir Map kullanıyoruz.
-        // Böylece linkleri okurken "Bu ID hangi proteine ait?" diye hızlıca buluyoruz.
-        Map<String, Protein> tempProteinMap = new HashMap<>();
-
-        System.out.println("Loading proteins from: " + infoFilePath);
-
-        // Protein Tanımları (Vertices]
-        try (BufferedReader br = new BufferedReader(new FileReader(infoFilePath))) {
-            String line;
-            boolean isHeader = true; // İlk satır başlık mı kontrolü
+    /**
+     * loadGraph ile aynı dosyaları okur ancak sonucu CSR (Compressed Sparse Row) formunda döndürür.
+     * Proteinlere info dosyasındaki sıraya göre dense int ID atanır.
+     * @return Doldurulmuş CSRGraph nesnesi.
+     */
+    public static CSRGraph loadCSRGraph(String infoFilePath, String linksFilePath, double threshold) {
+        CSRGraph graph = new CSRGraph();
+        populateGraph(graph, infoFilePath, linksFilePath, threshold);
+        Instrumentation.watchGraph(graph);
+        return graph;
+    }
 
-            while ((line = br.readLine()) != null) {
-                // Header (başlık) satırını atla (Skip Header)
-                if (isHeader) {
-                    isHeader = false;
-                    continue;
-                }
+    /**
+     * Links dosyasını memory-mapped olarak açar, satır sınırlarına hizalı parçalara (chunk) böler ve
+     * her parçayı ayrı bir çekirdekte byte seviyesinde parse eder (satır başına String/Regex üretilmez).
+     * Aynı threshold için loadCSRGraph ile birebir aynı grafı üretir.
+     * Links dosyası .gz ise memory-map yerine inflate thread'inden gelen bloklar paralel parse edilir.
+     * @return Doldurulmuş CSRGraph nesnesi.
+     */
+    public static CSRGraph loadGraphParallel(String infoFilePath, String linksFilePath, double threshold) {
+        CSRGraph graph = new CSRGraph();
 
-                // Parse line
-                // STRING formatında genellikle: string_protein_id <tab> preferred_name ...
-                String[] parts = line.split("\t"); // Tab ile ayırıyoruz
+        long infoStart = System.nanoTime();
+        loadProteins(graph, infoFilePath);
+        long infoNanos = System.nanoTime() - infoStart;
+        System.out.println("Info phase: " + graph.getVertexCount() + " proteins in " + (infoNanos / 1_000_000) + " ms ("
+                + ParallelLinksParser.perSecond(graph.getVertexCount(), infoNanos) + " lines/sec)");
 
-                if (parts.length >= 2) {
-                    String id = parts[0].trim();
-                    String name = parts[1].trim();
+        try {
+            ParallelLinksParser parser = new ParallelLinksParser(graph, threshold);
+            if (GzipBlockReader.isGzip(linksFilePath)) {
+                System.out.println("Loading interactions (parallel, streamed from gzip) from: " + linksFilePath);
+                parser.parseGzipInto(linksFilePath);
+            } else {
+                System.out.println("Loading interactions (parallel, memory-mapped) from: " + linksFilePath);
+                parser.parseInto(linksFilePath);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading links file: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Parallel parsing interrupted: " + e.getMessage());
+        }
+        Instrumentation.watchGraph(graph);
+        return graph;
+    }
 
-                    // Yeni protein nesnesi (Vertex) oluştur
-                    Protein p = new Protein(id, name);
+    /**
+     * Grafı binary snapshot önbelleği üzerinden yükler.
+     * Snapshot mevcut, checksum'ı doğru, kaynak dosyaların boyut/mtime değerleriyle uyumlu ve aynı ya da daha düşük
+     * bir threshold ile üretilmişse memory-mapped olarak açılır. Aksi halde (stale) text dosyaları paralel parse edilir ve snapshot yeniden yazılır.
+     * @return Doldurulmuş CSRGraph nesnesi.
+     */
+    public static CSRGraph loadGraphWithSnapshot(String infoFilePath, String linksFilePath, double threshold) {
+        Path snapshotFile = snapshotPathFor(linksFilePath);
+        try {
+            GraphSnapshot.SourceStamp current = GraphSnapshot.SourceStamp.of(
+                    Paths.get(infoFilePath), Paths.get(linksFilePath), threshold);
 
-                    // Hem Grafa hem de geçici Map'e ekle
-                    graph.addVertex(p);
-                    tempProteinMap.put(id, p);
+            if (Files.exists(snapshotFile)) {
+                GraphSnapshot.SourceStamp stored = GraphSnapshot.readStamp(snapshotFile);
+                // Daha düşük threshold ile alınmış bir snapshot da kullanılabilir: üzerine threshold görünümü uygulanır.
+                if (stored != null && stored.sameSources(current) && stored.threshold <= threshold) {
+                    try {
+                        CSRGraph graph = openSnapshot(snapshotFile.toString());
+                        return stored.threshold < threshold ? graph.withThreshold(threshold) : graph;
+                    } catch (IOException e) {
+                        System.err.println("Snapshot could not be opened, rebuilding: " + e.getMessage());
+                    }
+                } else {
+                    System.out.println("Snapshot is stale (source files or threshold changed), rebuilding: " + snapshotFile);
                 }
             }
+
+            CSRGraph graph = loadGraphParallel(infoFilePath, linksFilePath, threshold);
+            long start = System.nanoTime();
+            GraphSnapshot.write(graph, current, snapshotFile);
+            System.out.println("Snapshot written to " + snapshotFile + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return graph;
         } catch (IOException e) {
-            // Exception Handling (Hata Yönetimi) - Ödevin 8. maddesi gereği [cite: 82]
-            System.err.println("Error reading protein info file: " + e.getMessage());
+            // Snapshot olmadan da çalışabiliriz: kaynak dosyalardan yükle
+            System.err.println("Snapshot cache unavailable: " + e.getMessage());
+            return loadGraphParallel(infoFilePath, linksFilePath, threshold);
         }
+    }
+
+    /**
+     * Yüklenmiş grafı versiyonlu, checksum'lı binary snapshot olarak yazar.
+     * Kaynak dosyaların boyut/mtime değerleri snapshot'a kaydedilir.
+     */
+    public static void saveSnapshot(CSRGraph graph, String snapshotPath, String infoFilePath, String linksFilePath,
+                                    double threshold) throws IOException {
+        GraphSnapshot.SourceStamp stamp = GraphSnapshot.SourceStamp.of(
+                Paths.get(infoFilePath), Paths.get(linksFilePath), threshold);
+        GraphSnapshot.write(graph, stamp, Paths.get(snapshotPath));
+    }
+
+    /**
+     * Binary snapshot'ı memory-mapped olarak açar ve checksum'ını doğrular.
+     * @throws IOException Snapshot bozuksa veya versiyonu desteklenmiyorsa.
+     */
+    public static CSRGraph openSnapshot(String snapshotPath) throws IOException {
+        long start = System.nanoTime();
+        CSRGraph graph = GraphSnapshot.read(Paths.get(snapshotPath));
+        long nanos = System.nanoTime() - start;
+        System.out.println("Snapshot opened from " + snapshotPath + " in " + nanos / 1_000_000 + " ms");
+        Instrumentation.phase("load.snapshot").recordNanos(nanos, graph.getEdgeCount(), fileBytes(snapshotPath));
+        Instrumentation.watchGraph(graph);
+        return graph;
+    }
+
+    // Snapshot, links dosyasının yanında tutulur.
+    private static Path snapshotPathFor(String linksFilePath) {
+        return Paths.get(linksFilePath + ".snapshot");
+    }
+
+    // Dosyaları okuyup verilen Graph implementasyonunu doldurur.
+    private static void populateGraph(Graph graph, String infoFilePath, String linksFilePath, double threshold) {
+        // Linkleri okurken "Bu ID hangi proteine ait?" sorusu grafın kendi ID tablosundan cevaplanır;
+        // ayrı bir geçici Map tutulmaz.
+        loadProteins(graph, infoFilePath);
 
         System.out.println("Loading interactions from: " + linksFilePath);
 
         // Edges ve Threshold Filtering
-        try (BufferedReader br = new BufferedReader(new FileReader(linksFilePath))) {
+        long linksStart = Instrumentation.start();
+        long lineCount = 0;
+        long malformed = 0;
+        try (BufferedReader br = openReader(linksFilePath)) {
             String line;
             boolean isHeader = true;
 
             while ((line = br.readLine()) != null) {
+                lineCount++;
                 if (isHeader) {
                     isHeader = false;
                     continue;
@@ -91,7 +191,12 @@ public class PPIGraphLoader {
                 if (parts.length >= 3) {
                     String id1 = parts[0];
                     String id2 = parts[1];
-                    int rawScore = Integer.parseInt(parts[2]);
+                    // Skoru sayı olmayan satır atlanır (paralel parser ile aynı kural); okuma durmaz
+                    int rawScore = ParallelLinksParser.parseScore(parts[2]);
+                    if (rawScore < 0) {
+                        malformed++;
+                        continue;
+                    }
 
                     // Normalization: Skoru 0.0 - 1.0 aralığına çekiyoruz.
                     double normalizedScore = rawScore > 1 ? rawScore / 1000.0 : rawScore;
@@ -102,8 +207,8 @@ public class PPIGraphLoader {
                     }
 
                     // Kaynak ve Hedef proteinleri bul
-                    Protein p1 = tempProteinMap.get(id1);
-                    Protein p2 = tempProteinMap.get(id2);
+                    Protein p1 = graph.searchProtein(id1);
+                    Protein p2 = graph.searchProtein(id2);
 
                     if (p1 != null && p2 != null) {
                         // Graph'a Directed Edge ekle
@@ -113,10 +218,197 @@ public class PPIGraphLoader {
             }
         } catch (IOException e) {
             System.err.println("Error reading links file: " + e.getMessage());
+        }
+        ParallelLinksParser.reportMalformed(malformed);
+        Instrumentation.phase("load.links").record(linksStart, lineCount, fileBytes(linksFilePath));
+
+        // CSR grafında sıkıştırma (graph build) ayrı bir faz olarak ölçülür
+        if (graph instanceof CSRGraph) {
+            long buildStart = Instrumentation.start();
+            ((CSRGraph) graph).offsets();
+            Instrumentation.phase("load.build").record(buildStart, graph.getEdgeCount(), 0);
+        }
+    }
+
+    // Info dosyasındaki proteinleri (Vertices) dosya sırasıyla grafa ekler.
+    private static void loadProteins(Graph graph, String infoFilePath) {
+        System.out.println("Loading proteins from: " + infoFilePath);
+
+        // Protein Tanımları (Vertices]
+        long infoStart = Instrumentation.start();
+        long lineCount = 0;
+        try (BufferedReader br = openReader(infoFilePath)) {
+            String line;
+            boolean isHeader = true; // İlk satır başlık mı kontrolü
+
+            while ((line = br.readLine()) != null) {
+                lineCount++;
+                // Header (başlık) satırını atla (Skip Header)
+                if (isHeader) {
+                    isHeader = false;
+                    continue;
+                }
+
+                // Parse line
+                // STRING formatında genellikle: string_protein_id <tab> preferred_name ...
+                String[] parts = line.split("\t"); // Tab ile ayırıyoruz
+
+                if (parts.length >= 2) {
+                    String id = parts[0].trim();
+                    String name = parts[1].trim();
+
+                    // Yeni protein nesnesi (Vertex) oluştur
+                    Protein p = new Protein(id, name);
+
+                    // Grafa ekle (ID paketlenir, satırdan gelen String tutulmaz)
+                    graph.addVertex(p);
+                }
+            }
+        } catch (IOException e) {
+            // Exception Handling (Hata Yönetimi) - Ödevin 8. maddesi gereği [cite: 82]
+            System.err.println("Error reading protein info file: " + e.getMessage());
+        }
+        Instrumentation.phase("load.info").record(infoStart, lineCount, fileBytes(infoFilePath));
+    }
+
+    /**
+     * STRING sürümleri arasındaki farkları (veya laboratuvarda eklenen etkileşimleri) içeren delta dosyasını okur.
+     * Sonuç CSRGraph.applyDelta ile uygulanır; links dosyası yeniden yüklenmez.
+     * Satır formatı (boşluk/tab ile ayrılmış, '#' ile başlayan satırlar yorum):
+     *   P protein_id preferred_name          -> yeni protein
+     *   + protein1 protein2 combined_score   -> kenar ekleme (kenar varsa skoru güncellenir)
+     *   - protein1 protein2                  -> kenar silme
+     *   ~ protein1 protein2 combined_score   -> skor değişikliği
+     * Threshold, yüklemedeki gibi uygulanır: eşiğin altına düşen bir skor değişikliği silme olur, eşiğin altındaki
+     * eklemeler atlanır; yüklemede elenmiş bir kenarı eşiğin üstüne çıkaran değişiklik eklenir. Böylece sonuç, güncellenmiş links dosyasının aynı threshold ile yüklenmesiyle aynıdır.
+     * @return Okunan delta; dosya okunamazsa null.
+     */
+    public static GraphDelta readDelta(CSRGraph graph, String deltaFilePath, double threshold) {
+        System.out.println("Reading delta from: " + deltaFilePath);
+        long start = Instrumentation.start();
+        GraphDelta delta = new GraphDelta(graph.getVertexCount());
+        Map<String, Integer> newProteins = new HashMap<>(); // Delta'da tanımlanan proteinler
+        long lineCount = 0;
+        int skipped = 0;
+        try (BufferedReader br = openReader(deltaFilePath)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                lineCount++;
+                int comment = line.indexOf('#'); // Satır sonu yorumları da atlanır
+                if (comment >= 0) line = line.substring(0, comment);
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                String[] parts = line.split("\\s+");
+
+                if (parts[0].equals("P") && parts.length >= 2) {
+                    String id = parts[1];
+                    if (graph.indexOf(id) < 0 && !newProteins.containsKey(id)) {
+                        String name = parts.length >= 3 ? parts[2] : id;
+                        newProteins.put(id, delta.addProtein(new Protein(id, name)));
+                    }
+                    continue;
+                }
+
+                boolean scored = parts[0].equals("+") || parts[0].equals("~");
+                if (!(scored || parts[0].equals("-")) || parts.length < (scored ? 4 : 3)) {
+                    System.err.println("DEBUG: Skipping malformed delta line " + lineCount + ": " + line);
+                    skipped++;
+                    continue;
+                }
+                int source = resolve(graph, newProteins, parts[1]);
+                int target = resolve(graph, newProteins, parts[2]);
+                if (source < 0 || target < 0) {
+                    // Loader gibi: info'da (veya P satırlarında) olmayan proteinlerin kenarları alınmaz
+                    skipped++;
+                    continue;
+                }
+
+                if (parts[0].equals("-")) {
+                    delta.remove(source, target);
+                    continue;
+                }
+                int rawScore = Integer.parseInt(parts[3]);
+                double normalizedScore = rawScore > 1 ? rawScore / 1000.0 : rawScore;
+                if (normalizedScore < threshold) {
+                    // Eşiğin altına düşen kenar grafta tutulmaz
+                    if (parts[0].equals("~")) delta.remove(source, target);
+                    continue;
+                }
+                // Eşik varken yüklemede elenmiş bir kenarın skoru eşiğin üstüne çıkabilir; grafta olmadığı için
+                // değişiklik ekleme olarak uygulanır (ADD, var olan kenarın skorunu günceller)
+                if (parts[0].equals("+") || threshold > 0) {
+                    delta.add(source, target, normalizedScore);
+                } else {
+                    delta.change(source, target, normalizedScore);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading delta file: " + e.getMessage());
+            return null;
         } catch (NumberFormatException e) {
             System.err.println("Data parsing error (Score is not a number): " + e.getMessage());
+            return null;
         }
+        if (skipped > 0) {
+            System.err.println("DEBUG: " + skipped + " delta lines skipped (malformed or unknown proteins)");
+        }
+        Instrumentation.phase("load.delta").record(start, lineCount, fileBytes(deltaFilePath));
+        return delta;
+    }
 
-        return graph;
+    private static int resolve(CSRGraph graph, Map<String, Integer> newProteins, String id) {
+        int index = graph.indexOf(id);
+        if (index >= 0) return index;
+        Integer added = newProteins.get(id);
+        return added == null ? -1 : added;
+    }
+
+    // Dosyanın diskteki boyutu (.gz için sıkıştırılmış boyut); okunamazsa 0.
+    static long fileBytes(String path) {
+        try {
+            return Files.size(Paths.get(path));
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Loader adına göre grafı yükler (menüsüz modlar için): "standard", "snapshot", diğer her değer "parallel".
+     */
+    public static CSRGraph load(String loader, String infoFilePath, String linksFilePath, double threshold) {
+        if (loader.equals("standard")) return loadCSRGraph(infoFilePath, linksFilePath, threshold);
+        if (loader.equals("snapshot")) return loadGraphWithSnapshot(infoFilePath, linksFilePath, threshold);
+        return loadGraphParallel(infoFilePath, linksFilePath, threshold);
+    }
+
+    // Organizma (NCBI taxon ID'si, Örn: 9606 insan, 10090 fare, 4932 maya) belirtilmezse kullanılan varsayılan
+    public static final String DEFAULT_ORGANISM = "9606";
+
+    // data/ klasöründeki STRING indirmesinin dosya adları: <taxon>.protein.info.v12.0.txt
+    public static String defaultInfoPath(String organism) {
+        return "data/" + organism + ".protein.info.v12.0.txt";
+    }
+
+    // data/ klasöründeki STRING indirmesinin dosya adları: <taxon>.protein.links.v12.0.txt
+    public static String defaultLinksPath(String organism) {
+        return "data/" + organism + ".protein.links.v12.0.txt";
+    }
+
+    // Dosya yoksa ama sıkıştırılmış STRING indirmesi (path + ".gz") varsa onu döndürür.
+    public static String withGzipFallback(String path) {
+        if (!Files.exists(Paths.get(path)) && Files.exists(Paths.get(path + ".gz"))) return path + ".gz";
+        return path;
+    }
+
+    /**
+     * Text dosyasını satır satır okumak için açar.
+     * .gz dosyaları ayrı bir thread'de açılır (GzipBlockReader), böylece inflate ile parse üst üste biner.
+     */
+    static BufferedReader openReader(String path) throws IOException {
+        if (GzipBlockReader.isGzip(path)) {
+            return new BufferedReader(new InputStreamReader(
+                    GzipBlockReader.open(path).asInputStream(), StandardCharsets.UTF_8), 1 << 16);
+        }
+        return new BufferedReader(new FileReader(path));
     }
-}
\ No newline at end of file
+}
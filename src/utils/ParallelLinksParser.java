@@ -0,0 +1,365 @@
+package utils;
+
+import graph.CSRGraph;
+import graph.ProteinIds;
+import graph.ProteinIndex;
+import instrumentation.Instrumentation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * STRING links dosyasını (protein1 protein2 combined_score) paralel olarak parse eder.
+ * 1. Split: Dosya, satır sonlarına (newline) hizalanmış parçalara bölünür.
+ * 2. Parse: Her parça ayrı bir thread'de memory-mapped olarak okunur; ID'ler byte seviyesinde long'a
+ *    paketlenip (ProteinIds) primitive hash tablosunda aranır, skor elle parse edilir.
+ *    Satır başına String/Regex üretilmez (sadece kalıba uymayan nadir ID'ler için String oluşturulur).
+ * 3. Merge: Parça buffer'ları dosya sırasıyla grafa eklenir, böylece kenar sırası sıralı loader ile aynıdır.
+ */
+class ParallelLinksParser {
+
+    // Çok küçük parçalar thread maliyetini karşılamaz.
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+    // Tek bir MappedByteBuffer 2 GB'tan büyük olamaz.
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    private final CSRGraph graph;
+    private final double threshold;
+    private final ProteinIndex idTable;
+
+    ParallelLinksParser(CSRGraph graph, double threshold) {
+        this.graph = graph;
+        this.threshold = threshold;
+
+        // Graph'taki dense index'ler ile thread'ler arasında paylaşılan (sadece okunan) ID tablosu oluşturulur.
+        this.idTable = new ProteinIndex(graph.getVertexCount());
+        for (int i = 0; i < graph.getVertexCount(); i++) {
+            idTable.putIfAbsent(graph.getProtein(i), i);
+        }
+    }
+
+    void parseInto(String linksFilePath) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(Paths.get(linksFilePath), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+
+            // 1. Split
+            long splitStart = System.nanoTime();
+            long[] boundaries = splitIntoChunks(channel, fileSize);
+            long splitNanos = System.nanoTime() - splitStart;
+            int chunkCount = boundaries.length - 1;
+            System.out.println("Split phase: " + chunkCount + " chunks of " + fileSize + " bytes in "
+                    + (splitNanos / 1_000_000) + " ms");
+
+            // 2. Parse
+            long parseStart = System.nanoTime();
+            int threads = Math.min(chunkCount, Runtime.getRuntime().availableProcessors());
+            ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+            List<ChunkResult> results = new ArrayList<>(chunkCount);
+            try {
+                List<Future<ChunkResult>> futures = new ArrayList<>(chunkCount);
+                for (int c = 0; c < chunkCount; c++) {
+                    MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+                            boundaries[c], boundaries[c + 1] - boundaries[c]);
+                    futures.add(pool.submit(() -> parseChunk(chunk)));
+                }
+                for (Future<ChunkResult> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) throw (IOException) cause;
+                throw new IOException("Chunk parsing failed", cause);
+            } finally {
+                pool.shutdownNow();
+            }
+            long parseNanos = System.nanoTime() - parseStart;
+            mergeResults(results, threads, parseNanos, fileSize, "Parse phase");
+        }
+    }
+
+    /**
+     * .gz links dosyasını diske açmadan parse eder. Inflate ayrı bir thread'de çalışır (GzipBlockReader) ve
+     * satır sınırına hizalı blokları sırayla verir; her blok geldiği anda havuza parse işi olarak gönderilir.
+     * Dolaşan blok sayısı sınırlı olduğu için parse geride kalırsa inflate bekler (bounded pipeline).
+     */
+    void parseGzipInto(String linksFilePath) throws IOException, InterruptedException {
+        long parseStart = System.nanoTime();
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<ChunkResult> results = new ArrayList<>();
+        // Her parse thread'ine bir blok + inflater'ın önden doldurabileceği blok sayısı
+        try (GzipBlockReader reader = GzipBlockReader.open(linksFilePath, threads + GzipBlockReader.DEFAULT_DEPTH)) {
+            List<Future<ChunkResult>> futures = new ArrayList<>();
+            boolean isHeader = true;
+            GzipBlockReader.Block block;
+            while ((block = reader.take()) != null) {
+                int start = 0;
+                if (isHeader) {
+                    // İlk satır (header) atlanır
+                    while (start < block.length && block.data[start] != '\n') start++;
+                    start = Math.min(start + 1, block.length);
+                    isHeader = false;
+                }
+                ByteBuffer chunk = ByteBuffer.wrap(block.data, start, block.length - start).slice();
+                GzipBlockReader.Block owned = block;
+                futures.add(pool.submit(() -> {
+                    try {
+                        return parseChunk(chunk);
+                    } finally {
+                        reader.release(owned);
+                    }
+                }));
+            }
+            for (Future<ChunkResult> future : futures) {
+                results.add(future.get());
+            }
+
+            long parseNanos = System.nanoTime() - parseStart;
+            System.out.println("Inflate phase: " + reader.getInflatedBytes() + " bytes in " + futures.size()
+                    + " blocks, parser waited " + (reader.getWaitNanos() / 1_000_000) + " ms for input");
+            mergeResults(results, threads, parseNanos, reader.getInflatedBytes(), "Inflate + parse phase");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Block parsing failed", cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Parse sonuçlarını raporlar ve dosya sırasıyla grafa ekler (+ CSR sıkıştırma).
+    private void mergeResults(List<ChunkResult> results, int threads, long parseNanos, long bytes, String phase) {
+        long lines = 0;
+        long malformed = 0;
+        int edgeCount = 0;
+        for (ChunkResult r : results) {
+            lines += r.lines;
+            malformed += r.malformed;
+            edgeCount += r.count;
+        }
+        reportMalformed(malformed);
+        System.out.println(phase + ": " + lines + " lines on " + threads + " threads in " + (parseNanos / 1_000_000)
+                + " ms (" + perSecond(lines, parseNanos) + " lines/sec)");
+        Instrumentation.phase("load.links").recordNanos(parseNanos, lines, bytes);
+
+        // Merge (dosya sırası korunur) + CSR sıkıştırma
+        long mergeStart = System.nanoTime();
+        for (ChunkResult r : results) {
+            graph.addEdges(r.sources, r.targets, r.scores, r.count);
+        }
+        graph.offsets();
+        long mergeNanos = System.nanoTime() - mergeStart;
+        System.out.println("Merge phase: " + edgeCount + " edges in " + (mergeNanos / 1_000_000) + " ms ("
+                + perSecond(edgeCount, mergeNanos) + " edges/sec)");
+        Instrumentation.phase("load.build").recordNanos(mergeNanos, edgeCount, 0);
+    }
+
+    /**
+     * Dosyayı yaklaşık eşit parçalara böler ve her sınırı bir sonraki '\n' karakterinin hemen sonrasına kaydırır.
+     * İlk satır (header) ilk parçanın dışında bırakılır.
+     */
+    private long[] splitIntoChunks(FileChannel channel, long fileSize) throws IOException {
+        long dataStart = nextLineStart(channel, 0, fileSize);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        long dataSize = fileSize - dataStart;
+        long chunkSize = Math.max(MIN_CHUNK_BYTES, (dataSize + cores - 1) / Math.max(1, cores));
+        chunkSize = Math.min(chunkSize, MAX_CHUNK_BYTES);
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(dataStart);
+        long position = dataStart;
+        while (fileSize - position > chunkSize) {
+            long next = nextLineStart(channel, position + chunkSize, fileSize);
+            if (next >= fileSize) break;
+            bounds.add(next);
+            position = next;
+        }
+        bounds.add(fileSize);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+
+    // position'dan itibaren ilk '\n' karakterinden sonraki offset'i döndürür (yoksa fileSize).
+    private static long nextLineStart(FileChannel channel, long position, long fileSize) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        while (position < fileSize) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return fileSize;
+    }
+
+    /**
+     * Bir parçadaki tüm satırları parse eder.
+     * Satır formatı: protein1 <boşluk> protein2 <boşluk> combined_score (en az 3 token).
+     */
+    private ChunkResult parseChunk(ByteBuffer buf) {
+        ChunkResult result = new ChunkResult();
+        int limit = buf.limit();
+        int pos = 0;
+
+        while (pos < limit) {
+            result.lines++;
+
+            // Token 1
+            pos = skipSpaces(buf, pos, limit);
+            int start1 = pos;
+            pos = skipToken(buf, pos, limit);
+            int end1 = pos;
+
+            // Token 2
+            pos = skipSpaces(buf, pos, limit);
+            int start2 = pos;
+            pos = skipToken(buf, pos, limit);
+            int end2 = pos;
+
+            // Token 3 (combined_score)
+            pos = skipSpaces(buf, pos, limit);
+            int start3 = pos;
+            pos = skipToken(buf, pos, limit);
+            int end3 = pos;
+
+            // Satırın geri kalanını atla
+            while (pos < limit && buf.get(pos) != '\n') pos++;
+            pos++;
+
+            if (end1 == start1 || end2 == start2 || end3 == start3) {
+                continue; // Eksik satır (parts.length < 3)
+            }
+
+            int rawScore = parseScore(buf, start3, end3);
+            if (rawScore < 0) {
+                result.malformed++; // Sıralı loader gibi satır atlanır, sayısı parse sonunda bir kez raporlanır
+                continue;
+            }
+
+            // Normalization ve Threshold Filtering (sıralı loader ile aynı aritmetik)
+            double normalizedScore = rawScore > 1 ? rawScore / 1000.0 : rawScore;
+            if (normalizedScore < threshold) {
+                continue;
+            }
+
+            int source = lookup(buf, start1, end1);
+            int target = lookup(buf, start2, end2);
+            if (source >= 0 && target >= 0) {
+                result.add(source, target, (float) normalizedScore);
+            }
+        }
+        return result;
+    }
+
+    // buf[start, end) aralığındaki ID'nin dense index'i, yoksa -1.
+    private int lookup(ByteBuffer buf, int start, int end) {
+        long key = ProteinIds.encode(buf, start, end);
+        return key != ProteinIds.NOT_PACKED ? idTable.get(key) : idTable.get(decode(buf, start, end));
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+
+    private static int skipSpaces(ByteBuffer buf, int pos, int limit) {
+        while (pos < limit && isSpace(buf.get(pos))) pos++;
+        return pos;
+    }
+
+    private static int skipToken(ByteBuffer buf, int pos, int limit) {
+        while (pos < limit) {
+            byte b = buf.get(pos);
+            if (b == '\n' || isSpace(b)) break;
+            pos++;
+        }
+        return pos;
+    }
+
+    // Pozitif tamsayı parse eder; geçersiz ise -1 döner.
+    private static int parseScore(ByteBuffer buf, int start, int end) {
+        int value = 0;
+        int i = start;
+        if (buf.get(i) == '+') i++;
+        if (i == end || end - i > 9) return -1;
+        for (; i < end; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // Sıralı loader için aynı kurallarla String sürümü; iki yol da aynı satırları kabul eder.
+    static int parseScore(String token) {
+        int value = 0;
+        int i = 0;
+        int end = token.length();
+        if (i < end && token.charAt(i) == '+') i++;
+        if (i == end || end - i > 9) return -1;
+        for (; i < end; i++) {
+            int digit = token.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // Skoru sayı olmayan (atlanan) links satırlarını tek satırda raporlar.
+    static void reportMalformed(long malformed) {
+        if (malformed > 0) {
+            System.err.println("DEBUG: " + malformed + " links lines skipped (score is not a number)");
+        }
+    }
+
+    private static String decode(ByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = start; i < end; i++) bytes[i - start] = buf.get(i);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static long perSecond(long count, long nanos) {
+        return nanos == 0 ? count : count * 1_000_000_000L / nanos;
+    }
+
+    // Bir parçanın kenar buffer'ı (primitive, büyüyebilen diziler).
+    private static class ChunkResult {
+        int[] sources = new int[1024];
+        int[] targets = new int[1024];
+        float[] scores = new float[1024];
+        int count;
+        long lines;
+        long malformed;
+
+        void add(int source, int target, float score) {
+            if (count == sources.length) {
+                int newCapacity = count * 2;
+                sources = Arrays.copyOf(sources, newCapacity);
+                targets = Arrays.copyOf(targets, newCapacity);
+                scores = Arrays.copyOf(scores, newCapacity);
+            }
+            sources[count] = source;
+            targets[count] = target;
+            scores[count] = score;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package utils;
+
+import graph.CSRGraph;
+import graph.Protein;
+import instrumentation.Instrumentation;
+import instrumentation.LatencyHistogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Protein isimleri (preferred_name), STRING ID'leri ve aliases dosyasındaki takma adlar üzerinde arama index'i.
+ *
+ * Tüm anahtarlar küçük harfe çevrilip sıralanır ve sıkıştırılmış (path-compressed / radix) bir trie'ye
+ * yerleştirilir. Trie düğümleri preorder sırasıyla primitive dizilerde tutulur; her düğümün etiketi ortak
+ * karakter dizisine (text) bir aralıktır. Preorder sayesinde bir düğümün alt ağacındaki anahtarlar ve
+ * proteinleri (postings) birbirini izleyen aralıklardır:
+ *   - Exact lookup  : kökten sorgu boyunca inilir, O(sorgu uzunluğu)
+ *   - Prefix search : prefix'in bittiği düğümün anahtar aralığı doğrudan okunur
+ *   - Fuzzy search  : trie DFS ile gezilirken her karakter için bir edit mesafesi satırı hesaplanır
+ *                     (Levenshtein + komşu harf yer değiştirmesi); satırın minimumu izin verilen
+ *                     mesafeyi aşınca o dal tamamen atlanır.
+ * getVertices() üzerinde lineer tarama yapılmaz.
+ */
+public class ProteinSearchIndex {
+
+    private static final LatencyHistogram LATENCY = Instrumentation.latency("search");
+
+    // Prefix aramasında en fazla bu kadar (anahtar, protein) çifti incelenir; çok kısa prefix'ler için üst sınır.
+    private static final int PREFIX_SCAN_LIMIT = 100_000;
+
+    private final CSRGraph graph;
+
+    // Sıralı, benzersiz anahtarlar: k. anahtar text[keyStart[k] .. keyStart[k + 1])
+    private final char[] text;
+    private final int[] keyStart;
+
+    // Anahtar başına proteinler: postings[postingStart[k] .. postingStart[k + 1]), (protein << 2) | kind
+    private final int[] postingStart;
+    private final int[] postings;
+
+    // Trie düğümleri (preorder). Düğümün etiketi text[labelStart .. labelEnd), alt ağacı [node, subtreeEnd),
+    // alt ağaçtaki anahtarlar [keyLo, keyHi).
+    private int[] labelStart;
+    private int[] labelEnd;
+    private int[] subtreeEnd;
+    private int[] keyLo;
+    private int[] keyHi;
+    private int nodeCount;
+    private int maxKeyLength;
+
+    private final int aliasCount;
+
+    private ProteinSearchIndex(CSRGraph graph, String[] keys, int[] postingStart, int[] postings, int aliasCount) {
+        this.graph = graph;
+        this.postingStart = postingStart;
+        this.postings = postings;
+        this.aliasCount = aliasCount;
+
+        int totalLength = 0;
+        for (String key : keys) totalLength += key.length();
+        this.text = new char[totalLength];
+        this.keyStart = new int[keys.length + 1];
+        int pos = 0;
+        for (int k = 0; k < keys.length; k++) {
+            keyStart[k] = pos;
+            keys[k].getChars(0, keys[k].length(), text, pos);
+            pos += keys[k].length();
+            maxKeyLength = Math.max(maxKeyLength, keys[k].length());
+        }
+        keyStart[keys.length] = pos;
+
+        int capacity = Math.max(1, 2 * keys.length);
+        this.labelStart = new int[capacity];
+        this.labelEnd = new int[capacity];
+        this.subtreeEnd = new int[capacity];
+        this.keyLo = new int[capacity];
+        this.keyHi = new int[capacity];
+        buildNode(keys, 0, keys.length, 0, 0);
+
+        // Radix trie'de düğüm sayısı < 2 * anahtar sayısı; fazlası bırakılır
+        this.labelStart = Arrays.copyOf(labelStart, nodeCount);
+        this.labelEnd = Arrays.copyOf(labelEnd, nodeCount);
+        this.subtreeEnd = Arrays.copyOf(subtreeEnd, nodeCount);
+        this.keyLo = Arrays.copyOf(keyLo, nodeCount);
+        this.keyHi = Arrays.copyOf(keyHi, nodeCount);
+    }
+
+    /**
+     * Grafın proteinlerinden (isim + ID) ve varsa aliases dosyasından index oluşturur.
+     * Aliases formatı: string_protein_id <tab> alias <tab> source (ilk satır başlık); .gz olarak da verilebilir.
+     * @param aliasesFilePath null olabilir; dosya okunamazsa index aliases olmadan oluşturulur.
+     */
+    public static ProteinSearchIndex build(CSRGraph graph, String aliasesFilePath) {
+        long start = System.currentTimeMillis();
+        long timer = Instrumentation.start();
+        KeyList entries = new KeyList();
+
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            Protein p = graph.getProtein(v);
+            String id = p.getId().toLowerCase(Locale.ROOT);
+            entries.add(id, v, SearchHit.KeyKind.ID);
+            // Taxon olmadan da aranabilsin: "ensp00000000233"
+            int dot = id.indexOf('.');
+            if (dot > 0 && dot < id.length() - 1) entries.add(id.substring(dot + 1), v, SearchHit.KeyKind.ID);
+            if (p.getName() != null && !p.getName().isEmpty()) {
+                entries.add(p.getName().toLowerCase(Locale.ROOT), v, SearchHit.KeyKind.NAME);
+            }
+        }
+
+        int aliasLines = 0;
+        if (aliasesFilePath != null) {
+            System.out.println("Loading aliases from: " + aliasesFilePath);
+            try (BufferedReader br = PPIGraphLoader.openReader(aliasesFilePath)) {
+                String line;
+                boolean isHeader = true;
+                while ((line = br.readLine()) != null) {
+                    if (isHeader) {
+                        isHeader = false;
+                        continue;
+                    }
+                    int tab1 = line.indexOf('\t');
+                    if (tab1 <= 0) continue;
+                    int tab2 = line.indexOf('\t', tab1 + 1);
+                    String alias = (tab2 < 0 ? line.substring(tab1 + 1) : line.substring(tab1 + 1, tab2)).trim();
+                    if (alias.isEmpty()) continue;
+
+                    int v = graph.indexOf(line.substring(0, tab1));
+                    if (v < 0) continue; // Grafta olmayan protein
+                    entries.add(alias.toLowerCase(Locale.ROOT), v, SearchHit.KeyKind.ALIAS);
+                    aliasLines++;
+                }
+            } catch (IOException e) {
+                System.err.println("Error reading aliases file: " + e.getMessage());
+            }
+        }
+
+        ProteinSearchIndex index = entries.toIndex(graph, aliasLines);
+        Instrumentation.phase("index.search").record(timer, index.getKeyCount(), 0);
+        System.out.println("Search index: " + index.getKeyCount() + " keys, " + index.nodeCount + " trie nodes, "
+                + aliasLines + " aliases in " + (System.currentTimeMillis() - start) + " ms");
+        return index;
+    }
+
+    /**
+     * STRING aliases dosyası info dosyasının yanındaysa (Örn: 9606.protein.aliases.v12.0.txt, .gz olabilir) yolunu,
+     * yoksa null döndürür.
+     */
+    public static String aliasesPathFor(String infoFilePath) {
+        String aliasesPath = PPIGraphLoader.withGzipFallback(infoFilePath.replace("protein.info", "protein.aliases"));
+        if (aliasesPath.equals(infoFilePath) || !Files.exists(Paths.get(aliasesPath))) return null;
+        return aliasesPath;
+    }
+
+    public int getKeyCount() {
+        return keyStart.length - 1;
+    }
+
+    public int getAliasCount() {
+        return aliasCount;
+    }
+
+    /**
+     * Sorguyu sırasıyla exact, prefix ve fuzzy (edit mesafesi) olarak arar; her protein en iyi eşleşmesiyle
+     * bir kez döner. Büyük/küçük harf duyarsızdır.
+     * @param limit En fazla döndürülecek sonuç sayısı.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return search(query, limit, defaultDistance(query));
+    }
+
+    public List<SearchHit> search(String query, int limit, int maxDistance) {
+        long timer = Instrumentation.start();
+        List<SearchHit> hits = find(query, limit, maxDistance);
+        LATENCY.record(timer);
+        return hits;
+    }
+
+    private List<SearchHit> find(String query, int limit, int maxDistance) {
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        Map<Integer, SearchHit> best = new HashMap<>();
+        if (q.isEmpty() || getKeyCount() == 0) return new ArrayList<>();
+
+        // 1. Exact + Prefix: prefix'in bittiği düğümün alt ağacı
+        int node = findPrefixNode(q);
+        if (node >= 0) {
+            int scanned = 0;
+            for (int k = keyLo[node]; k < keyHi[node] && scanned < PREFIX_SCAN_LIMIT; k++) {
+                boolean exact = keyLength(k) == q.length();
+                for (int i = postingStart[k]; i < postingStart[k + 1]; i++, scanned++) {
+                    offer(best, k, postings[i], exact ? SearchHit.MatchType.EXACT : SearchHit.MatchType.PREFIX, 0);
+                }
+            }
+        }
+
+        // 2. Fuzzy: kesin eşleşme yoksa veya sonuçlar limiti doldurmuyorsa
+        if (maxDistance > 0 && best.size() < limit) {
+            int[][] rows = new int[maxKeyLength + 1][q.length() + 1];
+            for (int j = 0; j <= q.length(); j++) rows[0][j] = j;
+            fuzzy(0, 0, q, maxDistance, rows, best);
+        }
+
+        List<SearchHit> hits = new ArrayList<>(best.values());
+        hits.sort(SearchHit::compareRank);
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    // Kısa sorgularda tek harf hatası, uzunlarda iki harf hatası kabul edilir
+    private static int defaultDistance(String query) {
+        int length = query.trim().length();
+        return length < 4 ? 0 : length < 8 ? 1 : 2;
+    }
+
+    private void offer(Map<Integer, SearchHit> best, int key, int posting, SearchHit.MatchType type, int distance) {
+        int v = posting >>> 2;
+        SearchHit.KeyKind kind = SearchHit.KeyKind.values()[posting & 3];
+        SearchHit existing = best.get(v);
+        // Önce ucuz karşılaştırma; yeni nesne sadece gerekirse oluşturulur
+        if (existing != null && (existing.getMatchType().ordinal() < type.ordinal()
+                || (existing.getMatchType() == type && existing.getDistance() < distance))) {
+            return;
+        }
+        SearchHit hit = new SearchHit(v, graph.getProtein(v), keyString(key), kind, type, distance);
+        if (existing == null || hit.compareRank(existing) < 0) best.put(v, hit);
+    }
+
+    // Prefix'in bittiği düğüm (etiketin ortasında bitebilir), yoksa -1
+    private int findPrefixNode(String q) {
+        int node = 0;
+        int pos = 0;
+        while (true) {
+            for (int i = labelStart[node]; i < labelEnd[node]; i++) {
+                if (pos == q.length()) return node;
+                if (text[i] != q.charAt(pos)) return -1;
+                pos++;
+            }
+            if (pos == q.length()) return node;
+
+            int child = findChild(node, q.charAt(pos));
+            if (child < 0) return -1;
+            node = child;
+        }
+    }
+
+    private int findChild(int node, char c) {
+        for (int child = node + 1; child < subtreeEnd[node]; child = subtreeEnd[child]) {
+            if (text[labelStart[child]] == c) return child;
+        }
+        return -1;
+    }
+
+    // rows[depth] düğüme kadar olan edit mesafesi satırıdır; etiketin her karakteri bir satır ekler
+    private void fuzzy(int node, int depth, String q, int maxDistance, int[][] rows, Map<Integer, SearchHit> best) {
+        int n = q.length();
+        for (int i = labelStart[node]; i < labelEnd[node]; i++) {
+            char c = text[i];
+            int[] previous = rows[depth];
+            int[] row = rows[depth + 1];
+            // Anahtar text'te bütün olarak durduğu için önceki karakter her zaman text[i - 1]
+            char before = depth > 0 ? text[i - 1] : 0;
+            row[0] = depth + 1;
+            int rowMin = row[0];
+            for (int j = 1; j <= n; j++) {
+                int cost = q.charAt(j - 1) == c ? 0 : 1;
+                row[j] = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                // Yer değiştirmiş iki komşu harf ("gnee" / "gene") tek hata sayılır
+                if (depth > 0 && j > 1 && c == q.charAt(j - 2) && before == q.charAt(j - 1)) {
+                    row[j] = Math.min(row[j], rows[depth - 1][j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, row[j]);
+            }
+            depth++;
+            if (rowMin > maxDistance) return; // Bu daldaki hiçbir anahtar yeterince yakın olamaz
+        }
+
+        int first = keyLo[node];
+        if (keyLength(first) == depth && rows[depth][n] <= maxDistance) {
+            int distance = rows[depth][n];
+            SearchHit.MatchType type = distance == 0 ? SearchHit.MatchType.EXACT : SearchHit.MatchType.FUZZY;
+            for (int i = postingStart[first]; i < postingStart[first + 1]; i++) {
+                offer(best, first, postings[i], type, distance);
+            }
+        }
+
+        for (int child = node + 1; child < subtreeEnd[node]; child = subtreeEnd[child]) {
+            fuzzy(child, depth, q, maxDistance, rows, best);
+        }
+    }
+
+    private int keyLength(int key) {
+        return keyStart[key + 1] - keyStart[key];
+    }
+
+    private String keyString(int key) {
+        return new String(text, keyStart[key], keyLength(key));
+    }
+
+    /**
+     * keys[lo, hi) aralığı için düğüm oluşturur (hepsi ilk depth karakterde ortaktır).
+     * Düğüm etiketi, ebeveynin derinliğinden (parentDepth) bu düğümün derinliğine kadar olan kısımdır.
+     */
+    private int buildNode(String[] keys, int lo, int hi, int parentDepth, int depth) {
+        int node = nodeCount++;
+        labelStart[node] = keyStart[lo] + parentDepth;
+        labelEnd[node] = keyStart[lo] + depth;
+        keyLo[node] = lo;
+        keyHi[node] = hi;
+
+        int i = lo;
+        if (keys[lo].length() == depth) i++; // Bu düğümde biten anahtar (sıralı olduğu için en başta)
+        while (i < hi) {
+            char c = keys[i].charAt(depth);
+            int j = i + 1;
+            while (j < hi && keys[j].charAt(depth) == c) j++;
+            // Grubun ortak prefix'i: sıralı olduğu için ilk ve son anahtarın ortak prefix'i
+            int childDepth = commonPrefix(keys[i], keys[j - 1]);
+            buildNode(keys, i, j, depth, childDepth);
+            i = j;
+        }
+        subtreeEnd[node] = nodeCount;
+        return node;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) i++;
+        return i;
+    }
+
+    // Oluşturma sırasında (anahtar, protein, tür) üçlülerini toplayan geçici liste
+    private static class KeyList {
+        private final List<String> keys = new ArrayList<>();
+        private int[] proteins = new int[1024];
+        private byte[] kinds = new byte[1024];
+
+        void add(String key, int protein, SearchHit.KeyKind kind) {
+            int size = keys.size();
+            if (size == proteins.length) {
+                proteins = Arrays.copyOf(proteins, size * 2);
+                kinds = Arrays.copyOf(kinds, size * 2);
+            }
+            keys.add(key);
+            proteins[size] = protein;
+            kinds[size] = (byte) kind.ordinal();
+        }
+
+        ProteinSearchIndex toIndex(CSRGraph graph, int aliasCount) {
+            int size = keys.size();
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            // Anahtar, sonra protein, sonra tür (NAME < ID < ALIAS): aynı protein için en iyi tür önce gelir
+            Arrays.sort(order, (a, b) -> {
+                int c = keys.get(a).compareTo(keys.get(b));
+                if (c == 0) c = Integer.compare(proteins[a], proteins[b]);
+                if (c == 0) c = Integer.compare(kinds[a], kinds[b]);
+                return c;
+            });
+
+            List<String> distinct = new ArrayList<>();
+            int[] postingStart = new int[size + 1];
+            int[] postings = new int[size];
+            int postingCount = 0;
+            String previousKey = null;
+            int previousProtein = -1;
+            for (int i = 0; i < size; i++) {
+                int e = order[i];
+                String key = keys.get(e);
+                if (!key.equals(previousKey)) {
+                    postingStart[distinct.size()] = postingCount;
+                    distinct.add(key);
+                    previousKey = key;
+                    previousProtein = -1;
+                }
+                if (proteins[e] == previousProtein) continue; // Aynı protein aynı anahtarla tekrar (farklı kaynak)
+                postings[postingCount++] = (proteins[e] << 2) | kinds[e];
+                previousProtein = proteins[e];
+            }
+            postingStart[distinct.size()] = postingCount;
+
+            return new ProteinSearchIndex(graph, distinct.toArray(new String[0]),
+                    Arrays.copyOf(postingStart, distinct.size() + 1), Arrays.copyOf(postings, postingCount), aliasCount);
+        }
+    }
+}
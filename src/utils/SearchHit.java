@@ -0,0 +1,62 @@
+package utils;
+
+import graph.Protein;
+
+import java.util.Locale;
+
+/**
+ * ProteinSearchIndex sorgusunun tek bir sonucu: bulunan protein, eşleşen anahtar (küçük harfli)
+ * ve eşleşmenin türü. Sonuçlar önce eşleşme türüne, sonra edit mesafesine, sonra anahtar türüne göre sıralanır.
+ */
+public class SearchHit {
+
+    public enum MatchType { EXACT, PREFIX, FUZZY }
+
+    public enum KeyKind { NAME, ID, ALIAS }
+
+    private final int index;
+    private final Protein protein;
+    private final String key;
+    private final KeyKind kind;
+    private final MatchType matchType;
+    private final int distance;
+
+    SearchHit(int index, Protein protein, String key, KeyKind kind, MatchType matchType, int distance) {
+        this.index = index;
+        this.protein = protein;
+        this.key = key;
+        this.kind = kind;
+        this.matchType = matchType;
+        this.distance = distance;
+    }
+
+    public int getIndex() { return index; }
+
+    public Protein getProtein() { return protein; }
+
+    // Eşleşen isim/alias/ID (küçük harfe çevrilmiş hali)
+    public String getKey() { return key; }
+
+    public KeyKind getKind() { return kind; }
+
+    public MatchType getMatchType() { return matchType; }
+
+    // Sorgu ile anahtar arasındaki edit mesafesi (EXACT ve PREFIX için 0)
+    public int getDistance() { return distance; }
+
+    // Küçük değer daha iyi sonuç demektir
+    int compareRank(SearchHit other) {
+        int c = Integer.compare(matchType.ordinal(), other.matchType.ordinal());
+        if (c == 0) c = Integer.compare(distance, other.distance);
+        if (c == 0) c = Integer.compare(kind.ordinal(), other.kind.ordinal());
+        if (c == 0) c = Integer.compare(key.length(), other.key.length());
+        if (c == 0) c = Integer.compare(index, other.index);
+        return c;
+    }
+
+    @Override
+    public String toString() {
+        String match = matchType == MatchType.FUZZY ? "fuzzy, distance " + distance : matchType.name().toLowerCase(Locale.ROOT);
+        return protein + "  [" + kind.name().toLowerCase(Locale.ROOT) + " '" + key + "', " + match + "]";
+    }
+}